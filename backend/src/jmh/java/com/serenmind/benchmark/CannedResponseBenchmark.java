@@ -0,0 +1,46 @@
+package com.serenmind.benchmark;
+
+import com.serenmind.client.CannedResponseEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost per message of picking a local canned reply (mock mode and the OpenAI fallback path),
+ * for a short greeting, a typical chat message, a message matching no intent, and a long
+ * message with several intents.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CannedResponseBenchmark {
+
+    @Param({
+        "Hi!",
+        "I've been feeling really anxious before meetings and I can't sleep well",
+        "Went to the shop and then cooked dinner for the family",
+        "Today started good but by lunch I was stressed and overwhelmed with too much work, then felt "
+                + "lonely in the evening and honestly I don't know what to do. What should I try to cope "
+                + "with all of this? I'm grateful for my friends but tired of feeling down."
+    })
+    private String message;
+
+    private final CannedResponseEngine engine = new CannedResponseEngine();
+
+    @Benchmark
+    public String respond() {
+        return engine.respond(message);
+    }
+}
@@ -0,0 +1,79 @@
+package com.serenmind.benchmark;
+
+import com.serenmind.model.converter.CompressedTextConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read/write cost of compressed journal storage against plain UTF-8 encoding.
+ * The storage saving for each size is printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressedTextBenchmark {
+
+    private static final String[] SENTENCES = {
+        "Today I felt a bit anxious before the team meeting, but it went better than I expected.",
+        "I went for a walk in the park after lunch and the sunny weather really helped my mood.",
+        "Couldn't sleep well last night, woke up early and tired, so I had an extra coffee.",
+        "I'm grateful for my sister calling me this evening, we talked for almost an hour.",
+        "Work was stressful with the project deadline, I need to set better boundaries with my boss.",
+        "Tried the breathing exercise from my therapy session and felt calmer afterwards.",
+        "Feeling lonely this weekend. I wish I had reached out to a friend instead of staying in.",
+        "Cooked dinner for the family and everyone loved it, I felt proud and content.",
+    };
+
+    @Param({"300", "2000", "10000"})
+    private int length;
+
+    private String text;
+    private byte[] compressed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder(length + 100);
+        while (builder.length() < length) {
+            builder.append(SENTENCES[random.nextInt(SENTENCES.length)]).append(' ');
+        }
+        text = builder.substring(0, length);
+        compressed = CompressedTextConverter.compress(text);
+
+        int plain = text.getBytes(StandardCharsets.UTF_8).length;
+        System.out.printf("%n[%d chars] plain %d bytes, compressed %d bytes (%.1f%% saved)%n",
+                length, plain, compressed.length, 100.0 * (plain - compressed.length) / plain);
+    }
+
+    @Benchmark
+    public byte[] writePlain() {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] writeCompressed() {
+        return CompressedTextConverter.compress(text);
+    }
+
+    @Benchmark
+    public String readCompressed() {
+        return CompressedTextConverter.decompress(compressed);
+    }
+}
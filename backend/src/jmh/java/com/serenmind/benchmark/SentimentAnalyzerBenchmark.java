@@ -0,0 +1,62 @@
+package com.serenmind.benchmark;
+
+import com.serenmind.sentiment.LexiconSentimentAnalyzer;
+import com.serenmind.sentiment.SentimentResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the local sentiment analyzer by entry size. Dividing ops/s by the size in KB
+ * gives KB scored per second per core.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SentimentAnalyzerBenchmark {
+
+    private static final String[] SENTENCES = {
+        "Today I felt a bit anxious before the team meeting, but it went better than I expected.",
+        "I went for a walk in the park after lunch and the sunny weather really helped my mood.",
+        "Couldn't sleep well last night, woke up early and tired, so I had an extra coffee.",
+        "I'm grateful for my sister calling me this evening, we talked for almost an hour.",
+        "Work was stressful with the project deadline and I am not happy about it.",
+        "Feeling lonely this weekend. I wish I had reached out to a friend instead of staying in.",
+    };
+
+    @Param({"1", "4", "16"})
+    private int kilobytes;
+
+    private final LexiconSentimentAnalyzer analyzer = new LexiconSentimentAnalyzer();
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        StringBuilder builder = new StringBuilder();
+        while (builder.length() < kilobytes * 1024) {
+            builder.append(SENTENCES[random.nextInt(SENTENCES.length)]).append(' ');
+        }
+        text = builder.substring(0, kilobytes * 1024);
+    }
+
+    @Benchmark
+    public SentimentResult analyze() {
+        return analyzer.analyze(text);
+    }
+}
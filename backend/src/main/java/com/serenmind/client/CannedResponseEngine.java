@@ -0,0 +1,324 @@
+package com.serenmind.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local canned replies for mock mode and for calls the {@link OpenAiCallGuard} turns away.
+ * <p>
+ * Only the user's own words are classified (see {@link #USER_MESSAGE_HEADING}).
+ * Intents are declared as a keyword table and compiled once into a {@link KeywordAutomaton},
+ * so a message is classified in a single pass. Every keyword found adds its weight to its
+ * intent; the highest total wins, ties going to the intent declared first, and a message
+ * matching nothing gets the general reply. Replies are serialized to the chat JSON format
+ * ({@code reply}, {@code summary}, {@code suggestions}) once up front; answering returns
+ * one of those strings. Stateless and thread-safe; no network calls.
+ */
+@Component
+public class CannedResponseEngine {
+
+    static final String DEFAULT_INTENT = "general";
+
+    /**
+     * Heading before the user's own words in a chat prompt that also carries their mood and
+     * journal context. Only the text after it is classified, so words in the context (such as
+     * "Stress 7/10") do not decide the reply.
+     */
+    public static final String USER_MESSAGE_HEADING = "## User's Message:";
+
+    /**
+     * intent, weight, keyword (rest of the line; a leading '^' only matches at the start of
+     * the message). Intents are listed in tie-break order.
+     */
+    private static final String KEYWORDS = """
+            greeting 2 ^hi
+            greeting 2 ^hello
+            greeting 2 ^hey
+            greeting 2 ^greetings
+            greeting 2 ^good morning
+            greeting 2 ^good afternoon
+            greeting 2 ^good evening
+            anxiety 3 anxious
+            anxiety 3 anxiety
+            anxiety 3 worried
+            anxiety 3 worry
+            anxiety 3 panic
+            anxiety 3 nervous
+            anxiety 3 tense
+            stress 3 stressed
+            stress 3 stress
+            stress 3 stressful
+            stress 3 overwhelmed
+            stress 3 overwhelming
+            stress 2 pressure
+            stress 2 too much
+            sadness 3 sad
+            sadness 3 sadness
+            sadness 3 depressed
+            sadness 3 depression
+            sadness 3 hopeless
+            sadness 3 worthless
+            sadness 2 empty
+            sadness 1 down
+            anger 3 angry
+            anger 3 frustrated
+            anger 3 irritated
+            anger 3 furious
+            anger 2 mad
+            loneliness 3 lonely
+            loneliness 3 isolated
+            loneliness 2 alone
+            loneliness 2 no one
+            fatigue 3 tired
+            fatigue 3 exhausted
+            fatigue 3 fatigue
+            fatigue 2 sleep
+            fatigue 1 energy
+            positive 2 happy
+            positive 2 great
+            positive 2 wonderful
+            positive 2 excited
+            positive 2 proud
+            positive 1 good
+            confusion 2 confused
+            confusion 2 uncertain
+            confusion 2 lost
+            confusion 2 don't know
+            confusion 2 what to do
+            help 1 help
+            help 1 advice
+            help 1 what should i
+            help 1 suggest
+            help 1 recommend
+            mood 1 mood
+            mood 1 moods
+            mood 1 pattern
+            mood 1 patterns
+            mood 1 trend
+            mood 1 trends
+            mood 1 feeling
+            coping 2 cope
+            coping 2 coping
+            coping 2 strategy
+            coping 2 strategies
+            coping 2 technique
+            coping 2 techniques
+            coping 2 manage
+            gratitude 3 grateful
+            gratitude 3 thankful
+            gratitude 3 appreciate
+            gratitude 3 blessing
+            gratitude 3 blessings
+            """;
+
+    private static final List<Reply> REPLIES = List.of(
+            new Reply("greeting",
+                    "Hello! I'm glad you're here. I'm your AI wellness companion, and I'm here to listen and support you. How are you feeling today? Feel free to share what's on your mind, whether it's about your mood, stress, or anything else you'd like to discuss.",
+                    "User initiated conversation. Ready to provide support.",
+                    "Share how you're feeling right now",
+                    "Tell me about your day or week",
+                    "Ask about mood patterns or coping strategies",
+                    "Let me know if there's something specific on your mind"),
+            new Reply("anxiety",
+                    "I hear that you're feeling anxious, and I want you to know that your feelings are valid. Anxiety is our body's natural response to stress, but when it becomes overwhelming, it's important to have tools to manage it. Let's work through this together.",
+                    "Experiencing anxiety symptoms. Needs grounding techniques and support.",
+                    "Try the 5-4-3-2-1 grounding technique: name 5 things you see, 4 you can touch, 3 you hear, 2 you smell, 1 you taste",
+                    "Practice box breathing: inhale for 4, hold for 4, exhale for 4, hold for 4. Repeat 5 times",
+                    "Write down what's making you anxious - sometimes seeing it on paper helps",
+                    "If anxiety persists or worsens, please reach out to a mental health professional"),
+            new Reply("stress",
+                    "Feeling stressed and overwhelmed is exhausting, and I'm sorry you're going through this. Remember, it's okay to not have everything figured out right now. Let's break things down into manageable pieces.",
+                    "User is experiencing stress and feeling overwhelmed by current circumstances.",
+                    "Make a list of everything on your mind, then prioritize just 3 most urgent items",
+                    "Take a 10-minute break - step away from your tasks and do something you enjoy",
+                    "Practice saying 'no' to new commitments until you have more capacity",
+                    "Consider reaching out to friends, family, or a counselor for support"),
+            new Reply("sadness",
+                    "I'm truly sorry you're feeling this way. These feelings can be incredibly heavy, and it takes courage to acknowledge them. Please know that you don't have to face this alone, and what you're feeling is real and deserves care and attention.",
+                    "User is experiencing symptoms of sadness or depression. Gentle support and professional resources recommended.",
+                    "Reach out to someone you trust - a friend, family member, or therapist",
+                    "Try to maintain a routine: eat meals, stay hydrated, and get some fresh air if possible",
+                    "Engage in one small, gentle activity you used to enjoy, even if you don't feel like it",
+                    "If you're having thoughts of self-harm, please call a crisis helpline immediately (National Suicide Prevention Lifeline: 988)"),
+            new Reply("anger",
+                    "Anger is a powerful emotion, and it's telling you that something matters to you. It's okay to feel angry, but let's find healthy ways to process and express these feelings so they don't consume you.",
+                    "User is experiencing anger or frustration. Needs healthy outlets for expression.",
+                    "Take a timeout: step away from the situation for 10-15 minutes to cool down",
+                    "Physical release: go for a run, do some push-ups, or punch a pillow",
+                    "Journal about what triggered the anger - writing can help you process emotions",
+                    "Once calm, consider addressing the underlying issue constructively"),
+            new Reply("loneliness",
+                    "Feeling lonely can be one of the most painful experiences, even when surrounded by people. I want you to know that you're not alone in feeling alone - many people experience this, and there are ways to reconnect with others and yourself.",
+                    "User is experiencing loneliness. Needs connection and community support.",
+                    "Reach out to one person - send a text, make a call, or schedule a coffee date",
+                    "Join an online or local community group based on your interests",
+                    "Practice self-compassion: treat yourself as you would a good friend",
+                    "Consider volunteering - helping others can create meaningful connections"),
+            new Reply("fatigue",
+                    "Feeling tired all the time can really impact your quality of life. It sounds like your body might be telling you it needs some extra care right now. Let's look at what might be draining your energy and how we can help you restore it.",
+                    "User is experiencing low energy and fatigue. Sleep hygiene and self-care needed.",
+                    "Prioritize 7-9 hours of sleep: set a consistent bedtime and wake time",
+                    "Create a wind-down routine: no screens 1 hour before bed, dim lights, calming activity",
+                    "Check in with your body: are you eating well, staying hydrated, moving enough?",
+                    "If fatigue persists for weeks, consider seeing a doctor to rule out medical causes"),
+            new Reply("positive",
+                    "That's absolutely wonderful to hear! 🌸 It's so important to acknowledge and celebrate these positive moments. Your happiness matters, and I'm glad you're experiencing this. Let's make sure to savor this feeling and understand what contributed to it.",
+                    "User is experiencing positive emotions. Encouraging gratitude and awareness.",
+                    "Take a moment to really notice what made you feel this way - write it down",
+                    "Practice gratitude: list 3 specific things you're grateful for right now",
+                    "Share your joy with someone you care about",
+                    "Remember this feeling - you can return to it when times are tough"),
+            new Reply("confusion",
+                    "It's completely normal to feel confused or uncertain sometimes. Life doesn't come with a manual, and it's okay to not have all the answers. Let's work together to bring some clarity to your situation, one step at a time.",
+                    "User is experiencing confusion or uncertainty. Needs guidance and clarity.",
+                    "Start by identifying what specifically feels confusing - write it out",
+                    "Break down the situation into smaller, more manageable questions",
+                    "Talk it through with someone you trust - sometimes saying it out loud helps",
+                    "Remember: you don't need to figure everything out today"),
+            new Reply("help",
+                    "I'm here to help! Asking for support is a sign of strength, not weakness. Let me offer some guidance based on what you've shared. Remember, you know yourself best, so take what resonates and leave what doesn't.",
+                    "User is seeking guidance and support. Providing actionable advice.",
+                    "Reflect on your current situation and identify what feels most pressing",
+                    "Consider your values and what matters most to you in this decision",
+                    "Reach out to trusted friends, family, or a professional for personalized guidance",
+                    "Trust your intuition - often you know the answer deep down"),
+            new Reply("mood",
+                    "Tracking your moods is such a valuable practice for understanding yourself better. By observing patterns over time, you can identify triggers, recognize progress, and make informed decisions about your mental health. Let's explore what your mood data might be telling you.",
+                    "User is interested in understanding mood patterns and emotional trends.",
+                    "Review your mood entries from the past week to identify any patterns",
+                    "Notice if certain activities, people, or times of day affect your mood",
+                    "Continue logging daily - the more data, the clearer the patterns",
+                    "Celebrate improvements and be gentle with yourself during difficult periods"),
+            new Reply("coping",
+                    "Building a toolkit of healthy coping strategies is essential for mental wellness. Different techniques work for different people and situations, so it's great that you're exploring options. Here are some evidence-based strategies you can try.",
+                    "User is seeking coping strategies and management techniques.",
+                    "Mindfulness meditation: even 5 minutes daily can reduce stress significantly",
+                    "Progressive muscle relaxation: tense and release each muscle group",
+                    "Regular physical activity: walking, yoga, dancing - whatever you enjoy",
+                    "Creative expression: art, music, writing - let emotions flow through creativity"),
+            new Reply("gratitude",
+                    "Practicing gratitude is one of the most powerful tools for improving mental well-being. Research shows that regularly acknowledging what we're grateful for can increase happiness, reduce depression, and improve relationships. It's beautiful that you're cultivating this practice.",
+                    "User is practicing gratitude and focusing on positive aspects.",
+                    "Start a gratitude journal: write 3 things you're grateful for each day",
+                    "Express appreciation to someone who's made a difference in your life",
+                    "Notice small, everyday blessings: warm coffee, a kind smile, sunshine",
+                    "During difficult times, gratitude can be an anchor of hope"),
+            new Reply(DEFAULT_INTENT,
+                    "Thank you for reaching out and sharing with me. I'm here to provide support and guidance on your mental wellness journey. Whether you're having a tough day or celebrating wins, I'm here to listen without judgment. What would be most helpful for you to discuss right now?",
+                    "User has initiated conversation. Ready to provide tailored support.",
+                    "Share what's on your mind - I'm here to listen",
+                    "Tell me about your current emotional state",
+                    "Ask about specific coping strategies or mental wellness topics",
+                    "Review your mood patterns or journal entries together"));
+
+    private final KeywordAutomaton automaton;
+    /** per keyword id */
+    private final int[] keywordIntents;
+    private final int[] keywordWeights;
+    /** per intent, in tie-break order; the last one is the default */
+    private final String[] intentNames;
+    private final String[] responses;
+
+    public CannedResponseEngine() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        intentNames = new String[REPLIES.size()];
+        responses = new String[REPLIES.size()];
+        Map<String, Integer> intentIndex = new HashMap<>();
+        for (int i = 0; i < REPLIES.size(); i++) {
+            Reply reply = REPLIES.get(i);
+            intentNames[i] = reply.intent();
+            responses[i] = reply.toJson(objectMapper);
+            intentIndex.put(reply.intent(), i);
+        }
+        if (!DEFAULT_INTENT.equals(intentNames[intentNames.length - 1])) {
+            throw new IllegalStateException("The general reply must be declared last");
+        }
+
+        List<String> keywords = new ArrayList<>();
+        List<int[]> entries = new ArrayList<>();
+        for (String line : KEYWORDS.strip().split("\n")) {
+            String[] parts = line.strip().split(" ", 3);
+            Integer intent = intentIndex.get(parts[0]);
+            if (intent == null || parts.length < 3) {
+                throw new IllegalStateException("Bad keyword line: " + line);
+            }
+            entries.add(new int[] {intent, Integer.parseInt(parts[1])});
+            keywords.add(parts[2]);
+        }
+        keywordIntents = entries.stream().mapToInt(entry -> entry[0]).toArray();
+        keywordWeights = entries.stream().mapToInt(entry -> entry[1]).toArray();
+        automaton = new KeywordAutomaton(keywords);
+    }
+
+    /**
+     * Name of the intent that best matches the message.
+     */
+    public String classify(String message) {
+        return intentNames[bestIntent(message)];
+    }
+
+    /**
+     * Chat JSON for the intent that best matches the message.
+     */
+    public String respond(String message) {
+        return responses[bestIntent(message)];
+    }
+
+    private int bestIntent(String message) {
+        int fallback = intentNames.length - 1;
+        if (message == null || message.isEmpty()) {
+            return fallback;
+        }
+        String text = userText(message);
+        int[] scores = new int[intentNames.length];
+        automaton.scan(text, id -> scores[keywordIntents[id]] += keywordWeights[id]);
+
+        int best = fallback;
+        for (int i = 0; i < fallback; i++) {
+            if (scores[i] > 0 && (best == fallback || scores[i] > scores[best])) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * The part of a chat prompt after {@link #USER_MESSAGE_HEADING}, without the closing
+     * instruction paragraph; the whole message when there is no heading.
+     */
+    static String userText(String message) {
+        int heading = message.lastIndexOf(USER_MESSAGE_HEADING);
+        if (heading < 0) {
+            return message.strip();
+        }
+        int start = heading + USER_MESSAGE_HEADING.length();
+        int end = message.lastIndexOf("\n\n");
+        return (end > start ? message.substring(start, end) : message.substring(start)).strip();
+    }
+
+    private record Reply(String intent, String reply, String summary, String... suggestions) {
+
+        String toJson(ObjectMapper objectMapper) {
+            ObjectNode node = objectMapper.createObjectNode();
+            node.put("reply", reply);
+            node.put("summary", summary);
+            ArrayNode array = node.putArray("suggestions");
+            for (String suggestion : suggestions) {
+                array.add(suggestion);
+            }
+            try {
+                return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(node);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize canned reply " + intent, e);
+            }
+        }
+    }
+}
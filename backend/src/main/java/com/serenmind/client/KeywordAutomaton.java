@@ -0,0 +1,170 @@
+package com.serenmind.client;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Aho-Corasick automaton over a fixed set of lower-case keywords, compiled once into a dense
+ * transition table so a scan costs one table lookup per character whatever the number of
+ * keywords. Input is lower-cased on the fly (no copy of the text), and a match only counts at
+ * word boundaries, so "mad" does not fire inside "made". A keyword marked as anchored only
+ * matches at the very start of the text. Immutable and thread-safe once built.
+ */
+final class KeywordAutomaton {
+
+    private static final int NO_SYMBOL = -1;
+
+    /** symbol index per ASCII char, or NO_SYMBOL for chars no keyword contains */
+    private final int[] symbols = new int[128];
+    private final int alphabetSize;
+    /** next state = transitions[state * alphabetSize + symbol] */
+    private final int[] transitions;
+    /** keyword ids ending in each state, including those reached through failure links */
+    private final int[][] outputs;
+    private final int[] lengths;
+    private final boolean[] anchored;
+
+    /**
+     * @param keywords lower-case keywords; a leading '^' anchors a keyword to the start of the text
+     */
+    KeywordAutomaton(List<String> keywords) {
+        int count = keywords.size();
+        String[] words = new String[count];
+        lengths = new int[count];
+        anchored = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            String keyword = keywords.get(i);
+            anchored[i] = keyword.startsWith("^");
+            words[i] = anchored[i] ? keyword.substring(1) : keyword;
+            lengths[i] = words[i].length();
+            if (words[i].isEmpty()) {
+                throw new IllegalArgumentException("Empty keyword");
+            }
+        }
+
+        Arrays.fill(symbols, NO_SYMBOL);
+        int size = 0;
+        for (String word : words) {
+            for (int j = 0; j < word.length(); j++) {
+                char c = word.charAt(j);
+                if (c >= 128 || c != Character.toLowerCase(c)) {
+                    throw new IllegalArgumentException("Keywords must be lower-case ASCII: " + word);
+                }
+                if (symbols[c] == NO_SYMBOL) {
+                    symbols[c] = size++;
+                }
+            }
+        }
+        alphabetSize = size;
+
+        // Trie; -1 marks a missing edge until the failure pass fills it in
+        List<int[]> trie = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        trie.add(newRow());
+        ends.add(new ArrayList<>());
+        for (int i = 0; i < count; i++) {
+            int state = 0;
+            for (int j = 0; j < words[i].length(); j++) {
+                int symbol = symbols[words[i].charAt(j)];
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newRow());
+                    ends.add(new ArrayList<>());
+                }
+                state = trie.get(state)[symbol];
+            }
+            ends.get(state).add(i);
+        }
+
+        // Breadth-first: complete each state's row from its failure state's row
+        int states = trie.size();
+        int[] failure = new int[states];
+        transitions = new int[states * alphabetSize];
+        outputs = new int[states][];
+        Deque<Integer> queue = new ArrayDeque<>();
+        int[] root = trie.get(0);
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            int next = root[symbol];
+            if (next < 0) {
+                transitions[symbol] = 0;
+            } else {
+                transitions[symbol] = next;
+                failure[next] = 0;
+                queue.add(next);
+            }
+        }
+        outputs[0] = ends.get(0).stream().mapToInt(Integer::intValue).toArray();
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            List<Integer> found = new ArrayList<>(ends.get(state));
+            for (int id : outputs[failure[state]]) {
+                found.add(id);
+            }
+            outputs[state] = found.stream().mapToInt(Integer::intValue).toArray();
+
+            int[] row = trie.get(state);
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                int next = row[symbol];
+                if (next < 0) {
+                    transitions[state * alphabetSize + symbol] = transitions[failure[state] * alphabetSize + symbol];
+                } else {
+                    transitions[state * alphabetSize + symbol] = next;
+                    failure[next] = transitions[failure[state] * alphabetSize + symbol];
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    /**
+     * Report the id of every keyword occurring in {@code text} as a whole word, once per
+     * occurrence, in order of where the occurrence ends.
+     */
+    void scan(CharSequence text, IntConsumer onMatch) {
+        int state = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            int symbol = symbolOf(text.charAt(i));
+            if (symbol == NO_SYMBOL) {
+                state = 0;
+                continue;
+            }
+            state = transitions[state * alphabetSize + symbol];
+            for (int id : outputs[state]) {
+                int start = i - lengths[id] + 1;
+                if (anchored[id] ? start == 0 : start == 0 || !isWordChar(text.charAt(start - 1))) {
+                    if (i + 1 == length || !isWordChar(text.charAt(i + 1))) {
+                        onMatch.accept(id);
+                    }
+                }
+            }
+        }
+    }
+
+    private int symbolOf(char c) {
+        if (c == '’') {
+            // Typographic apostrophe, as typed on phones
+            c = '\'';
+        } else if (c >= 128) {
+            c = Character.toLowerCase(c);
+            return c < 128 ? symbols[c] : NO_SYMBOL;
+        } else if (c >= 'A' && c <= 'Z') {
+            c = (char) (c + ('a' - 'A'));
+        }
+        return symbols[c];
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+}
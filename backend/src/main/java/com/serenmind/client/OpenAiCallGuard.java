@@ -0,0 +1,265 @@
+package com.serenmind.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control for OpenAI calls: an AIMD concurrency limit plus a circuit breaker.
+ * <p>
+ * The limit grows by roughly one per limit's worth of fast completions while it is actually
+ * being used, and shrinks multiplicatively when a call is slower than the latency threshold
+ * or fails with a timeout, 429 or 5xx. After enough consecutive failures the circuit opens
+ * and every call is rejected until the open period ends; then a single trial call decides
+ * whether it closes again. Callers fall back to a local response when rejected, so a slow
+ * provider turns into fast degraded answers instead of a growing backlog.
+ */
+@Component
+@Slf4j
+public class OpenAiCallGuard {
+
+    public enum Rejection { LIMIT, CIRCUIT_OPEN }
+
+    public enum CircuitState { CLOSED, HALF_OPEN, OPEN }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private final Counter limitRejections;
+    private final Counter circuitRejections;
+
+    private double limit;
+    private int inFlight;
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    @Autowired
+    public OpenAiCallGuard(
+            MeterRegistry meterRegistry,
+            @Value("${app.openai.limiter.initial-limit:10}") int initialLimit,
+            @Value("${app.openai.limiter.min-limit:2}") int minLimit,
+            @Value("${app.openai.limiter.max-limit:50}") int maxLimit,
+            @Value("${app.openai.limiter.latency-threshold-ms:10000}") long latencyThresholdMs,
+            @Value("${app.openai.limiter.backoff-ratio:0.75}") double backoffRatio,
+            @Value("${app.openai.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${app.openai.circuit-breaker.open-seconds:30}") long openSeconds) {
+        this(meterRegistry, initialLimit, minLimit, maxLimit, latencyThresholdMs, backoffRatio,
+                failureThreshold, openSeconds, System::nanoTime);
+    }
+
+    OpenAiCallGuard(MeterRegistry meterRegistry, int initialLimit, int minLimit, int maxLimit,
+                    long latencyThresholdMs, double backoffRatio, int failureThreshold, long openSeconds,
+                    LongSupplier nanoClock) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.backoffRatio = backoffRatio;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = TimeUnit.SECONDS.toNanos(openSeconds);
+        this.nanoClock = nanoClock;
+
+        Gauge.builder("ai.openai.concurrency.limit", this, OpenAiCallGuard::getLimit)
+                .description("Current adaptive limit on concurrent OpenAI calls")
+                .register(meterRegistry);
+        Gauge.builder("ai.openai.concurrency.in_flight", this, OpenAiCallGuard::getInFlight)
+                .description("OpenAI calls currently admitted")
+                .register(meterRegistry);
+        Gauge.builder("ai.openai.circuit.state", this, guard -> guard.getState().ordinal())
+                .description("OpenAI circuit breaker state (0 closed, 1 half-open, 2 open)")
+                .register(meterRegistry);
+        this.limitRejections = Counter.builder("ai.openai.rejected")
+                .tag("reason", "limit")
+                .description("OpenAI calls answered by the local fallback instead")
+                .register(meterRegistry);
+        this.circuitRejections = Counter.builder("ai.openai.rejected")
+                .tag("reason", "circuit_open")
+                .description("OpenAI calls answered by the local fallback instead")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admit a call, or explain why not. Every admitted permit must be finished exactly once
+     * with {@link Permit#succeeded}, {@link Permit#failed} or {@link Permit#released}.
+     *
+     * @throws RejectedException if the limit is reached or the circuit is open
+     */
+    public synchronized Permit acquire() {
+        if (state == CircuitState.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                circuitRejections.increment();
+                throw new RejectedException(Rejection.CIRCUIT_OPEN);
+            }
+            state = CircuitState.HALF_OPEN;
+            log.info("OpenAI circuit half-open; sending a trial call");
+        }
+        boolean trial = false;
+        if (state == CircuitState.HALF_OPEN) {
+            if (trialInFlight) {
+                circuitRejections.increment();
+                throw new RejectedException(Rejection.CIRCUIT_OPEN);
+            }
+            trialInFlight = true;
+            trial = true;
+        }
+        if (inFlight >= (int) limit) {
+            if (trial) {
+                trialInFlight = false;
+            }
+            limitRejections.increment();
+            throw new RejectedException(Rejection.LIMIT);
+        }
+        inFlight++;
+        return new Permit(nanoClock.getAsLong(), inFlight, trial);
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized CircuitState getState() {
+        // Report an expired open period as half-open even before the next call arrives
+        if (state == CircuitState.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            return CircuitState.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private synchronized void onSuccess(Permit permit, long latencyNanos) {
+        inFlight--;
+        if (permit.trial) {
+            trialInFlight = false;
+        }
+        if (latencyNanos > latencyThresholdNanos) {
+            decrease();
+        } else if (permit.inFlightAtStart * 2 >= limit) {
+            // Only grow while the limit is what bounds throughput
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        consecutiveFailures = 0;
+        if (state != CircuitState.CLOSED) {
+            state = CircuitState.CLOSED;
+            log.info("OpenAI circuit closed; concurrency limit {}", (int) limit);
+        }
+    }
+
+    private synchronized void onFailure(Permit permit) {
+        inFlight--;
+        if (permit.trial) {
+            trialInFlight = false;
+        }
+        decrease();
+        consecutiveFailures++;
+        if (state == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != CircuitState.OPEN) {
+                log.warn("OpenAI circuit opened after {} consecutive failures", consecutiveFailures);
+            }
+            state = CircuitState.OPEN;
+            openedAt = nanoClock.getAsLong();
+        }
+    }
+
+    private synchronized void onRelease(Permit permit) {
+        inFlight--;
+        if (permit.trial) {
+            trialInFlight = false;
+        }
+    }
+
+    private void decrease() {
+        limit = Math.max(minLimit, limit * backoffRatio);
+    }
+
+    /**
+     * One admitted call.
+     */
+    public final class Permit {
+
+        private final long startedAt;
+        private final int inFlightAtStart;
+        private final boolean trial;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile long firstResponseNanos = -1;
+
+        private Permit(long startedAt, int inFlightAtStart, boolean trial) {
+            this.startedAt = startedAt;
+            this.inFlightAtStart = inFlightAtStart;
+            this.trial = trial;
+        }
+
+        /**
+         * Mark the moment the first byte of the answer arrived. For streamed replies this,
+         * rather than the full duration, is the latency the limit reacts to.
+         */
+        public void responded() {
+            if (firstResponseNanos < 0) {
+                firstResponseNanos = nanoClock.getAsLong() - startedAt;
+            }
+        }
+
+        /**
+         * The call completed; its latency feeds the limit and closes a half-open circuit.
+         */
+        public void succeeded() {
+            if (finished.compareAndSet(false, true)) {
+                onSuccess(this, firstResponseNanos >= 0 ? firstResponseNanos : nanoClock.getAsLong() - startedAt);
+            }
+        }
+
+        /**
+         * The provider was overloaded or unreachable (timeout, 429, 5xx).
+         */
+        public void failed() {
+            if (finished.compareAndSet(false, true)) {
+                onFailure(this);
+            }
+        }
+
+        /**
+         * The call ended without saying anything about provider health (cancelled, or a
+         * client error such as a bad request).
+         */
+        public void released() {
+            if (finished.compareAndSet(false, true)) {
+                onRelease(this);
+            }
+        }
+    }
+
+    /**
+     * Thrown by {@link #acquire} when a call is not admitted.
+     */
+    @Getter
+    public static class RejectedException extends RuntimeException {
+
+        private final Rejection reason;
+
+        public RejectedException(Rejection reason) {
+            // No stack trace: rejections are routine under load and always handled by a fallback
+            super("OpenAI call rejected: " + reason, null, false, false);
+            this.reason = reason;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.serenmind.client;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,8 +21,12 @@ public class OpenAiRequest {
     private String model;
     private List<Message> messages;
     private Double temperature;
+    @JsonProperty("max_tokens")
     private Integer maxTokens;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean stream;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
@@ -1,5 +1,7 @@
 package com.serenmind.client;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -21,12 +23,19 @@ public class OpenAiResponse {
     private List<Choice> choices;
     private Usage usage;
 
+    /**
+     * Set when the response was generated locally because the call was not admitted.
+     */
+    @JsonIgnore
+    private String fallbackReason;
+
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
     public static class Choice {
         private Integer index;
         private Message message;
+        @JsonProperty("finish_reason")
         private String finishReason;
     }
 
@@ -42,8 +51,11 @@ public class OpenAiResponse {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class Usage {
+        @JsonProperty("prompt_tokens")
         private Integer promptTokens;
+        @JsonProperty("completion_tokens")
         private Integer completionTokens;
+        @JsonProperty("total_tokens")
         private Integer totalTokens;
     }
 }
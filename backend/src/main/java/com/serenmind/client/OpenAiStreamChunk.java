@@ -0,0 +1,57 @@
+package com.serenmind.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One server-sent chunk of a streamed OpenAI Chat Completions response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OpenAiStreamChunk {
+
+    private String id;
+    private String model;
+    private List<Choice> choices;
+
+    /**
+     * Set when the response was generated locally because the call was not admitted.
+     */
+    @JsonIgnore
+    private String fallbackReason;
+
+    /**
+     * Text added by this chunk, or an empty string for role/finish-only chunks.
+     */
+    public String contentDelta() {
+        if (choices == null || choices.isEmpty() || choices.get(0).getDelta() == null) {
+            return "";
+        }
+        String content = choices.get(0).getDelta().getContent();
+        return content != null ? content : "";
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Choice {
+        private Integer index;
+        private Delta delta;
+        @JsonProperty("finish_reason")
+        private String finishReason;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Delta {
+        private String role;
+        private String content;
+    }
+}
@@ -0,0 +1,110 @@
+package com.serenmind.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors for background work that must stay off the request threads.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+
+    @Value("${app.async.background.pool-size:2}")
+    private Integer backgroundPoolSize;
+
+    @Value("${app.async.background.queue-capacity:100}")
+    private Integer backgroundQueueCapacity;
+
+    @Value("${app.async.ai-context.pool-size:4}")
+    private Integer aiContextPoolSize;
+
+    @Value("${app.async.ai-context.queue-capacity:200}")
+    private Integer aiContextQueueCapacity;
+
+    @Value("${app.async.chat-summary.pool-size:1}")
+    private Integer chatSummaryPoolSize;
+
+    @Value("${app.async.chat-summary.queue-capacity:100}")
+    private Integer chatSummaryQueueCapacity;
+
+    @Value("${app.async.analysis.pool-size:1}")
+    private Integer analysisPoolSize;
+
+    @Value("${app.async.analysis.queue-capacity:500}")
+    private Integer analysisQueueCapacity;
+
+    /**
+     * Small pool for long-running maintenance tasks such as index rebuilds.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor backgroundTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(backgroundPoolSize);
+        executor.setMaxPoolSize(backgroundPoolSize);
+        executor.setQueueCapacity(backgroundQueueCapacity);
+        executor.setThreadNamePrefix("background-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Per-entry analysis after commit (sentiment scoring, journal insights). Entries dropped
+     * when the queue is full are picked up again by the sentiment backfill and the insights
+     * reconcile jobs.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor analysisTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(analysisPoolSize);
+        executor.setMaxPoolSize(analysisPoolSize);
+        executor.setQueueCapacity(analysisQueueCapacity);
+        executor.setThreadNamePrefix("analysis-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Database work around AI requests (context gathering, saving reports). Kept small so
+     * AI traffic cannot take every pooled connection; the OpenAI call itself holds no thread.
+     * A full queue rejects the request instead of letting it wait indefinitely.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor aiContextExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(aiContextPoolSize);
+        executor.setMaxPoolSize(aiContextPoolSize);
+        executor.setQueueCapacity(aiContextQueueCapacity);
+        executor.setThreadNamePrefix("ai-context-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Rolling chat session summaries. A dropped task is harmless: the next exchange in the
+     * session triggers summarization again.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor chatSummaryExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(chatSummaryPoolSize);
+        executor.setMaxPoolSize(chatSummaryPoolSize);
+        executor.setQueueCapacity(chatSummaryQueueCapacity);
+        executor.setThreadNamePrefix("chat-summary-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
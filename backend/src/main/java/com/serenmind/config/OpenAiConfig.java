@@ -1,31 +1,123 @@
 package com.serenmind.config;
 
+import com.serenmind.profiling.ConnectionHoldProfiler;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration for OpenAI API integration.
+ * <p>
+ * OpenAI calls get a connection pool of their own, so keep-alive connections (and their TLS
+ * sessions) are reused instead of being set up on the request path, and a burst of AI calls
+ * cannot starve other outbound HTTP. Pool and client meters are published through Micrometer
+ * as {@code reactor.netty.connection.provider.*{name=openai}} (active, idle, pending
+ * connections, pending acquire time) and {@code reactor.netty.http.client.*}.
  */
 @Configuration
 public class OpenAiConfig {
 
+    static final String POOL_NAME = "openai";
+
     @Value("${app.openai.api-key:}")
     private String apiKey;
 
     @Value("${app.openai.base-url:https://api.openai.com/v1}")
     private String baseUrl;
 
+    @Value("${app.openai.http.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${app.openai.http.pending-acquire-max-count:200}")
+    private int pendingAcquireMaxCount;
+
+    @Value("${app.openai.http.pending-acquire-timeout-ms:5000}")
+    private long pendingAcquireTimeoutMs;
+
+    @Value("${app.openai.http.max-idle-time-seconds:55}")
+    private long maxIdleTimeSeconds;
+
+    @Value("${app.openai.http.max-life-time-seconds:600}")
+    private long maxLifeTimeSeconds;
+
+    @Value("${app.openai.http.evict-interval-seconds:30}")
+    private long evictIntervalSeconds;
+
+    @Value("${app.openai.http.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    @Value("${app.openai.http.response-timeout-seconds:60}")
+    private long responseTimeoutSeconds;
+
+    @Value("${app.openai.http.read-timeout-seconds:60}")
+    private int readTimeoutSeconds;
+
+    @Value("${app.openai.http.write-timeout-seconds:10}")
+    private int writeTimeoutSeconds;
+
+    @Value("${app.openai.http.max-response-bytes:2097152}")
+    private int maxResponseBytes;
+
+    @Value("${app.openai.http.http2:false}")
+    private boolean http2;
+
+    @Value("${app.openai.http.metrics:true}")
+    private boolean metrics;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider openAiConnectionProvider() {
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                // Close idle connections before the server side does, so a request never lands on a dead one
+                .maxIdleTime(Duration.ofSeconds(maxIdleTimeSeconds))
+                .maxLifeTime(Duration.ofSeconds(maxLifeTimeSeconds))
+                .evictInBackground(Duration.ofSeconds(evictIntervalSeconds))
+                .metrics(metrics)
+                .build();
+    }
+
     @Bean
-    public WebClient openAiWebClient() {
+    public WebClient openAiWebClient(ConnectionProvider openAiConnectionProvider,
+                                     ConnectionHoldProfiler connectionHoldProfiler) {
+        HttpClient httpClient = HttpClient.create(openAiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .keepAlive(true)
+                // Time to response headers; streamed bodies are bounded by the read timeout between chunks
+                .responseTimeout(Duration.ofSeconds(responseTimeoutSeconds))
+                .doOnConnected(connection -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(readTimeoutSeconds, TimeUnit.SECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(writeTimeoutSeconds, TimeUnit.SECONDS)))
+                // One tag value for every request, whatever the path
+                .metrics(metrics, uri -> "/chat/completions");
+        if (http2 && baseUrl.startsWith("https:")) {
+            // Negotiated through ALPN; falls back to HTTP/1.1 if the server does not offer h2
+            httpClient = httpClient.secure().protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+
         return WebClient.builder()
                 .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(maxResponseBytes))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                // Flags any JDBC connection held by the calling thread while OpenAI is called
+                .filter(connectionHoldProfiler.remoteCallFilter())
                 .build();
     }
 }
-
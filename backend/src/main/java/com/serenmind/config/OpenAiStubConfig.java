@@ -0,0 +1,56 @@
+package com.serenmind.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serenmind.client.CannedResponseEngine;
+import com.serenmind.stub.OpenAiStubServer;
+import com.serenmind.stub.OpenAiStubSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Runs the embedded OpenAI stub inside the application (profile {@code openai-stub}), with
+ * {@code app.openai.base-url} pointing at it, for offline load tests of the real client path.
+ */
+@Configuration
+@Profile("openai-stub")
+public class OpenAiStubConfig {
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public OpenAiStubServer openAiStubServer(
+            CannedResponseEngine cannedResponseEngine,
+            ObjectMapper objectMapper,
+            @Value("${app.openai.stub.port:8099}") int port,
+            @Value("${app.openai.stub.seed:42}") long seed,
+            @Value("${app.openai.stub.latency.distribution:LOG_NORMAL}") OpenAiStubSettings.LatencyDistribution distribution,
+            @Value("${app.openai.stub.latency.median-ms:800}") long medianMs,
+            @Value("${app.openai.stub.latency.p99-ms:4000}") long p99Ms,
+            @Value("${app.openai.stub.latency.min-ms:50}") long minMs,
+            @Value("${app.openai.stub.latency.max-ms:60000}") long maxMs,
+            @Value("${app.openai.stub.usage.prompt-tokens:0}") int promptTokens,
+            @Value("${app.openai.stub.usage.completion-tokens:0}") int completionTokens,
+            @Value("${app.openai.stub.errors.rate-limit-rate:0}") double rateLimitRate,
+            @Value("${app.openai.stub.errors.server-error-rate:0}") double serverErrorRate,
+            @Value("${app.openai.stub.drip.delay-ms:30}") long dripDelayMs,
+            @Value("${app.openai.stub.drip.bytes:0}") int dripBytes,
+            @Value("${app.openai.stub.drip.words-per-chunk:3}") int wordsPerChunk) {
+        OpenAiStubSettings settings = OpenAiStubSettings.builder()
+                .port(port)
+                .seed(seed)
+                .latency(distribution)
+                .latencyMedianMs(medianMs)
+                .latencyP99Ms(p99Ms)
+                .latencyMinMs(minMs)
+                .latencyMaxMs(maxMs)
+                .promptTokens(promptTokens)
+                .completionTokens(completionTokens)
+                .rateLimitRate(rateLimitRate)
+                .serverErrorRate(serverErrorRate)
+                .dripDelayMs(dripDelayMs)
+                .dripBytes(dripBytes)
+                .wordsPerChunk(wordsPerChunk)
+                .build();
+        return new OpenAiStubServer(settings, cannedResponseEngine, objectMapper);
+    }
+}
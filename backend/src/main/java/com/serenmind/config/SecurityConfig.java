@@ -1,6 +1,7 @@
 package com.serenmind.config;
 
 import com.serenmind.security.JwtFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -42,6 +43,10 @@ public class SecurityConfig {
                         .requestMatchers("/actuator/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Error dispatch, so statuses like 409 reach the client instead of 403
+                        .requestMatchers("/error").permitAll()
+                        // Async result dispatch of a request that was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // All other endpoints require authentication
                         .anyRequest().authenticated()
                 )
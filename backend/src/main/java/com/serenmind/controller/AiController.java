@@ -3,26 +3,37 @@ package com.serenmind.controller;
 import com.serenmind.dto.request.AiChatRequest;
 import com.serenmind.dto.request.AiReportRequest;
 import com.serenmind.dto.response.AiChatResponse;
-import com.serenmind.dto.response.AiReportResponse;
+import com.serenmind.dto.response.AiChatStreamEvent;
+import com.serenmind.dto.response.AiReportJobResponse;
+import com.serenmind.dto.response.ChatSessionResponse;
 import com.serenmind.dto.response.MessageResponse;
 import com.serenmind.model.User;
 import com.serenmind.repository.UserRepository;
+import com.serenmind.service.AiReportJobService;
 import com.serenmind.service.AiService;
+import com.serenmind.service.ChatSessionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 
+import java.net.URI;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for AI-powered features.
+ * Chat endpoints complete asynchronously and reports are queued as jobs, so no servlet
+ * thread waits on OpenAI.
  */
 @RestController
 @RequestMapping("/api/ai")
@@ -33,33 +44,105 @@ import java.util.Map;
 public class AiController {
 
     private final AiService aiService;
+    private final AiReportJobService aiReportJobService;
+    private final ChatSessionService chatSessionService;
     private final UserRepository userRepository;
 
     @PostMapping("/chat")
     @Operation(summary = "Chat with AI assistant", 
                description = "Send a message and receive structured AI response with suggestions based on your recent mood and journal entries")
-    public ResponseEntity<AiChatResponse> chat(
+    public CompletableFuture<ResponseEntity<AiChatResponse>> chat(
             @Valid @RequestBody AiChatRequest request,
             Authentication authentication) {
         Long userId = getUserIdFromAuth(authentication);
         log.info("AI chat endpoint called for user ID: {}", userId);
         
-        AiChatResponse response = aiService.chat(userId, request);
-        return ResponseEntity.ok(response);
+        return aiService.chatAsync(userId, request)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    @PostMapping(value = "/chat/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Chat with AI assistant (streamed)",
+               description = "Server-Sent Events: 'reply' events carry reply text as it is generated, "
+                       + "then one 'done' event carries the complete response with suggestions, or an 'error' event")
+    public Flux<ServerSentEvent<AiChatStreamEvent>> chatStream(
+            @Valid @RequestBody AiChatRequest request,
+            Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        log.info("AI chat stream endpoint called for user ID: {}", userId);
+
+        return aiService.chatStream(userId, request)
+                .map(event -> ServerSentEvent.builder(event).event(event.getType()).build());
     }
 
     @PostMapping("/reports")
-    @Operation(summary = "Generate and persist AI report", 
-               description = "Generate insights report (WEEKLY_SUMMARY, MOOD_ANALYSIS, JOURNAL_INSIGHTS) and save to database")
-    public ResponseEntity<AiReportResponse> generateReport(
+    @Operation(summary = "Queue an AI report",
+               description = "Queue an insights report (WEEKLY_SUMMARY, MOOD_ANALYSIS, JOURNAL_INSIGHTS); returns 202 with "
+                       + "the job. Poll GET /api/ai/reports/jobs/{jobId} or follow its /events stream until SUCCEEDED, "
+                       + "then fetch the report from /api/reports/{reportId}")
+    public ResponseEntity<AiReportJobResponse> generateReport(
             @Valid @RequestBody AiReportRequest request,
             Authentication authentication) {
         Long userId = getUserIdFromAuth(authentication);
         log.info("AI report generation endpoint called for user ID: {}, type: {}", 
                  userId, request.getReportType());
         
-        AiReportResponse response = aiService.generateReport(userId, request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        AiReportJobResponse job = aiReportJobService.enqueue(userId, request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/ai/reports/jobs/" + job.getId()))
+                .body(job);
+    }
+
+    @GetMapping("/reports/jobs/{jobId}")
+    @Operation(summary = "Get AI report job status")
+    public ResponseEntity<AiReportJobResponse> getReportJob(
+            @PathVariable Long jobId,
+            Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        return ResponseEntity.ok(aiReportJobService.getJob(userId, jobId));
+    }
+
+    @GetMapping(value = "/reports/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Follow AI report job status",
+               description = "Server-Sent Events: one 'status' event now and on every change, until SUCCEEDED or FAILED")
+    public Flux<ServerSentEvent<AiReportJobResponse>> watchReportJob(
+            @PathVariable Long jobId,
+            Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        // Fail fast with 4xx for unknown jobs before the stream starts
+        aiReportJobService.getJob(userId, jobId);
+        return aiReportJobService.watchJob(userId, jobId)
+                .map(job -> ServerSentEvent.builder(job).event("status").build());
+    }
+
+    @GetMapping("/sessions")
+    @Operation(summary = "List chat sessions", description = "Most recently active first")
+    public ResponseEntity<List<ChatSessionResponse>> getChatSessions(Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        log.info("List chat sessions for user ID: {}", userId);
+        return ResponseEntity.ok(chatSessionService.getSessions(userId));
+    }
+
+    @GetMapping("/sessions/{sessionId}")
+    @Operation(summary = "Resume a chat session",
+               description = "Running summary and most recent turns; send sessionId with the next chat message to continue")
+    public ResponseEntity<ChatSessionResponse> getChatSession(
+            @PathVariable Long sessionId,
+            Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        log.info("Get chat session ID: {} for user ID: {}", sessionId, userId);
+        return ResponseEntity.ok(chatSessionService.getSession(userId, sessionId));
+    }
+
+    @DeleteMapping("/sessions/{sessionId}")
+    @Operation(summary = "Delete a chat session")
+    public ResponseEntity<Void> deleteChatSession(
+            @PathVariable Long sessionId,
+            Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        log.info("Delete chat session ID: {} for user ID: {}", sessionId, userId);
+        chatSessionService.deleteSession(userId, sessionId);
+        return ResponseEntity.noContent().build();
     }
 
     // Legacy endpoints for backward compatibility
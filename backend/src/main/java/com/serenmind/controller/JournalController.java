@@ -1,9 +1,17 @@
 package com.serenmind.controller;
 
 import com.serenmind.dto.request.JournalEntryRequest;
+import com.serenmind.dto.request.JournalPatchRequest;
+import com.serenmind.dto.response.JournalEntryPageResponse;
 import com.serenmind.dto.response.JournalEntryResponse;
+import com.serenmind.dto.response.JournalInsightsResponse;
+import com.serenmind.dto.response.JournalOnThisDayResponse;
+import com.serenmind.dto.response.JournalSearchResponse;
+import com.serenmind.dto.response.JournalTagCountResponse;
 import com.serenmind.model.User;
 import com.serenmind.repository.UserRepository;
+import com.serenmind.service.JournalInsightsService;
+import com.serenmind.service.JournalSearchService;
 import com.serenmind.service.JournalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -30,6 +38,8 @@ import java.util.List;
 public class JournalController {
 
     private final JournalService journalService;
+    private final JournalSearchService journalSearchService;
+    private final JournalInsightsService journalInsightsService;
     private final UserRepository userRepository;
 
     @PostMapping
@@ -44,14 +54,78 @@ public class JournalController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all journal entries for authenticated user")
-    public ResponseEntity<List<JournalEntryResponse>> getUserJournalEntries(Authentication authentication) {
+    @Operation(summary = "Get all journal entries for authenticated user",
+               description = "Optionally filtered to entries carrying exactly the given tag")
+    public ResponseEntity<List<JournalEntryResponse>> getUserJournalEntries(
+            @RequestParam(required = false) String tag,
+            Authentication authentication) {
         Long userId = getUserIdFromAuth(authentication);
         log.info("Get journal entries endpoint called for user ID: {}", userId);
-        List<JournalEntryResponse> responses = journalService.getUserJournalEntries(userId);
+        List<JournalEntryResponse> responses = tag != null && !tag.isBlank()
+                ? journalService.getJournalEntriesByTag(userId, tag)
+                : journalService.getUserJournalEntries(userId);
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/page")
+    @Operation(summary = "Get a page of journal list items",
+               description = "Newest first, without content; pass nextCursor from the previous page to continue")
+    public ResponseEntity<JournalEntryPageResponse> getJournalEntryPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        log.info("Get journal page endpoint called for user ID: {}", userId);
+        JournalEntryPageResponse response = journalService.getJournalEntryPage(userId, cursor, limit);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/tags")
+    @Operation(summary = "Get journal tags with counts",
+               description = "Most used tags first; pass prefix for autocomplete")
+    public ResponseEntity<List<JournalTagCountResponse>> getJournalTags(
+            @RequestParam(required = false) String prefix,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        log.info("Get journal tags for user ID: {}", userId);
+        List<JournalTagCountResponse> responses = journalService.getTagCounts(userId, prefix, limit);
+        return ResponseEntity.ok(responses);
+    }
+
+    @GetMapping("/insights")
+    @Operation(summary = "Get journaling insights",
+               description = "Entry and word totals, writing-time histogram and most frequent themes")
+    public ResponseEntity<JournalInsightsResponse> getJournalInsights(Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        log.info("Get journal insights for user ID: {}", userId);
+        JournalInsightsResponse response = journalInsightsService.getInsights(userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/on-this-day")
+    @Operation(summary = "Get journal entries written on this date in previous years")
+    public ResponseEntity<JournalOnThisDayResponse> getOnThisDay(Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        log.info("Get on-this-day entries for user ID: {}", userId);
+        JournalOnThisDayResponse response = journalService.getOnThisDay(userId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search journal entries",
+               description = "Relevance-ranked full-text search over title and content with highlighted snippets")
+    public ResponseEntity<JournalSearchResponse> searchJournalEntries(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        log.info("Search journal entries for user ID: {}", userId);
+        JournalSearchResponse response = journalSearchService.search(userId, query, page, size);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a specific journal entry by ID")
     public ResponseEntity<JournalEntryResponse> getJournalEntryById(
@@ -75,6 +149,18 @@ public class JournalController {
         return ResponseEntity.ok(response);
     }
 
+    @PatchMapping("/{id}")
+    @Operation(summary = "Autosave a journal entry",
+               description = "Applies text edits on top of baseVersion; returns 409 if the entry changed since")
+    public ResponseEntity<JournalEntryResponse> patchJournalEntry(
+            @PathVariable Long id,
+            @Valid @RequestBody JournalPatchRequest request,
+            Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        JournalEntryResponse response = journalService.patchJournalEntry(userId, id, request);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a journal entry")
     public ResponseEntity<Void> deleteJournalEntry(
@@ -1,10 +1,13 @@
 package com.serenmind.controller;
 
 import com.serenmind.dto.request.MoodEntryRequest;
+import com.serenmind.dto.response.MoodForecastBacktestResponse;
+import com.serenmind.dto.response.MoodForecastResponse;
 import com.serenmind.dto.response.MoodEntryResponse;
 import com.serenmind.dto.response.MoodTrendsResponse;
 import com.serenmind.model.User;
 import com.serenmind.repository.UserRepository;
+import com.serenmind.service.MoodForecastService;
 import com.serenmind.service.MoodService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -34,6 +37,7 @@ import java.util.Map;
 public class MoodController {
 
     private final MoodService moodService;
+    private final MoodForecastService moodForecastService;
     private final UserRepository userRepository;
 
     @PostMapping
@@ -97,6 +101,28 @@ public class MoodController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/forecast")
+    @Operation(summary = "Get mood forecast for the coming days",
+               description = "Returns predicted mood per day with 80% and 95% confidence bands")
+    public ResponseEntity<MoodForecastResponse> getMoodForecast(
+            @RequestParam(defaultValue = "7") int days,
+            Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        log.info("Get mood forecast for user ID: {}", userId);
+        MoodForecastResponse response = moodForecastService.getForecast(userId, days);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/forecast/backtest")
+    @Operation(summary = "Backtest the mood forecast against your history",
+               description = "Replays existing mood entries and reports one-step-ahead forecast error")
+    public ResponseEntity<MoodForecastBacktestResponse> backtestMoodForecast(Authentication authentication) {
+        Long userId = getUserIdFromAuth(authentication);
+        log.info("Backtest mood forecast for user ID: {}", userId);
+        MoodForecastBacktestResponse response = moodForecastService.backtest(userId);
+        return ResponseEntity.ok(response);
+    }
+
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete a mood entry")
     public ResponseEntity<Void> deleteMoodEntry(
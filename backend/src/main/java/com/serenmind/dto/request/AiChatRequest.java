@@ -20,5 +20,15 @@ public class AiChatRequest {
      * Default: 5 mood entries + 3 journal entries
      */
     private Integer contextSize;
+
+    /**
+     * Optional: continue this chat session. Omit to start a new one; the response
+     * carries the session ID to send with the next message.
+     */
+    private Long sessionId;
+
+    public AiChatRequest(String message, Integer contextSize) {
+        this(message, contextSize, null);
+    }
 }
 
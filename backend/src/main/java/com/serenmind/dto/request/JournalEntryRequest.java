@@ -23,5 +23,7 @@ public class JournalEntryRequest {
     private Boolean isFavorite = false;
 
     private Boolean isPrivate = true;
+
+    private Long version; // Optional on update; a stale version is rejected with 409
 }
 
@@ -0,0 +1,59 @@
+package com.serenmind.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental journal update for autosave. Content changes are sent as edits instead of
+ * the whole text; other fields are only changed when present.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalPatchRequest {
+
+    @NotNull(message = "Base version is required")
+    private Long baseVersion;
+
+    /**
+     * Applied in order; each edit's offsets refer to the text produced by the previous one.
+     */
+    @Valid
+    private List<Edit> edits = new ArrayList<>();
+
+    @Size(min = 1, max = 200, message = "Title must be between 1 and 200 characters")
+    private String title;
+
+    private String tags;
+
+    private Boolean isFavorite;
+
+    private Boolean isPrivate;
+
+    /**
+     * Replace {@code deleteCount} characters at {@code start} with {@code insert}.
+     * Offsets are UTF-16 code units, the same as JavaScript string indices.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Edit {
+
+        @NotNull
+        @Min(0)
+        private Integer start;
+
+        @Min(0)
+        private Integer deleteCount = 0;
+
+        private String insert = "";
+    }
+}
@@ -28,6 +28,11 @@ public class AiChatResponse {
      */
     private List<String> suggestions;
 
+    /**
+     * Chat session this exchange was stored in.
+     */
+    private Long sessionId;
+
     /**
      * Metadata about the response.
      */
@@ -42,6 +47,17 @@ public class AiChatResponse {
         private Integer tokensUsed;
         private Boolean isMockResponse;
         private Long responseTimeMs;
+
+        /**
+         * True if OpenAI was not called (concurrency limit reached or circuit open) and the
+         * reply is a locally generated one.
+         */
+        private Boolean fallback;
+
+        /**
+         * LIMIT or CIRCUIT_OPEN when {@code fallback} is true.
+         */
+        private String fallbackReason;
     }
 }
 
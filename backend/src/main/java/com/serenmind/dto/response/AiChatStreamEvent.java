@@ -0,0 +1,53 @@
+package com.serenmind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One event of a streamed AI chat reply: a piece of reply text while the answer is being
+ * generated, then the complete response (with suggestions) or an error.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiChatStreamEvent {
+
+    public static final String REPLY = "reply";
+    public static final String DONE = "done";
+    public static final String ERROR = "error";
+
+    /**
+     * REPLY, DONE or ERROR; sent as the SSE event name.
+     */
+    private String type;
+
+    /**
+     * Reply text added since the previous event (REPLY only).
+     */
+    private String delta;
+
+    /**
+     * Complete parsed response (DONE only).
+     */
+    private AiChatResponse response;
+
+    /**
+     * Error description (ERROR only).
+     */
+    private String message;
+
+    public static AiChatStreamEvent reply(String delta) {
+        return AiChatStreamEvent.builder().type(REPLY).delta(delta).build();
+    }
+
+    public static AiChatStreamEvent done(AiChatResponse response) {
+        return AiChatStreamEvent.builder().type(DONE).response(response).build();
+    }
+
+    public static AiChatStreamEvent error(String message) {
+        return AiChatStreamEvent.builder().type(ERROR).message(message).build();
+    }
+}
@@ -0,0 +1,38 @@
+package com.serenmind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiReportJobResponse {
+
+    private Long id;
+
+    /**
+     * QUEUED, RUNNING, SUCCEEDED or FAILED.
+     */
+    private String status;
+    private String reportType;
+    private Integer daysToInclude;
+    private Integer attempts;
+
+    /**
+     * The generated report, once SUCCEEDED; fetch it from /api/reports/{reportId}.
+     */
+    private Long reportId;
+
+    /**
+     * Last failure, if any; set while a retry is queued and once FAILED.
+     */
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -20,6 +20,16 @@ public class AiReportResponse {
     private Integer tokensUsed;
     private String modelUsed;
     private Boolean isMockResponse;
+
+    /**
+     * True if an identical recent report was returned instead of generating a new one.
+     */
+    private Boolean reused;
+
+    /**
+     * True if OpenAI was not called and the content is a locally generated placeholder.
+     */
+    private Boolean fallback;
     private LocalDateTime createdAt;
 }
 
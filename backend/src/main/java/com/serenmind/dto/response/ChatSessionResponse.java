@@ -0,0 +1,43 @@
+package com.serenmind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatSessionResponse {
+
+    private Long id;
+    private String title;
+    private Integer turnCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    /**
+     * Running summary of turns older than the verbatim window (resume only).
+     */
+    private String summary;
+
+    /**
+     * Most recent turns, oldest first (resume only).
+     */
+    private List<Turn> turns;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Turn {
+        private Long id;
+        private String role;
+        private String content;
+        private LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,26 @@
+package com.serenmind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one keyset page of the journal list, newest first.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JournalEntryPageResponse {
+
+    private List<JournalEntrySummaryResponse> items;
+
+    /**
+     * Opaque cursor for the next page; null when there are no more entries.
+     */
+    private String nextCursor;
+    private Boolean hasMore;
+}
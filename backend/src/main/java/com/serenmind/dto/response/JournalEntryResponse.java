@@ -19,6 +19,9 @@ public class JournalEntryResponse {
     private String tags;
     private Boolean isFavorite;
     private Boolean isPrivate;
+    private Long version;
+    private Double sentimentScore;
+    private String emotionTags;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,26 @@
+package com.serenmind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a journal list item; the full content is fetched via GET /api/journals/{id}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JournalEntrySummaryResponse {
+
+    private Long id;
+    private String title;
+    private String snippet;
+    private String tags;
+    private Boolean isFavorite;
+    private Boolean isPrivate;
+    private LocalDateTime createdAt;
+}
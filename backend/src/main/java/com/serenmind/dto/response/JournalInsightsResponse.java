@@ -0,0 +1,47 @@
+package com.serenmind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for journaling insights: all-time totals, writing-time histogram and frequent themes.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JournalInsightsResponse {
+
+    private Integer totalEntries;
+    private Long totalWords;
+    private Double averageWordsPerEntry;
+
+    /**
+     * Entries written per hour of day (server time), index 0 = midnight.
+     */
+    private List<Integer> hourHistogram;
+    private Integer peakHour;
+
+    private String month;
+    private Integer monthEntries;
+    private Long monthWords;
+    private List<Theme> monthThemes;
+    private List<Theme> allTimeThemes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Theme {
+        private String term;
+
+        /**
+         * Number of entries mentioning the term (approximate for rarely used terms).
+         */
+        private Long entries;
+    }
+}
@@ -0,0 +1,36 @@
+package com.serenmind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for journal entries written on today's calendar date in earlier years.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JournalOnThisDayResponse {
+
+    private LocalDate date;
+    private List<Memory> memories;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Memory {
+        private Long id;
+        private String title;
+        private String snippet;
+        private String tags;
+        private Integer yearsAgo;
+        private LocalDateTime createdAt;
+    }
+}
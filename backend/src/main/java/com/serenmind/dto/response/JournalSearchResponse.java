@@ -0,0 +1,44 @@
+package com.serenmind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for a page of relevance-ranked journal search hits.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JournalSearchResponse {
+
+    private String query;
+    private Integer page;
+    private Integer size;
+    private Long totalHits;
+    private List<Hit> hits;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Hit {
+        private Long id;
+        private String title;
+
+        /**
+         * HTML-escaped title and content excerpt with matches wrapped in &lt;mark&gt;.
+         */
+        private String highlightedTitle;
+        private String snippet;
+
+        private String tags;
+        private Double score;
+        private LocalDateTime createdAt;
+    }
+}
@@ -0,0 +1,37 @@
+package com.serenmind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one-step-ahead forecast error measured by replaying mood history.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MoodForecastBacktestResponse {
+
+    private Long userId;
+
+    /**
+     * Total observations replayed and how many were scored (after the warm-up week).
+     */
+    private Integer observations;
+    private Integer evaluated;
+
+    private Double meanAbsoluteError;
+    private Double rootMeanSquaredError;
+
+    /**
+     * Mean absolute error of a naive "same as last entry" forecast, for comparison.
+     */
+    private Double naiveMeanAbsoluteError;
+
+    /**
+     * Share of scored observations that fell inside the 80% band.
+     */
+    private Double coverage80;
+}
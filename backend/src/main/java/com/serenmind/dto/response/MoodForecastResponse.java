@@ -0,0 +1,50 @@
+package com.serenmind.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for the "your next week" mood forecast.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MoodForecastResponse {
+
+    /**
+     * Forecast points, one per upcoming day.
+     */
+    private List<ForecastPoint> points;
+
+    /**
+     * Smoothed mood level and daily trend at the last observation.
+     */
+    private Double level;
+    private Double trend;
+
+    /**
+     * Number of mood entries folded into the model.
+     */
+    private Integer observations;
+
+    private LocalDate lastObservedDate;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class ForecastPoint {
+        private LocalDate date;
+        private Double predicted;
+        private Double lower80;
+        private Double upper80;
+        private Double lower95;
+        private Double upper95;
+    }
+}
@@ -0,0 +1,17 @@
+package com.serenmind.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by AiReportJobServiceImpl when a report job is queued, so a worker can claim it
+ * right after commit instead of at the next poll.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class AiReportJobQueuedEvent {
+
+    private final Long jobId;
+}
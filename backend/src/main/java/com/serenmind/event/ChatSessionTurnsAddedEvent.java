@@ -0,0 +1,17 @@
+package com.serenmind.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Published by ChatSessionServiceImpl after an exchange is stored, when the session has
+ * enough unsummarized turns to fold the older ones into its summary.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ChatSessionTurnsAddedEvent {
+
+    private final Long sessionId;
+}
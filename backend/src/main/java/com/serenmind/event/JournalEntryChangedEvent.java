@@ -0,0 +1,47 @@
+package com.serenmind.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by JournalServiceImpl whenever a journal entry is created, updated or deleted.
+ * Carries a snapshot of the entry so listeners running after commit need no extra query.
+ */
+@Getter
+@AllArgsConstructor
+@ToString(exclude = {"content", "previousContent"})
+public class JournalEntryChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final ChangeType changeType;
+    private final Long userId;
+    private final Long entryId;
+    private final String title;
+    private final String content;
+    private final String tags;
+    private final LocalDateTime createdAt;
+
+    /**
+     * Content before an update, so listeners can apply deltas; null for creates and deletes.
+     */
+    private final String previousContent;
+
+    /**
+     * When the change was made, before its transaction committed. Aggregates rebuilt from
+     * history after this time already include it.
+     */
+    private final LocalDateTime changedAt;
+
+    public JournalEntryChangedEvent(ChangeType changeType, Long userId, Long entryId, String title,
+                                    String content, String tags, LocalDateTime createdAt) {
+        this(changeType, userId, entryId, title, content, tags, createdAt, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,26 @@
+package com.serenmind.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by MoodServiceImpl whenever a mood entry is created or deleted.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class MoodEntryChangedEvent {
+
+    public enum ChangeType {
+        CREATED,
+        DELETED
+    }
+
+    private final ChangeType changeType;
+    private final Long userId;
+    private final Long entryId;
+    private final LocalDateTime timestamp;
+}
@@ -14,8 +14,9 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "ai_reports", indexes = {
-    @Index(name = "idx_user_report_type", columnList = "user_id, report_type"),
-    @Index(name = "idx_user_created", columnList = "user_id, created_at")
+    @Index(name = "idx_user_type_created", columnList = "user_id, report_type, created_at"),
+    @Index(name = "idx_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_user_fingerprint", columnList = "user_id, input_fingerprint")
 })
 @EntityListeners(AuditingEntityListener.class)
 @Getter
@@ -54,6 +55,12 @@ public class AiReport {
     @Column(name = "tokens_used")
     private Integer tokensUsed;
 
+    /**
+     * SHA-256 of the report's inputs; equal fingerprints mean the same prompt and settings.
+     */
+    @Column(name = "input_fingerprint", length = 64)
+    private String inputFingerprint;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
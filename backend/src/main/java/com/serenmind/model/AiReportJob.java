@@ -0,0 +1,84 @@
+package com.serenmind.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * A queued AI report request. Rows outlive restarts: a worker that dies mid-job leaves it
+ * RUNNING until {@code availableAt} passes, then another worker claims it again.
+ */
+@Entity
+@Table(name = "ai_report_jobs", indexes = {
+    @Index(name = "idx_status_available", columnList = "status, available_at"),
+    @Index(name = "idx_user_created", columnList = "user_id, created_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiReportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "report_type", nullable = false, length = 50)
+    private String reportType;
+
+    @Column(name = "days_to_include", nullable = false)
+    private Integer daysToInclude;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    @Builder.Default
+    private Status status = Status.QUEUED;
+
+    /**
+     * Times the job has been claimed; also identifies the current claim.
+     */
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    /**
+     * QUEUED: earliest time a worker may claim it. RUNNING: when the current claim expires.
+     */
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "report_id")
+    private Long reportId;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        SUCCEEDED,
+        FAILED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED;
+        }
+    }
+}
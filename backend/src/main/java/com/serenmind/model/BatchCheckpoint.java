@@ -0,0 +1,61 @@
+package com.serenmind.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position of a resumable batch job: the run it belongs to and the last ID processed.
+ */
+@Entity
+@Table(name = "batch_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCheckpoint {
+
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    /**
+     * Identifies the current run (e.g. its date); a different key starts over from the beginning.
+     */
+    @Column(name = "run_key", length = 32)
+    private String runKey;
+
+    @Column(name = "last_id", nullable = false)
+    @Builder.Default
+    private Long lastId = 0L;
+
+    @Column(name = "processed", nullable = false)
+    @Builder.Default
+    private Integer processed = 0;
+
+    @Column(name = "completed", nullable = false)
+    @Builder.Default
+    private Boolean completed = false;
+
+    /**
+     * Earliest time the next chunk may be taken (rate limit shared by all instances).
+     */
+    @Column(name = "next_run_at")
+    private LocalDateTime nextRunAt;
+
+    @Column(name = "updated_at", insertable = false, updatable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Start a new run from the first ID.
+     */
+    public void restart(String runKey) {
+        this.runKey = runKey;
+        this.lastId = 0L;
+        this.processed = 0;
+        this.completed = false;
+        this.nextRunAt = null;
+    }
+}
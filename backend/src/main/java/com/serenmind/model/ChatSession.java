@@ -0,0 +1,60 @@
+package com.serenmind.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * A server-side AI chat conversation. Older turns are folded into {@code summary} in the
+ * background so the prompt stays bounded however long the conversation gets.
+ */
+@Entity
+@Table(name = "chat_sessions", indexes = {
+    @Index(name = "idx_user_updated", columnList = "user_id, updated_at")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatSession {
+
+    public static final int TITLE_LENGTH = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "title", nullable = false, length = TITLE_LENGTH)
+    private String title;
+
+    @Column(name = "summary", columnDefinition = "TEXT")
+    private String summary;
+
+    /**
+     * Highest turn ID already folded into the summary; 0 if none.
+     */
+    @Builder.Default
+    @Column(name = "summarized_through_turn_id", nullable = false)
+    private Long summarizedThroughTurnId = 0L;
+
+    @Builder.Default
+    @Column(name = "turn_count", nullable = false)
+    private Integer turnCount = 0;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,44 @@
+package com.serenmind.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * One message of a chat session: the user's message or the assistant's reply text.
+ */
+@Entity
+@Table(name = "chat_turns", indexes = {
+    @Index(name = "idx_session_id", columnList = "session_id, id")
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatTurn {
+
+    public static final String USER = "user";
+    public static final String ASSISTANT = "assistant";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @Column(name = "role", nullable = false, length = 16)
+    private String role; // USER or ASSISTANT
+
+    @Column(name = "content", columnDefinition = "TEXT", nullable = false)
+    private String content;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
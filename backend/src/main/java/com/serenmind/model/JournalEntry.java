@@ -1,24 +1,30 @@
 package com.serenmind.model;
 
+import com.serenmind.model.converter.CompressedTextConverter;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * JournalEntry entity for user journal/diary entries.
  */
 @Entity
 @Table(name = "journal_entries", indexes = {
-    @Index(name = "idx_user_created", columnList = "user_id, created_at")
+    @Index(name = "idx_user_created", columnList = "user_id, created_at"),
+    @Index(name = "idx_user_month_day", columnList = "user_id, month_day")
 })
 @EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate // Autosaves only rewrite the columns that changed
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,6 +32,8 @@ import java.time.LocalDateTime;
 @Builder
 public class JournalEntry {
 
+    public static final int SNIPPET_LENGTH = 200;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -40,12 +48,22 @@ public class JournalEntry {
     @Column(name = "title", nullable = false)
     private String title;
 
-    @NotBlank
-    @Column(name = "content", columnDefinition = "TEXT", nullable = false)
-    private String content;
+    @Column(name = "content", columnDefinition = "TEXT")
+    private String content; // Plain text; null once the entry is stored compressed
+
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(name = "content_compressed", columnDefinition = "MEDIUMBLOB")
+    private String compressedContent;
+
+    @Column(name = "snippet", length = SNIPPET_LENGTH)
+    private String snippet; // Whitespace-collapsed preview of content for list views
 
     @Column(name = "tags", length = 500)
-    private String tags; // Comma-separated tags
+    private String tags; // Comma-separated tags, kept for display
+
+    @OneToMany(mappedBy = "journalEntry", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private Set<JournalTag> tagLinks = new HashSet<>();
 
     @Column(name = "is_favorite")
     @Builder.Default
@@ -55,6 +73,22 @@ public class JournalEntry {
     @Builder.Default
     private Boolean isPrivate = true;
 
+    @Column(name = "sentiment_score")
+    private Double sentimentScore; // -1 (negative) .. 1 (positive), null until analyzed
+
+    @Column(name = "emotion_tags", length = 100)
+    private String emotionTags; // Comma-separated, strongest first
+
+    @Column(name = "sentiment_content_hash", length = 64)
+    private String sentimentContentHash;
+
+    @Column(name = "sentiment_analyzed_at")
+    private LocalDateTime sentimentAnalyzedAt;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -62,5 +96,40 @@ public class JournalEntry {
     @LastModifiedDate
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
-}
 
+    @Column(name = "month_day", insertable = false, updatable = false)
+    private Integer monthDay; // Generated by MySQL from created_at: month * 100 + day
+
+    /**
+     * The entry text, whichever column it is stored in.
+     */
+    public String getContent() {
+        return compressedContent != null ? compressedContent : content;
+    }
+
+    /**
+     * Replace the text, stored plain until {@link #compressContent()} is called.
+     */
+    public void setContent(String content) {
+        this.content = content;
+        this.compressedContent = null;
+    }
+
+    /**
+     * Move the text into the compressed BLOB column.
+     */
+    public void compressContent() {
+        if (content != null) {
+            compressedContent = content;
+            content = null;
+        }
+    }
+
+    @PrePersist
+    @PreUpdate
+    void refreshSnippet() {
+        String text = getContent();
+        String collapsed = text == null ? "" : text.trim().replaceAll("\\s+", " ");
+        snippet = collapsed.length() > SNIPPET_LENGTH ? collapsed.substring(0, SNIPPET_LENGTH) : collapsed;
+    }
+}
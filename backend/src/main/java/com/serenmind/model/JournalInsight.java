@@ -0,0 +1,58 @@
+package com.serenmind.model;
+
+import com.serenmind.model.converter.IntArrayConverter;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregated journaling stats for one user and period (a month, or all time).
+ * Updated incrementally as journal entries change.
+ */
+@Entity
+@Table(name = "journal_insights", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_user_period", columnNames = {"user_id", "period"})
+})
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JournalInsight {
+
+    public static final String ALL_TIME = "ALL";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "period", nullable = false, length = 7)
+    private String period; // 'YYYY-MM' or ALL_TIME
+
+    @Column(name = "entry_count", nullable = false)
+    private Integer entryCount;
+
+    @Column(name = "word_count", nullable = false)
+    private Long wordCount;
+
+    @Convert(converter = IntArrayConverter.class)
+    @Column(name = "hour_histogram", nullable = false, length = 200)
+    private int[] hourHistogram; // Entries by hour of day written, 0-23
+
+    @Column(name = "top_terms", columnDefinition = "TEXT", nullable = false)
+    private String topTerms; // Serialized SpaceSavingCounter
+
+    @Column(name = "changes_through")
+    private LocalDateTime changesThrough; // All-time row: journal changes made up to here are counted
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
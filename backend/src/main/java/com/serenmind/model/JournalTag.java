@@ -0,0 +1,63 @@
+package com.serenmind.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * JournalTag entity linking a journal entry to one normalized tag.
+ */
+@Entity
+@Table(name = "journal_tags", indexes = {
+    @Index(name = "idx_user_tag", columnList = "user_id, tag")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_journal_tag", columnNames = {"journal_entry_id", "tag"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JournalTag {
+
+    public static final int MAX_LENGTH = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "journal_entry_id", nullable = false)
+    private JournalEntry journalEntry;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId; // Denormalized so per-user tag lookups stay on idx_user_tag
+
+    @Column(name = "tag", nullable = false, length = MAX_LENGTH)
+    private String tag;
+
+    /**
+     * Split a comma-separated tag string into distinct normalized tags.
+     */
+    public static Set<String> normalize(String tags) {
+        Set<String> normalized = new LinkedHashSet<>();
+        if (tags == null) {
+            return normalized;
+        }
+        for (String raw : tags.split(",")) {
+            String tag = normalizeOne(raw);
+            if (!tag.isEmpty()) {
+                normalized.add(tag);
+            }
+        }
+        return normalized;
+    }
+
+    public static String normalizeOne(String tag) {
+        String normalized = tag == null ? "" : tag.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        return normalized.length() > MAX_LENGTH ? normalized.substring(0, MAX_LENGTH) : normalized;
+    }
+}
@@ -0,0 +1,52 @@
+package com.serenmind.model;
+
+import com.serenmind.model.converter.DoubleArrayConverter;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Per-user Holt-Winters smoothing state used for mood forecasting.
+ * One row per user; updated in place on every new mood entry.
+ */
+@Entity
+@Table(name = "mood_forecast_states")
+@EntityListeners(AuditingEntityListener.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MoodForecastState {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "level", nullable = false)
+    private Double level;
+
+    @Column(name = "trend", nullable = false)
+    private Double trend;
+
+    @Convert(converter = DoubleArrayConverter.class)
+    @Column(name = "seasonals", nullable = false, length = 100)
+    private double[] seasonals; // Weekly season, indexed Monday = 0
+
+    @Column(name = "residual_variance", nullable = false)
+    private Double residualVariance;
+
+    @Column(name = "observations", nullable = false)
+    private Integer observations;
+
+    @Column(name = "last_observed_date", nullable = false)
+    private LocalDate lastObservedDate;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
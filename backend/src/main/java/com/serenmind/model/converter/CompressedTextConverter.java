@@ -0,0 +1,153 @@
+package com.serenmind.model.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Stores text as a compressed BLOB behind a small format header:
+ * <pre>
+ * magic "SC" (2) | codec (1) | dictionary id (1) | uncompressed length (4) | payload
+ * </pre>
+ * Codec 1 is raw Deflate primed with a preset dictionary of common journal phrases, which
+ * pays off even for short entries. Text that does not shrink is stored as codec 0 (plain UTF-8).
+ * Dictionaries are never edited in place; a new one gets a new id so old rows stay readable.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    static final byte MAGIC_0 = 'S';
+    static final byte MAGIC_1 = 'C';
+    static final byte CODEC_STORED = 0;
+    static final byte CODEC_DEFLATE = 1;
+    static final byte DICTIONARY_JOURNAL_V1 = 1;
+    static final int HEADER_LENGTH = 8;
+
+    private static final int LEVEL = Deflater.BEST_SPEED;
+
+    /**
+     * Preset dictionary v1. Deflate favours the closest matches, so the most common
+     * phrases sit at the end. A text block keeps the bytes independent of checkout line endings.
+     */
+    private static final byte[] JOURNAL_V1 = """
+            meditation breathing exercise yoga therapy therapist session appointment medication doctor
+            counselor journal journaling gratitude list affirmation mindfulness practice routine habit
+            sleep insomnia nightmare dream woke up early late tired exhausted energy coffee breakfast
+            lunch dinner cooked walked outside park nature weather rain sunny cold warm morning evening
+            weekend holiday vacation birthday family mom dad brother sister partner boyfriend girlfriend
+            husband wife friend friends colleague boss manager team meeting deadline project presentation
+            exam test study class school college university homework assignment interview job work office
+            anxious anxiety stressed stress overwhelmed worried nervous panic attack scared afraid fear
+            sad sadness lonely alone depressed depression empty numb hopeless crying cried tears hurt
+            angry frustrated annoyed irritated upset disappointed guilty ashamed embarrassed jealous
+            happy happiness joy excited grateful thankful proud calm peaceful relaxed content hopeful
+            motivated productive accomplished confident loved supported better worse okay fine good bad
+            I don't know why I feel like I need to I want to I wish I could I realized that I noticed that
+            I'm trying to I'm not sure I'm so I'm really I'm feeling I've been I was I had I have
+            it was a good day it was a bad day it was a long day today was today I felt today I
+            I felt really I feel really I feel so I feel a bit I feel like I am feeling
+            tomorrow I will tomorrow I want to I hope that I think that I think I should
+            because of the fact that and then I went to and I was able to but I couldn't
+            a lot of a little bit of at the same time for the first time in a long time
+            all day all week this morning this afternoon this evening tonight last night yesterday
+            I talked to my I spent time with my I went for a walk I went to the gym I had a
+            I'm grateful for I am grateful for three things I'm grateful for today
+            What went well today What I learned today How I feel right now
+            """.getBytes(StandardCharsets.UTF_8);
+
+    @Override
+    public byte[] convertToDatabaseColumn(String text) {
+        return text == null ? null : compress(text);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] column) {
+        return column == null ? null : decompress(column);
+    }
+
+    public static byte[] compress(String text) {
+        byte[] raw = text.getBytes(StandardCharsets.UTF_8);
+
+        Deflater deflater = new Deflater(LEVEL, true);
+        try {
+            deflater.setDictionary(JOURNAL_V1);
+            deflater.setInput(raw);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + HEADER_LENGTH);
+            out.writeBytes(header(CODEC_DEFLATE, DICTIONARY_JOURNAL_V1, raw.length));
+            byte[] buffer = new byte[Math.max(64, Math.min(raw.length, 8192))];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buffer);
+                out.write(buffer, 0, n);
+            }
+            if (out.size() < raw.length + HEADER_LENGTH) {
+                return out.toByteArray();
+            }
+        } finally {
+            deflater.end();
+        }
+
+        return ByteBuffer.allocate(HEADER_LENGTH + raw.length)
+                .put(header(CODEC_STORED, (byte) 0, raw.length))
+                .put(raw)
+                .array();
+    }
+
+    public static String decompress(byte[] column) {
+        if (column.length < HEADER_LENGTH || column[0] != MAGIC_0 || column[1] != MAGIC_1) {
+            // Not written by this converter (e.g. copied in by hand); treat as plain UTF-8
+            return new String(column, StandardCharsets.UTF_8);
+        }
+
+        byte codec = column[2];
+        byte dictionary = column[3];
+        int length = ByteBuffer.wrap(column, 4, 4).getInt();
+
+        if (codec == CODEC_STORED) {
+            return new String(column, HEADER_LENGTH, column.length - HEADER_LENGTH, StandardCharsets.UTF_8);
+        }
+        if (codec != CODEC_DEFLATE) {
+            throw new IllegalStateException("Unknown compression codec: " + codec);
+        }
+
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setDictionary(dictionary(dictionary));
+            inflater.setInput(column, HEADER_LENGTH, column.length - HEADER_LENGTH);
+            byte[] raw = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(raw, read, length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.finished())) {
+                    throw new IllegalStateException("Truncated compressed text");
+                }
+                read += n;
+            }
+            return new String(raw, StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt compressed text", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static byte[] header(byte codec, byte dictionary, int length) {
+        return ByteBuffer.allocate(HEADER_LENGTH)
+                .put(MAGIC_0).put(MAGIC_1).put(codec).put(dictionary).putInt(length)
+                .array();
+    }
+
+    private static byte[] dictionary(byte id) {
+        if (id == DICTIONARY_JOURNAL_V1) {
+            return JOURNAL_V1;
+        }
+        throw new IllegalStateException("Unknown compression dictionary: " + id);
+    }
+}
@@ -0,0 +1,35 @@
+package com.serenmind.model.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Stores a small double array as a comma-separated string with fixed precision.
+ */
+@Converter
+public class DoubleArrayConverter implements AttributeConverter<double[], String> {
+
+    @Override
+    public String convertToDatabaseColumn(double[] values) {
+        if (values == null) {
+            return null;
+        }
+        return Arrays.stream(values)
+                .mapToObj(v -> String.format(Locale.ROOT, "%.4f", v))
+                .collect(Collectors.joining(","));
+    }
+
+    @Override
+    public double[] convertToEntityAttribute(String column) {
+        if (column == null || column.isBlank()) {
+            return null;
+        }
+        return Arrays.stream(column.split(","))
+                .mapToDouble(s -> Double.parseDouble(s.trim()))
+                .toArray();
+    }
+}
@@ -0,0 +1,34 @@
+package com.serenmind.model.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Stores a small int array (e.g. a histogram) as a comma-separated string.
+ */
+@Converter
+public class IntArrayConverter implements AttributeConverter<int[], String> {
+
+    @Override
+    public String convertToDatabaseColumn(int[] values) {
+        if (values == null) {
+            return null;
+        }
+        return Arrays.stream(values)
+                .mapToObj(Integer::toString)
+                .collect(Collectors.joining(","));
+    }
+
+    @Override
+    public int[] convertToEntityAttribute(String column) {
+        if (column == null || column.isBlank()) {
+            return null;
+        }
+        return Arrays.stream(column.split(","))
+                .mapToInt(s -> Integer.parseInt(s.trim()))
+                .toArray();
+    }
+}
@@ -0,0 +1,207 @@
+package com.serenmind.profiling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures how long each JDBC connection stays checked out, how much of that time is spent
+ * executing statements, and whether outbound HTTP happened while it was held. Holds are
+ * attributed to the Spring transaction that used the connection (the {@code @Transactional}
+ * method name), or {@code none} outside one.
+ * <p>
+ * Meters {@code db.connection.held} and {@code db.connection.busy} (histograms, tagged by
+ * transaction and remote_io). Holds longer than the threshold, and any hold spanning an
+ * outbound HTTP call, are logged as warnings: a connection waiting on a remote service is
+ * unavailable to every other request for that long.
+ */
+@Component
+@Slf4j
+public class ConnectionHoldProfiler {
+
+    private static final String NO_TRANSACTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final long warnNanos;
+    private final ThreadLocal<Deque<Hold>> openHolds = ThreadLocal.withInitial(ConcurrentLinkedDeque::new);
+
+    public ConnectionHoldProfiler(
+            MeterRegistry meterRegistry,
+            @Value("${app.profiling.connection-hold.warn-ms:500}") long warnMs) {
+        this.meterRegistry = meterRegistry;
+        this.warnNanos = TimeUnit.MILLISECONDS.toNanos(warnMs);
+    }
+
+    /**
+     * Start tracking a connection just checked out of the pool; the hold ends when the
+     * returned connection is closed.
+     */
+    public Connection track(Connection connection) {
+        Deque<Hold> holds = openHolds.get();
+        Hold hold = new Hold(holds, System.nanoTime());
+        holds.push(hold);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection, hold));
+    }
+
+    /**
+     * Note an outbound remote call made on this thread. Every connection the thread holds
+     * right now is flagged.
+     */
+    public void markRemoteCall() {
+        for (Hold hold : openHolds.get()) {
+            hold.remoteCalls++;
+            hold.nameFromTransaction();
+        }
+    }
+
+    /**
+     * WebClient filter that reports each request to {@link #markRemoteCall}. The filter runs
+     * on the subscribing thread, which for a blocking call is the one holding the connection.
+     */
+    public ExchangeFilterFunction remoteCallFilter() {
+        return (request, next) -> {
+            markRemoteCall();
+            return next.exchange(request);
+        };
+    }
+
+    private void release(Hold hold) {
+        long heldNanos = System.nanoTime() - hold.acquiredAt;
+        hold.owner.remove(hold);
+
+        String transaction = hold.transaction != null ? hold.transaction : NO_TRANSACTION;
+        boolean remote = hold.remoteCalls > 0;
+        String remoteTag = Boolean.toString(remote);
+        Timer.builder("db.connection.held")
+                .description("Time a JDBC connection stayed checked out of the pool")
+                .tag("transaction", transaction)
+                .tag("remote_io", remoteTag)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(heldNanos, TimeUnit.NANOSECONDS);
+        Timer.builder("db.connection.busy")
+                .description("Part of the hold spent executing statements")
+                .tag("transaction", transaction)
+                .tag("remote_io", remoteTag)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(hold.dbNanos, TimeUnit.NANOSECONDS);
+
+        if (remote || heldNanos >= warnNanos) {
+            log.warn("Connection held {}ms by {}: {}ms in {} statements{}",
+                    TimeUnit.NANOSECONDS.toMillis(heldNanos), transaction,
+                    TimeUnit.NANOSECONDS.toMillis(hold.dbNanos), hold.statements,
+                    remote ? ", " + hold.remoteCalls + " outbound HTTP call(s) while held" : "");
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * One checkout of a connection. Fields are only touched by the thread using it.
+     */
+    private static final class Hold {
+
+        private final Deque<Hold> owner;
+        private final long acquiredAt;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private long dbNanos;
+        private int statements;
+        private int remoteCalls;
+        private String transaction;
+
+        private Hold(Deque<Hold> owner, long acquiredAt) {
+            this.owner = owner;
+            this.acquiredAt = acquiredAt;
+        }
+
+        /**
+         * The connection is acquired before the transaction is registered, so the name is
+         * picked up on first use instead.
+         */
+        private void nameFromTransaction() {
+            if (transaction == null) {
+                transaction = TransactionSynchronizationManager.getCurrentTransactionName();
+            }
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final Hold hold;
+
+        private ConnectionHandler(Connection target, Hold hold) {
+            this.target = target;
+            this.hold = hold;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if ("close".equals(name)) {
+                try {
+                    return ConnectionHoldProfiler.invoke(target, method, args);
+                } finally {
+                    if (hold.released.compareAndSet(false, true)) {
+                        release(hold);
+                    }
+                }
+            }
+            Object result = ConnectionHoldProfiler.invoke(target, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[]{method.getReturnType()}, new StatementHandler(statement, hold));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Hold hold;
+
+        private StatementHandler(Statement target, Hold hold) {
+            this.target = target;
+            this.hold = hold;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return ConnectionHoldProfiler.invoke(target, method, args);
+            }
+            hold.nameFromTransaction();
+            long start = System.nanoTime();
+            try {
+                return ConnectionHoldProfiler.invoke(target, method, args);
+            } finally {
+                hold.dbNanos += System.nanoTime() - start;
+                hold.statements++;
+            }
+        }
+    }
+}
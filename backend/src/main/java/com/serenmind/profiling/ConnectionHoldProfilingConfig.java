@@ -0,0 +1,34 @@
+package com.serenmind.profiling;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes the application DataSource through {@link ProfilingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.profiling.connection-hold.enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionHoldProfilingConfig {
+
+    /**
+     * Static, and resolving the profiler lazily, so the post-processor does not force the
+     * meter registry to be created before the other post-processors are registered.
+     */
+    @Bean
+    public static BeanPostProcessor connectionHoldProfilingPostProcessor(ObjectProvider<ConnectionHoldProfiler> profiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProfilingDataSource)) {
+                    return new ProfilingDataSource(dataSource, profiler.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.serenmind.profiling;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Hands out connections tracked by {@link ConnectionHoldProfiler}. Extends
+ * DelegatingDataSource so pool metrics and health checks still find the pool behind it.
+ */
+public class ProfilingDataSource extends DelegatingDataSource {
+
+    private final ConnectionHoldProfiler profiler;
+
+    public ProfilingDataSource(DataSource target, ConnectionHoldProfiler profiler) {
+        super(target);
+        this.profiler = profiler;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profiler.track(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return profiler.track(obtainTargetDataSource().getConnection(username, password));
+    }
+}
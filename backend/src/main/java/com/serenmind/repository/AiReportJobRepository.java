@@ -0,0 +1,68 @@
+package com.serenmind.repository;
+
+import com.serenmind.model.AiReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AiReportJobRepository extends JpaRepository<AiReportJob, Long> {
+
+    Optional<AiReportJob> findByIdAndUserId(Long id, Long userId);
+
+    /**
+     * Lock up to {@code limit} claimable jobs, oldest first: queued ones that are due and
+     * running ones whose claim expired. Rows locked by another worker are skipped rather
+     * than waited for. Must run in a transaction that then marks them claimed.
+     */
+    @Query(value = "SELECT id FROM ai_report_jobs " +
+                   "WHERE status IN ('QUEUED', 'RUNNING') AND available_at <= :now " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockClaimable(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE AiReportJob j SET j.status = com.serenmind.model.AiReportJob.Status.RUNNING, " +
+           "j.attempts = j.attempts + 1, j.startedAt = :now, j.availableAt = :leaseUntil WHERE j.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * Record the report for a claim that is still current.
+     *
+     * @return 0 if the claim expired and the job was taken over meanwhile
+     */
+    @Modifying
+    @Query("UPDATE AiReportJob j SET j.status = com.serenmind.model.AiReportJob.Status.SUCCEEDED, " +
+           "j.reportId = :reportId, j.errorMessage = NULL, j.finishedAt = :now " +
+           "WHERE j.id = :id AND j.attempts = :attempt " +
+           "AND j.status = com.serenmind.model.AiReportJob.Status.RUNNING")
+    int markSucceeded(@Param("id") Long id, @Param("attempt") int attempt,
+                      @Param("reportId") Long reportId, @Param("now") LocalDateTime now);
+
+    /**
+     * Put a failed claim back in the queue until {@code availableAt}.
+     */
+    @Modifying
+    @Query("UPDATE AiReportJob j SET j.status = com.serenmind.model.AiReportJob.Status.QUEUED, " +
+           "j.errorMessage = :error, j.availableAt = :availableAt " +
+           "WHERE j.id = :id AND j.attempts = :attempt " +
+           "AND j.status = com.serenmind.model.AiReportJob.Status.RUNNING")
+    int requeue(@Param("id") Long id, @Param("attempt") int attempt,
+                @Param("error") String error, @Param("availableAt") LocalDateTime availableAt);
+
+    @Modifying
+    @Query("UPDATE AiReportJob j SET j.status = com.serenmind.model.AiReportJob.Status.FAILED, " +
+           "j.errorMessage = :error, j.finishedAt = :now " +
+           "WHERE j.id = :id AND j.attempts = :attempt " +
+           "AND j.status = com.serenmind.model.AiReportJob.Status.RUNNING")
+    int markFailed(@Param("id") Long id, @Param("attempt") int attempt,
+                   @Param("error") String error, @Param("now") LocalDateTime now);
+}
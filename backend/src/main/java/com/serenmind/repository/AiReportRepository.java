@@ -4,7 +4,9 @@ import com.serenmind.model.AiReport;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AiReportRepository extends JpaRepository<AiReport, Long> {
@@ -12,5 +14,18 @@ public interface AiReportRepository extends JpaRepository<AiReport, Long> {
     List<AiReport> findByUserIdOrderByCreatedAtDesc(Long userId);
 
     List<AiReport> findByUserIdAndReportTypeOrderByCreatedAtDesc(Long userId, String reportType);
+
+    /**
+     * Most recent report generated from identical inputs since the given time.
+     */
+    Optional<AiReport> findFirstByUserIdAndInputFingerprintAndCreatedAtAfterOrderByCreatedAtDesc(
+            Long userId, String inputFingerprint, LocalDateTime createdAfter);
+
+    /**
+     * Most recent report of a type since the given time, excluding reports from the given model
+     * (such as the local fallback).
+     */
+    Optional<AiReport> findFirstByUserIdAndReportTypeAndModelUsedNotAndCreatedAtAfterOrderByCreatedAtDesc(
+            Long userId, String reportType, String excludedModel, LocalDateTime createdAfter);
 }
 
@@ -0,0 +1,39 @@
+package com.serenmind.repository;
+
+import com.serenmind.model.ChatSession;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChatSessionRepository extends JpaRepository<ChatSession, Long> {
+
+    Optional<ChatSession> findByIdAndUserId(Long id, Long userId);
+
+    List<ChatSession> findByUserIdOrderByUpdatedAtDesc(Long userId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ChatSession s SET s.turnCount = s.turnCount + :turns, s.updatedAt = :now WHERE s.id = :id")
+    int addTurns(@Param("id") Long id, @Param("turns") int turns, @Param("now") LocalDateTime now);
+
+    /**
+     * Store a new running summary, unless another summarization moved the boundary first.
+     *
+     * @return 1 if stored, 0 if the session changed or was deleted meanwhile
+     */
+    @Modifying
+    @Query("UPDATE ChatSession s SET s.summary = :summary, s.summarizedThroughTurnId = :throughTurnId " +
+           "WHERE s.id = :id AND s.summarizedThroughTurnId = :previousThroughTurnId")
+    int updateSummary(
+            @Param("id") Long id,
+            @Param("previousThroughTurnId") Long previousThroughTurnId,
+            @Param("throughTurnId") Long throughTurnId,
+            @Param("summary") String summary);
+}
@@ -0,0 +1,24 @@
+package com.serenmind.repository;
+
+import com.serenmind.model.ChatTurn;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ChatTurnRepository extends JpaRepository<ChatTurn, Long> {
+
+    /**
+     * Newest turns first; used for the verbatim part of the prompt and for resuming.
+     */
+    List<ChatTurn> findBySessionIdOrderByIdDesc(Long sessionId, Pageable pageable);
+
+    /**
+     * Turns not yet folded into the summary, oldest first.
+     */
+    List<ChatTurn> findBySessionIdAndIdGreaterThanOrderByIdAsc(Long sessionId, Long afterId);
+
+    long countBySessionIdAndIdGreaterThan(Long sessionId, Long afterId);
+}
@@ -2,10 +2,17 @@ package com.serenmind.repository;
 
 import com.serenmind.model.JournalEntry;
 import com.serenmind.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -17,6 +24,157 @@ public interface JournalEntryRepository extends JpaRepository<JournalEntry, Long
 
     List<JournalEntry> findByUserIdAndIsFavoriteTrueOrderByCreatedAtDesc(Long userId);
 
-    List<JournalEntry> findByUserIdAndTagsContainingOrderByCreatedAtDesc(Long userId, String tag);
-}
+    /**
+     * First page of the journal list, newest first, without touching the content column.
+     */
+    @Query("SELECT j.id AS id, j.title AS title, j.snippet AS snippet, j.tags AS tags, " +
+           "j.isFavorite AS isFavorite, j.isPrivate AS isPrivate, j.createdAt AS createdAt " +
+           "FROM JournalEntry j WHERE j.user.id = :userId " +
+           "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JournalSummaryRow> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Next page strictly after the (createdAt, id) keyset position; walks idx_user_created.
+     */
+    @Query("SELECT j.id AS id, j.title AS title, j.snippet AS snippet, j.tags AS tags, " +
+           "j.isFavorite AS isFavorite, j.isPrivate AS isPrivate, j.createdAt AS createdAt " +
+           "FROM JournalEntry j WHERE j.user.id = :userId " +
+           "AND (j.createdAt < :createdAt OR (j.createdAt = :createdAt AND j.id < :id)) " +
+           "ORDER BY j.createdAt DESC, j.id DESC")
+    List<JournalSummaryRow> findSummariesByUserIdBefore(
+        @Param("userId") Long userId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    /**
+     * Newest entries created after the given time, for AI prompts: a bounded range read on
+     * idx_user_created that returns the stored snippet instead of the full content.
+     */
+    @Query("SELECT j.id AS id, j.title AS title, j.snippet AS snippet, j.tags AS tags, " +
+           "j.isFavorite AS isFavorite, j.isPrivate AS isPrivate, j.createdAt AS createdAt " +
+           "FROM JournalEntry j WHERE j.user.id = :userId AND j.createdAt > :since " +
+           "ORDER BY j.createdAt DESC")
+    List<JournalSummaryRow> findRecentSummaries(
+        @Param("userId") Long userId,
+        @Param("since") LocalDateTime since,
+        Pageable pageable
+    );
+
+    /**
+     * Entries written on the given calendar days (month * 100 + day) before a cut-off,
+     * answered from idx_user_month_day.
+     */
+    @Query("SELECT j.id AS id, j.title AS title, j.snippet AS snippet, j.tags AS tags, " +
+           "j.isFavorite AS isFavorite, j.isPrivate AS isPrivate, j.createdAt AS createdAt " +
+           "FROM JournalEntry j WHERE j.user.id = :userId AND j.monthDay IN :monthDays " +
+           "AND j.createdAt < :before ORDER BY j.createdAt DESC")
+    List<JournalSummaryRow> findSummariesByMonthDay(
+        @Param("userId") Long userId,
+        @Param("monthDays") List<Integer> monthDays,
+        @Param("before") LocalDateTime before,
+        Pageable pageable
+    );
+
+    /**
+     * Exact tag match through the journal_tags junction (idx_user_tag).
+     */
+    @Query("SELECT j FROM JournalEntry j JOIN j.tagLinks t " +
+           "WHERE t.userId = :userId AND t.tag = :tag ORDER BY j.createdAt DESC")
+    List<JournalEntry> findByUserIdAndTag(@Param("userId") Long userId, @Param("tag") String tag);
+
+    /**
+     * Keyset-ordered scan over all entries, used to rebuild the search index.
+     */
+    List<JournalEntry> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<JournalEntry> findByIdGreaterThanAndUpdatedAtAfterOrderByIdAsc(Long id, LocalDateTime since, Pageable pageable);
+
+    /**
+     * The given IDs that still exist, used to drop deleted entries from the search index.
+     */
+    @Query("SELECT j.id FROM JournalEntry j WHERE j.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Next batch of entries still stored as plain text, locked until the batch is compressed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j.id AS id, j.content AS content FROM JournalEntry j " +
+           "WHERE j.id > :afterId AND j.content IS NOT NULL ORDER BY j.id")
+    List<PlainContentRow> findPlainContentForUpdate(@Param("afterId") Long afterId, Pageable pageable);
 
+    /**
+     * Swap one row to compressed storage without touching updated_at.
+     */
+    @Modifying
+    @Query(value = "UPDATE journal_entries SET content_compressed = :compressed, content = NULL, " +
+                   "updated_at = updated_at WHERE id = :id",
+           nativeQuery = true)
+    int storeCompressedContent(@Param("id") Long id, @Param("compressed") byte[] compressed);
+
+    /**
+     * Store sentiment only if the entry is still at the analyzed version. A bulk update,
+     * so neither version nor updated_at move and editors see no conflict.
+     */
+    @Modifying
+    @Query("UPDATE JournalEntry j SET j.sentimentScore = :score, j.emotionTags = :emotions, " +
+           "j.sentimentContentHash = :hash, j.sentimentAnalyzedAt = :analyzedAt " +
+           "WHERE j.id = :id AND j.version = :version")
+    int updateSentiment(
+        @Param("id") Long id,
+        @Param("version") Long version,
+        @Param("score") Double score,
+        @Param("emotions") String emotions,
+        @Param("hash") String hash,
+        @Param("analyzedAt") LocalDateTime analyzedAt
+    );
+
+    @Modifying
+    @Query("UPDATE JournalEntry j SET j.sentimentAnalyzedAt = :analyzedAt WHERE j.id = :id AND j.version = :version")
+    int markSentimentCurrent(
+        @Param("id") Long id,
+        @Param("version") Long version,
+        @Param("analyzedAt") LocalDateTime analyzedAt
+    );
+
+    /**
+     * Entries never analyzed or changed since their last analysis, for the backfill job.
+     */
+    @Query("SELECT j.id FROM JournalEntry j WHERE j.id > :afterId " +
+           "AND (j.sentimentAnalyzedAt IS NULL OR j.sentimentAnalyzedAt < j.updatedAt) ORDER BY j.id")
+    List<Long> findIdsNeedingSentiment(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Relevance-ranked search over the idx_title_content FULLTEXT index (MySQL only).
+     */
+    @Query(value = "SELECT j.id AS id, j.title AS title, COALESCE(j.content, j.snippet) AS content, j.tags AS tags, " +
+                   "j.created_at AS createdAt, " +
+                   "MATCH(j.title, j.content) AGAINST (:query IN NATURAL LANGUAGE MODE) AS score " +
+                   "FROM journal_entries j " +
+                   "WHERE j.user_id = :userId " +
+                   "AND MATCH(j.title, j.content) AGAINST (:query IN NATURAL LANGUAGE MODE) " +
+                   "ORDER BY score DESC, j.created_at DESC " +
+                   "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<JournalSearchRow> searchFullText(
+        @Param("userId") Long userId,
+        @Param("query") String query,
+        @Param("limit") int limit,
+        @Param("offset") int offset
+    );
+
+    @Query(value = "SELECT COUNT(*) FROM journal_entries j " +
+                   "WHERE j.user_id = :userId " +
+                   "AND MATCH(j.title, j.content) AGAINST (:query IN NATURAL LANGUAGE MODE)",
+           nativeQuery = true)
+    long countFullText(@Param("userId") Long userId, @Param("query") String query);
+
+    interface PlainContentRow {
+
+        Long getId();
+
+        String getContent();
+    }
+}
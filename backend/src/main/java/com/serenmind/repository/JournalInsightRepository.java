@@ -0,0 +1,56 @@
+package com.serenmind.repository;
+
+import com.serenmind.model.JournalInsight;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface JournalInsightRepository extends JpaRepository<JournalInsight, Long> {
+
+    Optional<JournalInsight> findByUserIdAndPeriod(Long userId, String period);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM JournalInsight i WHERE i.userId = :userId AND i.period = :period")
+    Optional<JournalInsight> findByUserIdAndPeriodForUpdate(@Param("userId") Long userId, @Param("period") String period);
+
+    /**
+     * Users whose all-time row was built from history before the given time, oldest first.
+     */
+    @Query("SELECT i.userId FROM JournalInsight i WHERE i.period = :period " +
+           "AND (i.changesThrough IS NULL OR i.changesThrough < :before) ORDER BY i.changesThrough")
+    List<Long> findUserIdsBuiltBefore(@Param("period") String period, @Param("before") LocalDateTime before,
+                                      Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM JournalInsight i WHERE i.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM JournalInsight i WHERE i.userId = :userId AND i.period <> :keep")
+    void deleteByUserIdAndPeriodNot(@Param("userId") Long userId, @Param("keep") String keep);
+
+    /**
+     * Insert an empty row for the period unless one exists. Returns 0 when another row won,
+     * after waiting for the transaction that inserted it.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO journal_insights " +
+                   "(user_id, period, entry_count, word_count, hour_histogram, top_terms) " +
+                   "VALUES (:userId, :period, 0, 0, :hourHistogram, '')",
+           nativeQuery = true)
+    int insertEmptyIfAbsent(
+        @Param("userId") Long userId,
+        @Param("period") String period,
+        @Param("hourHistogram") String hourHistogram
+    );
+}
@@ -0,0 +1,21 @@
+package com.serenmind.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection for a ranked full-text journal search hit.
+ */
+public interface JournalSearchRow {
+
+    Long getId();
+
+    String getTitle();
+
+    String getContent();
+
+    String getTags();
+
+    LocalDateTime getCreatedAt();
+
+    Double getScore();
+}
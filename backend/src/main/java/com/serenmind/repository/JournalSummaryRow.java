@@ -0,0 +1,23 @@
+package com.serenmind.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection for the journal list; deliberately excludes the content TEXT column.
+ */
+public interface JournalSummaryRow {
+
+    Long getId();
+
+    String getTitle();
+
+    String getSnippet();
+
+    String getTags();
+
+    Boolean getIsFavorite();
+
+    Boolean getIsPrivate();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,26 @@
+package com.serenmind.repository;
+
+import com.serenmind.model.JournalTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JournalTagRepository extends JpaRepository<JournalTag, Long> {
+
+    @Query("SELECT t.tag AS tag, COUNT(t) AS count FROM JournalTag t WHERE t.userId = :userId GROUP BY t.tag")
+    List<TagCountRow> countTagsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Projection for per-user tag facet counts.
+     */
+    interface TagCountRow {
+
+        String getTag();
+
+        Long getCount();
+    }
+}
@@ -2,8 +2,10 @@ package com.serenmind.repository;
 
 import com.serenmind.model.MoodEntry;
 import com.serenmind.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,6 +18,16 @@ public interface MoodEntryRepository extends JpaRepository<MoodEntry, Long> {
 
     List<MoodEntry> findByUserIdOrderByTimestampDesc(Long userId);
 
+    List<MoodEntry> findByUserIdOrderByTimestampAsc(Long userId);
+
+    /**
+     * Full history as a locking read: sees every committed entry rather than the transaction's
+     * snapshot, and waits for entries still being written.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT m FROM MoodEntry m WHERE m.user.id = :userId ORDER BY m.timestamp ASC")
+    List<MoodEntry> findByUserIdForShare(@Param("userId") Long userId);
+
     List<MoodEntry> findByUserOrderByTimestampDesc(User user, Pageable pageable);
 
     List<MoodEntry> findByUserIdAndTimestampBetweenOrderByTimestampDesc(
@@ -24,6 +36,13 @@ public interface MoodEntryRepository extends JpaRepository<MoodEntry, Long> {
         LocalDateTime endDate
     );
 
+    List<MoodEntry> findByUserIdAndTimestampBetweenOrderByTimestampDesc(
+        Long userId,
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        Pageable pageable
+    );
+
     @Query("SELECT AVG(m.moodScore) FROM MoodEntry m WHERE m.user.id = :userId " +
            "AND m.timestamp >= :startDate AND m.timestamp <= :endDate")
     Double calculateAverageMood(
@@ -0,0 +1,40 @@
+package com.serenmind.repository;
+
+import com.serenmind.model.MoodForecastState;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface MoodForecastStateRepository extends JpaRepository<MoodForecastState, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM MoodForecastState s WHERE s.userId = :userId")
+    Optional<MoodForecastState> findByUserIdForUpdate(@Param("userId") Long userId);
+
+    /**
+     * Insert the state unless the user already has one, so concurrent first reads do not
+     * collide on the primary key. Returns 0 when another row won.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO mood_forecast_states " +
+                   "(user_id, level, trend, seasonals, residual_variance, observations, last_observed_date) " +
+                   "VALUES (:userId, :level, :trend, :seasonals, :residualVariance, :observations, :lastObservedDate)",
+           nativeQuery = true)
+    int insertIfAbsent(
+        @Param("userId") Long userId,
+        @Param("level") Double level,
+        @Param("trend") Double trend,
+        @Param("seasonals") String seasonals,
+        @Param("residualVariance") Double residualVariance,
+        @Param("observations") Integer observations,
+        @Param("lastObservedDate") LocalDate lastObservedDate
+    );
+}
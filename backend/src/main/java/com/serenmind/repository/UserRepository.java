@@ -1,9 +1,14 @@
 package com.serenmind.repository;
 
 import com.serenmind.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,5 +17,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     Boolean existsByEmail(String email);
+
+    /**
+     * IDs of users with a mood or journal entry since the given time, in ID order after
+     * {@code afterId} (keyset pagination).
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id > :afterId AND (" +
+           "EXISTS (SELECT 1 FROM MoodEntry m WHERE m.user = u AND m.timestamp >= :since) OR " +
+           "EXISTS (SELECT 1 FROM JournalEntry j WHERE j.user = u AND j.createdAt >= :since)) " +
+           "ORDER BY u.id")
+    List<Long> findActiveUserIdsAfter(@Param("afterId") Long afterId, @Param("since") LocalDateTime since,
+                                      Pageable pageable);
 }
 
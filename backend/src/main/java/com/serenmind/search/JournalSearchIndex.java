@@ -0,0 +1,488 @@
+package com.serenmind.search;
+
+import com.serenmind.dto.response.JournalSearchResponse;
+import com.serenmind.event.JournalEntryChangedEvent;
+import com.serenmind.model.JournalEntry;
+import com.serenmind.repository.JournalEntryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.MultiBits;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.Bits;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Embedded Lucene index over journal entries, stored on local disk.
+ * <p>
+ * Kept near-real-time by journal change events after each commit, filtered per user
+ * at query time, and rebuilt from the database in the background when the on-disk
+ * index is missing or incomplete. Until it is ready, {@link #isReady()} returns false
+ * and callers fall back to the database.
+ */
+@Component
+@Slf4j
+public class JournalSearchIndex {
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_ID_KEY = "idKey";
+    private static final String FIELD_USER = "userId";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_TAGS = "tags";
+    private static final String FIELD_CREATED = "createdAt";
+
+    private static final Set<String> ID_FIELDS = Set.of(FIELD_ID);
+
+    private static final String COMMIT_COMPLETE = "rebuildComplete";
+    private static final String COMMIT_TIME = "committedAt";
+
+    private static final float TITLE_BOOST = 2.0f;
+    private static final float TAGS_BOOST = 1.5f;
+    private static final float FUZZY_BOOST = 0.4f;
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final int SNIPPET_LENGTH = 200;
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final TaskExecutor backgroundTaskExecutor;
+    private final boolean enabled;
+    private final Path indexDir;
+    private final boolean rebuildOnStartup;
+    private final double maxStalenessSeconds;
+
+    private final Analyzer analyzer = new EnglishAnalyzer();
+    private final Set<Long> deletedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private final Set<Long> updatedDuringRebuild = ConcurrentHashMap.newKeySet();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+    private LocalDateTime lastCommittedAt;
+
+    private volatile boolean ready;
+    private volatile boolean rebuilding;
+
+    public JournalSearchIndex(
+            JournalEntryRepository journalEntryRepository,
+            @Qualifier("backgroundTaskExecutor") TaskExecutor backgroundTaskExecutor,
+            @Value("${app.search.enabled:true}") boolean enabled,
+            @Value("${app.search.index-dir:./data/journal-index}") String indexDir,
+            @Value("${app.search.rebuild-on-startup:false}") boolean rebuildOnStartup,
+            @Value("${app.search.max-staleness-ms:500}") long maxStalenessMs) {
+        this.journalEntryRepository = journalEntryRepository;
+        this.backgroundTaskExecutor = backgroundTaskExecutor;
+        this.enabled = enabled;
+        this.indexDir = Path.of(indexDir);
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.maxStalenessSeconds = maxStalenessMs / 1000.0;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            log.info("Journal search index disabled");
+            return;
+        }
+
+        Files.createDirectories(indexDir);
+        directory = FSDirectory.open(indexDir);
+
+        Map<String, String> commitData = DirectoryReader.indexExists(directory)
+                ? SegmentInfos.readLatestCommit(directory).getUserData()
+                : Map.of();
+
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, new SearcherFactory());
+        reopenThread = new ControlledRealTimeReopenThread<>(writer, searcherManager, maxStalenessSeconds, 0.01);
+        reopenThread.setName("journal-index-reopen");
+        reopenThread.setDaemon(true);
+        reopenThread.start();
+
+        ready = "true".equals(commitData.get(COMMIT_COMPLETE)) && !rebuildOnStartup;
+        if (commitData.containsKey(COMMIT_TIME)) {
+            lastCommittedAt = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(Long.parseLong(commitData.get(COMMIT_TIME))), ZoneId.systemDefault());
+        }
+        log.info("Journal search index opened at {} ({} docs, ready = {})", indexDir, writer.getDocStats().numDocs, ready);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+        if (ready) {
+            backgroundTaskExecutor.execute(this::catchUp);
+        } else {
+            backgroundTaskExecutor.execute(this::rebuild);
+        }
+    }
+
+    /**
+     * Apply a committed journal change to the index.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJournalEntryChanged(JournalEntryChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (event.getChangeType() == JournalEntryChangedEvent.ChangeType.DELETED) {
+                if (rebuilding) {
+                    deletedDuringRebuild.add(event.getEntryId());
+                }
+                writer.deleteDocuments(idTerm(event.getEntryId()));
+            } else {
+                if (rebuilding) {
+                    updatedDuringRebuild.add(event.getEntryId());
+                }
+                writer.updateDocument(idTerm(event.getEntryId()), toDocument(event.getEntryId(), event.getUserId(),
+                        event.getTitle(), event.getContent(), event.getTags(), event.getCreatedAt()));
+            }
+        } catch (IOException e) {
+            log.error("Failed to index journal entry ID: {}", event.getEntryId(), e);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Make every applied change visible to searches now instead of within the staleness window.
+     */
+    public void refresh() throws IOException {
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    /**
+     * Relevance-ranked search within one user's entries. Query words are stemmed,
+     * and longer words also match with one edit of typo tolerance.
+     */
+    public JournalSearchResponse search(Long userId, String queryText, int page, int size) throws IOException {
+        List<String> analyzedTerms = analyze(queryText);
+        List<String> highlightTerms = new ArrayList<>(new LinkedHashSet<>(SnippetHighlighter.terms(queryText)));
+        analyzedTerms.stream().filter(t -> !highlightTerms.contains(t)).forEach(highlightTerms::add);
+
+        if (analyzedTerms.isEmpty()) {
+            return JournalSearchResponse.builder().totalHits(0L).hits(List.of()).build();
+        }
+
+        Query query = buildQuery(userId, analyzedTerms);
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            // Deep pages are cut off rather than collecting an unbounded number of hits
+            TopDocs topDocs = searcher.search(query, (int) Math.min(((long) page + 1) * size, MAX_RESULT_WINDOW));
+            long total = topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                    ? topDocs.totalHits.value
+                    : searcher.count(query);
+
+            List<JournalSearchResponse.Hit> hits = new ArrayList<>();
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            for (int i = (int) Math.min((long) page * size, scoreDocs.length); i < scoreDocs.length; i++) {
+                Document doc = searcher.storedFields().document(scoreDocs[i].doc);
+                hits.add(JournalSearchResponse.Hit.builder()
+                        .id(doc.getField(FIELD_ID).numericValue().longValue())
+                        .title(doc.get(FIELD_TITLE))
+                        .highlightedTitle(SnippetHighlighter.highlight(doc.get(FIELD_TITLE), highlightTerms))
+                        .snippet(SnippetHighlighter.snippet(doc.get(FIELD_CONTENT), highlightTerms, SNIPPET_LENGTH))
+                        .tags(doc.get(FIELD_TAGS))
+                        .score((double) scoreDocs[i].score)
+                        .createdAt(LocalDateTime.ofEpochSecond(
+                                doc.getField(FIELD_CREATED).numericValue().longValue(), 0, ZoneOffset.UTC))
+                        .build());
+            }
+
+            return JournalSearchResponse.builder()
+                    .totalHits(total)
+                    .hits(hits)
+                    .build();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Re-read every journal entry from the database into the index.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        ready = false;
+        rebuilding = true;
+        deletedDuringRebuild.clear();
+        updatedDuringRebuild.clear();
+        long started = System.currentTimeMillis();
+        log.info("Rebuilding journal search index from database");
+
+        try {
+            writer.deleteAll();
+            long indexed = reindex(null);
+
+            // A batch read before a concurrent update committed may have overwritten the
+            // fresher document written by its event, so re-read those entries
+            Set<Long> updated;
+            while (!(updated = drain(updatedDuringRebuild)).isEmpty()) {
+                reindexEntries(updated);
+            }
+            for (Long deletedId : deletedDuringRebuild) {
+                writer.deleteDocuments(idTerm(deletedId));
+            }
+            commit(true);
+            refresh();
+            ready = true;
+            log.info("Journal search index rebuilt: {} entries in {}ms", indexed, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("Journal search index rebuild failed, search stays on the database", e);
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    /**
+     * Re-apply entries changed since the last durable commit, covering writes that
+     * were only in memory when the previous process stopped, and drop indexed entries
+     * that no longer exist in the database.
+     */
+    private void catchUp() {
+        if (lastCommittedAt == null) {
+            return;
+        }
+        try {
+            long indexed = reindex(lastCommittedAt.minusMinutes(1));
+            long removed = removeDeleted();
+            if (indexed > 0 || removed > 0) {
+                log.info("Journal search index caught up {} entries changed and {} deleted since {}",
+                        indexed, removed, lastCommittedAt);
+            }
+        } catch (IOException e) {
+            log.error("Journal search index catch-up failed", e);
+        }
+    }
+
+    /**
+     * Diff the indexed entry IDs against the table in batches. An entry is only indexed
+     * after its insert commits, so an indexed ID missing from the table was deleted.
+     */
+    private long removeDeleted() throws IOException {
+        long removed = 0;
+        try (DirectoryReader reader = DirectoryReader.open(writer)) {
+            Bits liveDocs = MultiBits.getLiveDocs(reader);
+            StoredFields storedFields = reader.storedFields();
+            List<Long> batch = new ArrayList<>(REBUILD_BATCH_SIZE);
+            for (int doc = 0; doc < reader.maxDoc(); doc++) {
+                if (liveDocs != null && !liveDocs.get(doc)) {
+                    continue;
+                }
+                batch.add(storedFields.document(doc, ID_FIELDS).getField(FIELD_ID).numericValue().longValue());
+                if (batch.size() == REBUILD_BATCH_SIZE) {
+                    removed += removeMissing(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                removed += removeMissing(batch);
+            }
+        }
+        return removed;
+    }
+
+    private long removeMissing(List<Long> indexedIds) throws IOException {
+        Set<Long> existing = new HashSet<>(journalEntryRepository.findExistingIds(indexedIds));
+        long removed = 0;
+        for (Long id : indexedIds) {
+            if (!existing.contains(id)) {
+                writer.deleteDocuments(idTerm(id));
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private long reindex(LocalDateTime changedSince) throws IOException {
+        long indexed = 0;
+        long lastId = 0;
+        while (true) {
+            PageRequest batch = PageRequest.of(0, REBUILD_BATCH_SIZE);
+            List<JournalEntry> entries = changedSince == null
+                    ? journalEntryRepository.findByIdGreaterThanOrderByIdAsc(lastId, batch)
+                    : journalEntryRepository.findByIdGreaterThanAndUpdatedAtAfterOrderByIdAsc(lastId, changedSince, batch);
+            if (entries.isEmpty()) {
+                return indexed;
+            }
+            for (JournalEntry entry : entries) {
+                updateDocument(entry);
+                lastId = entry.getId();
+                indexed++;
+            }
+        }
+    }
+
+    private void reindexEntries(Set<Long> ids) throws IOException {
+        for (JournalEntry entry : journalEntryRepository.findAllById(ids)) {
+            updateDocument(entry);
+        }
+    }
+
+    private void updateDocument(JournalEntry entry) throws IOException {
+        writer.updateDocument(idTerm(entry.getId()), toDocument(entry.getId(), entry.getUser().getId(),
+                entry.getTitle(), entry.getContent(), entry.getTags(), entry.getCreatedAt()));
+    }
+
+    private static Set<Long> drain(Set<Long> ids) {
+        Set<Long> drained = new HashSet<>(ids);
+        ids.removeAll(drained);
+        return drained;
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.commit-interval-ms:5000}")
+    public void commitPending() {
+        if (enabled && !rebuilding && writer.hasUncommittedChanges()) {
+            try {
+                commit(ready);
+            } catch (IOException e) {
+                log.error("Failed to commit journal search index", e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        reopenThread.close();
+        searcherManager.close();
+        if (!rebuilding) {
+            commit(ready);
+        }
+        writer.close();
+        directory.close();
+    }
+
+    private void commit(boolean complete) throws IOException {
+        writer.setLiveCommitData(Map.of(
+                COMMIT_COMPLETE, String.valueOf(complete),
+                COMMIT_TIME, String.valueOf(System.currentTimeMillis())
+        ).entrySet());
+        writer.commit();
+    }
+
+    private Query buildQuery(Long userId, List<String> terms) {
+        BooleanQuery.Builder textQuery = new BooleanQuery.Builder();
+        for (String term : terms) {
+            textQuery.add(new BoostQuery(new TermQuery(new Term(FIELD_TITLE, term)), TITLE_BOOST), BooleanClause.Occur.SHOULD);
+            textQuery.add(new TermQuery(new Term(FIELD_CONTENT, term)), BooleanClause.Occur.SHOULD);
+            textQuery.add(new BoostQuery(new TermQuery(new Term(FIELD_TAGS, term)), TAGS_BOOST), BooleanClause.Occur.SHOULD);
+            if (term.length() >= FUZZY_MIN_LENGTH) {
+                textQuery.add(new BoostQuery(new FuzzyQuery(new Term(FIELD_TITLE, term), 1, 1), FUZZY_BOOST * TITLE_BOOST),
+                        BooleanClause.Occur.SHOULD);
+                textQuery.add(new BoostQuery(new FuzzyQuery(new Term(FIELD_CONTENT, term), 1, 1), FUZZY_BOOST),
+                        BooleanClause.Occur.SHOULD);
+            }
+        }
+
+        return new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(FIELD_USER, String.valueOf(userId))), BooleanClause.Occur.FILTER)
+                .add(textQuery.build(), BooleanClause.Occur.MUST)
+                .build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(FIELD_CONTENT, text)) {
+            CharTermAttribute attribute = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                String term = attribute.toString();
+                if (!terms.contains(term)) {
+                    terms.add(term);
+                }
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static Term idTerm(Long entryId) {
+        return new Term(FIELD_ID_KEY, String.valueOf(entryId));
+    }
+
+    private static Document toDocument(Long entryId, Long userId, String title, String content,
+                                       String tags, LocalDateTime createdAt) {
+        long created = (createdAt != null ? createdAt : LocalDateTime.now()).toEpochSecond(ZoneOffset.UTC);
+
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_ID_KEY, String.valueOf(entryId), Field.Store.NO));
+        doc.add(new StoredField(FIELD_ID, entryId));
+        doc.add(new StringField(FIELD_USER, String.valueOf(userId), Field.Store.NO));
+        doc.add(new TextField(FIELD_TITLE, title != null ? title : "", Field.Store.YES));
+        doc.add(new TextField(FIELD_CONTENT, content != null ? content : "", Field.Store.YES));
+        doc.add(new TextField(FIELD_TAGS, tags != null ? tags : "", Field.Store.YES));
+        doc.add(new LongPoint(FIELD_CREATED, created));
+        doc.add(new StoredField(FIELD_CREATED, created));
+        return doc;
+    }
+}
@@ -0,0 +1,79 @@
+package com.serenmind.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.serenmind.dto.response.JournalTagCountResponse;
+import com.serenmind.event.JournalEntryChangedEvent;
+import com.serenmind.model.JournalTag;
+import com.serenmind.repository.JournalTagRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user sorted tag → count map for tag facets and prefix autocomplete.
+ * Loaded from journal_tags on first use and dropped whenever the user's journal changes.
+ */
+@Component
+@Slf4j
+public class JournalTagIndex {
+
+    private static final Comparator<Map.Entry<String, Long>> BY_COUNT_THEN_NAME =
+            Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final JournalTagRepository journalTagRepository;
+    private final Cache<Long, NavigableMap<String, Long>> tagsByUser;
+
+    public JournalTagIndex(
+            JournalTagRepository journalTagRepository,
+            @Value("${app.journal.tags.cache-max-users:10000}") long maxUsers,
+            @Value("${app.journal.tags.cache-expire-minutes:30}") long expireMinutes) {
+        this.journalTagRepository = journalTagRepository;
+        this.tagsByUser = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterAccess(Duration.ofMinutes(expireMinutes))
+                .build();
+    }
+
+    /**
+     * Tags with their entry counts, most used first. With a prefix, only tags starting with it.
+     */
+    public List<JournalTagCountResponse> getTagCounts(Long userId, String prefix, int limit) {
+        NavigableMap<String, Long> tags = tagsByUser.get(userId, this::load);
+
+        Map<String, Long> candidates = tags;
+        if (prefix != null && !prefix.isBlank()) {
+            String from = JournalTag.normalizeOne(prefix);
+            candidates = tags.subMap(from, true, from + Character.MAX_VALUE, false);
+        }
+
+        return candidates.entrySet().stream()
+                .sorted(BY_COUNT_THEN_NAME)
+                .limit(limit)
+                .map(e -> new JournalTagCountResponse(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJournalEntryChanged(JournalEntryChangedEvent event) {
+        tagsByUser.invalidate(event.getUserId());
+    }
+
+    private NavigableMap<String, Long> load(Long userId) {
+        log.debug("Loading tag counts for user ID: {}", userId);
+        NavigableMap<String, Long> tags = new TreeMap<>();
+        journalTagRepository.countTagsByUserId(userId)
+                .forEach(row -> tags.put(row.getTag(), row.getCount()));
+        return Collections.unmodifiableNavigableMap(tags);
+    }
+}
@@ -0,0 +1,156 @@
+package com.serenmind.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds HTML-escaped search snippets with matched query terms wrapped in {@code <mark>}.
+ * A term matches at the start of a word, so "walk" highlights "walking" as well.
+ */
+public final class SnippetHighlighter {
+
+    private static final String MARK_OPEN = "<mark>";
+    private static final String MARK_CLOSE = "</mark>";
+    private static final int LEADING_CONTEXT = 40;
+
+    private SnippetHighlighter() {
+    }
+
+    /**
+     * Split a free-text query into distinct lower-case terms.
+     */
+    public static List<String> terms(String query) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (query == null) {
+            return List.of();
+        }
+        for (String token : query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= 2) {
+                terms.add(token);
+            }
+        }
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * Highlight every term occurrence in a short field such as a title.
+     */
+    public static String highlight(String text, List<String> terms) {
+        if (text == null) {
+            return null;
+        }
+        return render(text, 0, text.length(), findMatches(text, terms));
+    }
+
+    /**
+     * Cut a window of at most {@code maxLength} characters around the first match
+     * and highlight the terms inside it.
+     */
+    public static String snippet(String text, List<String> terms, int maxLength) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        List<int[]> matches = findMatches(text, terms);
+
+        int start = 0;
+        if (!matches.isEmpty() && matches.get(0)[0] > LEADING_CONTEXT) {
+            int firstMatch = matches.get(0)[0];
+            start = Math.min(firstMatch, wordStartAtOrAfter(text, firstMatch - LEADING_CONTEXT));
+        }
+        int end = Math.min(text.length(), start + maxLength);
+        if (end < text.length()) {
+            int lastSpace = text.lastIndexOf(' ', end);
+            if (lastSpace > start) {
+                end = lastSpace;
+            }
+        }
+
+        StringBuilder snippet = new StringBuilder();
+        if (start > 0) {
+            snippet.append("…");
+        }
+        snippet.append(render(text, start, end, matches));
+        if (end < text.length()) {
+            snippet.append("…");
+        }
+        return snippet.toString();
+    }
+
+    /**
+     * Count how many times the terms occur, used for relevance scoring without a full-text engine.
+     */
+    public static int countMatches(String text, List<String> terms) {
+        return text == null ? 0 : findMatches(text, terms).size();
+    }
+
+    /**
+     * Terms are compared char by char ignoring case rather than against a lower-cased copy,
+     * whose length can differ (e.g. 'İ' lower-cases to two chars), so offsets stay valid.
+     */
+    private static List<int[]> findMatches(String text, List<String> terms) {
+        List<int[]> matches = new ArrayList<>();
+        int i = 0;
+        while (i < text.length()) {
+            if (!Character.isLetterOrDigit(text.charAt(i)) || (i > 0 && Character.isLetterOrDigit(text.charAt(i - 1)))) {
+                i++;
+                continue;
+            }
+            int matchedLength = 0;
+            for (String term : terms) {
+                if (term.length() > matchedLength && text.regionMatches(true, i, term, 0, term.length())) {
+                    matchedLength = term.length();
+                }
+            }
+            if (matchedLength > 0) {
+                matches.add(new int[]{i, i + matchedLength});
+                i += matchedLength;
+            } else {
+                i++;
+            }
+        }
+        return matches;
+    }
+
+    private static String render(String text, int start, int end, List<int[]> matches) {
+        StringBuilder out = new StringBuilder(end - start + 32);
+        int position = start;
+        for (int[] match : matches) {
+            if (match[1] <= start || match[0] < position) {
+                continue;
+            }
+            if (match[0] >= end) {
+                break;
+            }
+            appendEscaped(out, text, position, match[0]);
+            out.append(MARK_OPEN);
+            appendEscaped(out, text, match[0], Math.min(match[1], end));
+            out.append(MARK_CLOSE);
+            position = Math.min(match[1], end);
+        }
+        appendEscaped(out, text, position, end);
+        return out.toString();
+    }
+
+    private static int wordStartAtOrAfter(String text, int index) {
+        int space = text.indexOf(' ', index);
+        return space < 0 ? index : space + 1;
+    }
+
+    private static void appendEscaped(StringBuilder out, String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '&' -> out.append("&amp;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                case '\n', '\r' -> out.append(' ');
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.serenmind.sentiment;
+
+import com.serenmind.repository.JournalEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Scores entries written before sentiment analysis existed, or missed because the analysis
+ * queue was full. Throttled to one small batch per interval; one pass per application start.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sentiment.backfill.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class JournalSentimentBackfill {
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final JournalSentimentUpdater sentimentUpdater;
+    private final int batchSize;
+
+    private long lastId = 0;
+    private long analyzed = 0;
+    private volatile boolean finished = false;
+
+    public JournalSentimentBackfill(
+            JournalEntryRepository journalEntryRepository,
+            JournalSentimentUpdater sentimentUpdater,
+            @Value("${app.sentiment.backfill.batch-size:20}") int batchSize) {
+        this.journalEntryRepository = journalEntryRepository;
+        this.sentimentUpdater = sentimentUpdater;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${app.sentiment.backfill.initial-delay-ms:60000}",
+               fixedDelayString = "${app.sentiment.backfill.interval-ms:2000}")
+    public void analyzeNextBatch() {
+        if (finished) {
+            return;
+        }
+
+        List<Long> ids = journalEntryRepository.findIdsNeedingSentiment(lastId, PageRequest.of(0, batchSize));
+        for (Long id : ids) {
+            try {
+                if (sentimentUpdater.analyzeEntry(id)) {
+                    analyzed++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Sentiment backfill failed for journal entry ID: {}", id, e);
+            }
+            lastId = id;
+        }
+
+        if (ids.size() < batchSize) {
+            finished = true;
+            log.info("Sentiment backfill finished: {} entries analyzed", analyzed);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.serenmind.sentiment;
+
+import com.serenmind.event.JournalEntryChangedEvent;
+import com.serenmind.repository.JournalEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Scores journal entries with the local analyzer once their changes have committed.
+ * Runs on the analysis executor so saving an entry never waits for scoring.
+ */
+@Component
+@Slf4j
+public class JournalSentimentUpdater {
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final LexiconSentimentAnalyzer analyzer;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+
+    public JournalSentimentUpdater(
+            JournalEntryRepository journalEntryRepository,
+            LexiconSentimentAnalyzer analyzer,
+            PlatformTransactionManager transactionManager) {
+        this.journalEntryRepository = journalEntryRepository;
+        this.analyzer = analyzer;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Async("analysisTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJournalEntryChanged(JournalEntryChangedEvent event) {
+        if (event.getChangeType() == JournalEntryChangedEvent.ChangeType.DELETED) {
+            return;
+        }
+        try {
+            analyzeEntry(event.getEntryId());
+        } catch (RuntimeException e) {
+            log.warn("Sentiment analysis failed for journal entry ID: {}", event.getEntryId(), e);
+        }
+    }
+
+    /**
+     * Score the entry's current text unless it was already scored.
+     *
+     * @return true if a new score was stored
+     */
+    public boolean analyzeEntry(Long entryId) {
+        // Re-read rather than trusting the event, so late tasks never score stale text
+        Snapshot snapshot = readTransaction.execute(status -> journalEntryRepository.findById(entryId)
+                .map(entry -> new Snapshot(entry.getVersion(), entry.getContent(), entry.getSentimentContentHash()))
+                .orElse(null));
+        if (snapshot == null || snapshot.content() == null) {
+            return false;
+        }
+
+        String hash = sha256(snapshot.content());
+        if (hash.equals(snapshot.analyzedHash())) {
+            // Text unchanged (e.g. only tags or title edited); just mark it current
+            writeTransaction.executeWithoutResult(status -> journalEntryRepository.markSentimentCurrent(
+                    entryId, snapshot.version(), LocalDateTime.now()));
+            return false;
+        }
+
+        SentimentResult result = analyzer.analyze(snapshot.content());
+        Integer updated = writeTransaction.execute(status -> journalEntryRepository.updateSentiment(
+                entryId,
+                snapshot.version(),
+                result.score(),
+                String.join(",", result.emotions()),
+                hash,
+                LocalDateTime.now()));
+
+        // 0 rows: the entry changed meanwhile and its own event will score the newer text
+        log.debug("Sentiment for journal entry ID: {} = {} {}", entryId, result.score(), result.emotions());
+        return updated != null && updated > 0;
+    }
+
+    static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Snapshot(Long version, String content, String analyzedHash) {
+    }
+}
@@ -0,0 +1,248 @@
+package com.serenmind.sentiment;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Local rule-based sentiment scoring, loosely after VADER: word valences from a small
+ * wellbeing-oriented lexicon, flipped by a preceding negation, scaled by intensifiers, and
+ * weighted towards the clause after "but". The sum is squashed into [-1, 1]. Each lexicon
+ * word may also count towards one emotion tag. Stateless and thread-safe; no network calls.
+ */
+@Component
+public class LexiconSentimentAnalyzer {
+
+    private static final int MAX_EMOTIONS = 3;
+    private static final int NEGATION_WINDOW = 3;
+    private static final double NEGATION_FACTOR = -0.74;
+    private static final double INTENSIFIER_FACTOR = 1.3;
+    private static final double DAMPENER_FACTOR = 0.7;
+    private static final double BEFORE_BUT_FACTOR = 0.5;
+    private static final double AFTER_BUT_FACTOR = 1.5;
+    private static final double NORMALIZATION_ALPHA = 15.0;
+
+    private static final Set<String> NEGATIONS = Set.of(
+            "not", "no", "never", "nothing", "nobody", "none", "neither", "nor", "without", "hardly", "cannot");
+
+    private static final Set<String> INTENSIFIERS = Set.of(
+            "very", "really", "so", "extremely", "incredibly", "totally", "completely", "super", "truly", "deeply");
+
+    private static final Set<String> DAMPENERS = Set.of(
+            "slightly", "somewhat", "bit", "little", "kinda", "kind", "sort", "barely", "mildly");
+
+    /**
+     * word, valence (-4..4), optional emotion
+     */
+    private static final String LEXICON = """
+            happy 2.7 joy
+            happiness 2.6 joy
+            joy 2.8 joy
+            joyful 2.9 joy
+            glad 2.0 joy
+            excited 2.2 joy
+            fun 2.0 joy
+            great 3.1 joy
+            good 1.9 joy
+            amazing 2.8 joy
+            wonderful 2.7 joy
+            awesome 3.1 joy
+            love 3.2 love
+            loved 2.9 love
+            loving 2.9 love
+            supported 1.9 love
+            hug 2.1 love
+            grateful 2.7 gratitude
+            thankful 2.7 gratitude
+            thanks 1.9 gratitude
+            appreciate 1.7 gratitude
+            blessed 2.3 gratitude
+            proud 2.1 pride
+            accomplished 1.9 pride
+            achieved 1.8 pride
+            productive 1.5 pride
+            confident 2.2 pride
+            calm 1.3 calm
+            peaceful 2.2 calm
+            relaxed 2.2 calm
+            rested 1.6 calm
+            content 1.5 calm
+            safe 1.9 calm
+            better 1.9 hope
+            hope 1.9 hope
+            hopeful 2.0 hope
+            motivated 1.6 hope
+            optimistic 2.3 hope
+            okay 0.9
+            fine 0.8
+            nice 1.8
+            beautiful 2.9
+            enjoyed 2.3 joy
+            laugh 2.6 joy
+            laughed 2.5 joy
+            smile 1.5 joy
+            sad -2.1 sadness
+            sadness -1.9 sadness
+            unhappy -1.8 sadness
+            cry -2.1 sadness
+            cried -1.6 sadness
+            crying -2.1 sadness
+            tears -1.5 sadness
+            lonely -1.5 sadness
+            alone -1.0 sadness
+            miss -1.2 sadness
+            hurt -2.4 sadness
+            heartbroken -3.0 sadness
+            depressed -2.3 sadness
+            hopeless -2.0 sadness
+            empty -1.6 sadness
+            numb -1.4 sadness
+            worthless -2.9 sadness
+            angry -2.3 anger
+            anger -2.7 anger
+            mad -2.2 anger
+            furious -2.7 anger
+            annoyed -1.6 anger
+            irritated -1.8 anger
+            frustrated -2.0 anger
+            frustrating -1.9 anger
+            hate -2.7 anger
+            resent -2.0 anger
+            unfair -2.1 anger
+            anxious -1.0 anxiety
+            anxiety -0.7 anxiety
+            worried -1.2 anxiety
+            worry -1.9 anxiety
+            nervous -1.1 anxiety
+            stressed -1.4 anxiety
+            stress -1.8 anxiety
+            stressful -2.1 anxiety
+            overwhelmed -1.5 anxiety
+            panic -2.3 anxiety
+            tense -1.4 anxiety
+            restless -1.1 anxiety
+            scared -2.2 fear
+            afraid -2.2 fear
+            fear -2.2 fear
+            terrified -3.0 fear
+            frightened -1.9 fear
+            dread -2.4 fear
+            guilty -1.8 guilt
+            ashamed -2.1 guilt
+            embarrassed -1.5 guilt
+            regret -1.8 guilt
+            sorry -0.3 guilt
+            tired -1.9 fatigue
+            exhausted -1.5 fatigue
+            drained -1.5 fatigue
+            sleepless -1.6 fatigue
+            insomnia -1.3 fatigue
+            bad -2.5
+            awful -2.0
+            terrible -2.1
+            horrible -2.5
+            worse -2.1
+            worst -3.1
+            difficult -1.5
+            hard -0.4
+            struggle -1.3
+            struggling -1.4
+            upset -1.6
+            disappointed -1.9
+            pain -2.3
+            sick -1.7
+            fail -2.5
+            failed -2.3
+            failure -2.3
+            """;
+
+    private static final Map<String, Double> VALENCE = new HashMap<>();
+    private static final Map<String, String> EMOTION = new HashMap<>();
+
+    static {
+        for (String line : LEXICON.split("\n")) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length < 2) {
+                continue;
+            }
+            VALENCE.put(parts[0], Double.parseDouble(parts[1]));
+            if (parts.length > 2) {
+                EMOTION.put(parts[0], parts[2]);
+            }
+        }
+    }
+
+    public SentimentResult analyze(String text) {
+        if (text == null || text.isBlank()) {
+            return new SentimentResult(0.0, List.of());
+        }
+
+        double sum = 0.0;
+        Map<String, Double> emotionWeights = new HashMap<>();
+
+        // Sentences are scored separately so "but" only reweights its own sentence
+        for (String sentence : text.toLowerCase(Locale.ROOT).split("[.!?;\\n]+")) {
+            String[] tokens = sentence.split("[^a-z']+");
+            int butAt = indexOf(tokens, "but");
+            int lastNegation = -NEGATION_WINDOW - 1;
+
+            for (int i = 0; i < tokens.length; i++) {
+                String token = tokens[i];
+                if (token.isEmpty()) {
+                    continue;
+                }
+                if (NEGATIONS.contains(token) || token.endsWith("n't")) {
+                    lastNegation = i;
+                    continue;
+                }
+                String word = token.endsWith("'s") ? token.substring(0, token.length() - 2) : token;
+                Double valence = VALENCE.get(word);
+                if (valence == null) {
+                    continue;
+                }
+
+                double weighted = valence;
+                if (i > 0 && INTENSIFIERS.contains(tokens[i - 1])) {
+                    weighted *= INTENSIFIER_FACTOR;
+                } else if (i > 0 && DAMPENERS.contains(tokens[i - 1])) {
+                    weighted *= DAMPENER_FACTOR;
+                }
+                boolean negated = i - lastNegation <= NEGATION_WINDOW;
+                if (negated) {
+                    weighted *= NEGATION_FACTOR;
+                }
+                if (butAt >= 0) {
+                    weighted *= i < butAt ? BEFORE_BUT_FACTOR : AFTER_BUT_FACTOR;
+                }
+                sum += weighted;
+
+                String emotion = EMOTION.get(word);
+                if (emotion != null && !negated) {
+                    emotionWeights.merge(emotion, Math.abs(weighted), Double::sum);
+                }
+            }
+        }
+
+        double score = sum / Math.sqrt(sum * sum + NORMALIZATION_ALPHA);
+        List<String> emotions = new ArrayList<>(emotionWeights.keySet());
+        emotions.sort((a, b) -> {
+            int byWeight = Double.compare(emotionWeights.get(b), emotionWeights.get(a));
+            return byWeight != 0 ? byWeight : a.compareTo(b);
+        });
+        return new SentimentResult(score, List.copyOf(emotions.subList(0, Math.min(MAX_EMOTIONS, emotions.size()))));
+    }
+
+    private static int indexOf(String[] tokens, String word) {
+        for (int i = 0; i < tokens.length; i++) {
+            if (word.equals(tokens[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,16 @@
+package com.serenmind.sentiment;
+
+import java.util.List;
+
+/**
+ * Sentiment of a text: a compound score in [-1, 1] and the dominant emotions, strongest first.
+ */
+public record SentimentResult(double score, List<String> emotions) {
+
+    public String label() {
+        if (score >= 0.05) {
+            return "POSITIVE";
+        }
+        return score <= -0.05 ? "NEGATIVE" : "NEUTRAL";
+    }
+}
@@ -0,0 +1,73 @@
+package com.serenmind.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.serenmind.event.JournalEntryChangedEvent;
+import com.serenmind.event.MoodEntryChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Assembled AI chat context (recent moods and journals as Markdown) per user and context size,
+ * so a chat conversation reads the database once rather than on every message.
+ * A user's entries are dropped as soon as one of their mood or journal writes commits.
+ * Hit/miss statistics are published as the "ai.context" cache metrics.
+ */
+@Component
+public class AiContextCache {
+
+    /**
+     * Largest context size served; bounds both the query and the keys to invalidate per user.
+     */
+    public static final int MAX_CONTEXT_SIZE = 20;
+
+    private final Cache<Key, String> contexts;
+
+    public AiContextCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.openai.context-cache.max-size:10000}") long maxSize,
+            @Value("${app.openai.context-cache.expire-minutes:10}") long expireMinutes) {
+        this.contexts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(expireMinutes))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, contexts, "ai.context");
+    }
+
+    /**
+     * Cached context for the user, built by the loader on a miss. contextSize must already be
+     * clamped to 1..{@link #MAX_CONTEXT_SIZE}.
+     */
+    public String get(Long userId, int contextSize, Supplier<String> loader) {
+        return contexts.get(new Key(userId, contextSize), key -> loader.get());
+    }
+
+    public void invalidate(Long userId) {
+        List<Key> keys = IntStream.rangeClosed(1, MAX_CONTEXT_SIZE)
+                .mapToObj(size -> new Key(userId, size))
+                .toList();
+        contexts.invalidateAll(keys);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMoodEntryChanged(MoodEntryChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJournalEntryChanged(JournalEntryChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    private record Key(Long userId, int contextSize) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.request.AiReportRequest;
+import com.serenmind.dto.response.AiReportJobResponse;
+import reactor.core.publisher.Flux;
+
+/**
+ * Service interface for queued AI report generation.
+ */
+public interface AiReportJobService {
+
+    /**
+     * Queue a report for generation by AiReportJobWorker and return at once.
+     */
+    AiReportJobResponse enqueue(Long userId, AiReportRequest request);
+
+    AiReportJobResponse getJob(Long userId, Long jobId);
+
+    /**
+     * The job's current state, then every change until it finishes.
+     */
+    Flux<AiReportJobResponse> watchJob(Long userId, Long jobId);
+}
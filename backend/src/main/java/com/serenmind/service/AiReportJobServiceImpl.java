@@ -0,0 +1,122 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.request.AiReportRequest;
+import com.serenmind.dto.response.AiReportJobResponse;
+import com.serenmind.event.AiReportJobQueuedEvent;
+import com.serenmind.model.AiReportJob;
+import com.serenmind.repository.AiReportJobRepository;
+import com.serenmind.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executor;
+
+/**
+ * Implementation of AiReportJobService.
+ * Requests only insert a job row; the OpenAI round trip happens in AiReportJobWorker, so no
+ * request holds a pooled connection while a report is generated.
+ */
+@Service
+@Slf4j
+public class AiReportJobServiceImpl implements AiReportJobService {
+
+    private final AiReportJobRepository aiReportJobRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor aiContextExecutor;
+    private final TransactionTemplate readTransaction;
+
+    @Value("${app.ai-report-jobs.watch-poll-ms:1000}")
+    private long watchPollMs;
+
+    @Value("${app.ai-report-jobs.watch-timeout-minutes:10}")
+    private long watchTimeoutMinutes;
+
+    public AiReportJobServiceImpl(
+            AiReportJobRepository aiReportJobRepository,
+            UserRepository userRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Qualifier("aiContextExecutor") Executor aiContextExecutor,
+            PlatformTransactionManager transactionManager) {
+        this.aiReportJobRepository = aiReportJobRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.aiContextExecutor = aiContextExecutor;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    @Transactional
+    public AiReportJobResponse enqueue(Long userId, AiReportRequest request) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found");
+        }
+
+        AiReportJob job = aiReportJobRepository.save(AiReportJob.builder()
+                .userId(userId)
+                .reportType(request.getReportType())
+                .daysToInclude(request.getDaysToInclude() != null ? request.getDaysToInclude() : 7)
+                .availableAt(LocalDateTime.now())
+                .build());
+        log.info("AI report job ID: {} queued for user ID: {}, type: {}", job.getId(), userId, job.getReportType());
+
+        eventPublisher.publishEvent(new AiReportJobQueuedEvent(job.getId()));
+        return mapToResponse(job);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AiReportJobResponse getJob(Long userId, Long jobId) {
+        return mapToResponse(findOwnedJob(userId, jobId));
+    }
+
+    /**
+     * Polls the row rather than listening in memory, so the stream also follows jobs run by
+     * another instance or resumed after a restart.
+     */
+    @Override
+    public Flux<AiReportJobResponse> watchJob(Long userId, Long jobId) {
+        Mono<AiReportJobResponse> read = Mono
+                .fromCallable(() -> readTransaction.execute(status -> mapToResponse(findOwnedJob(userId, jobId))))
+                .subscribeOn(Schedulers.fromExecutor(aiContextExecutor));
+
+        return Flux.interval(Duration.ZERO, Duration.ofMillis(watchPollMs))
+                .onBackpressureDrop()
+                .concatMap(tick -> read)
+                .distinctUntilChanged(job -> job.getStatus() + ":" + job.getAttempts())
+                .takeUntil(job -> AiReportJob.Status.valueOf(job.getStatus()).isFinished())
+                .take(Duration.ofMinutes(watchTimeoutMinutes));
+    }
+
+    private AiReportJob findOwnedJob(Long userId, Long jobId) {
+        return aiReportJobRepository.findByIdAndUserId(jobId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("Report job not found"));
+    }
+
+    private AiReportJobResponse mapToResponse(AiReportJob job) {
+        return AiReportJobResponse.builder()
+                .id(job.getId())
+                .status(job.getStatus().name())
+                .reportType(job.getReportType())
+                .daysToInclude(job.getDaysToInclude())
+                .attempts(job.getAttempts())
+                .reportId(job.getReportId())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
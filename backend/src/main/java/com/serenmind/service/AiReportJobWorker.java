@@ -0,0 +1,169 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.request.AiReportRequest;
+import com.serenmind.dto.response.AiReportResponse;
+import com.serenmind.event.AiReportJobQueuedEvent;
+import com.serenmind.model.AiReportJob;
+import com.serenmind.repository.AiReportJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs queued AI report jobs. Jobs are claimed in a short transaction with
+ * {@code FOR UPDATE SKIP LOCKED}, so several instances can share the queue; generation then
+ * runs through {@link AiService#generateReportAsync} (reads and the final save in their own
+ * short transactions, the OpenAI call in none) and the outcome is recorded in another.
+ * <p>
+ * At most {@code workers} jobs run at once. A claim is a lease: if the instance dies, the job
+ * is claimed again once the lease expires. Failed jobs are retried with a growing delay up to
+ * {@code max-attempts}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.ai-report-jobs.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class AiReportJobWorker {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final AiReportJobRepository aiReportJobRepository;
+    private final AiService aiService;
+    private final TransactionTemplate writeTransaction;
+    private final Semaphore slots;
+    private final int maxAttempts;
+    private final long leaseSeconds;
+    private final long retryDelaySeconds;
+
+    public AiReportJobWorker(
+            AiReportJobRepository aiReportJobRepository,
+            AiService aiService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.ai-report-jobs.workers:4}") int workers,
+            @Value("${app.ai-report-jobs.max-attempts:3}") int maxAttempts,
+            @Value("${app.ai-report-jobs.lease-seconds:300}") long leaseSeconds,
+            @Value("${app.ai-report-jobs.retry-delay-seconds:30}") long retryDelaySeconds) {
+        this.aiReportJobRepository = aiReportJobRepository;
+        this.aiService = aiService;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        // onJobQueued runs after the enqueuing transaction committed; joining it would leave the updates without one
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.slots = new Semaphore(Math.max(1, workers));
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.leaseSeconds = leaseSeconds;
+        this.retryDelaySeconds = retryDelaySeconds;
+    }
+
+    /**
+     * Picks up jobs queued by other instances, retries that came due and jobs left behind
+     * by a restart.
+     */
+    @Scheduled(initialDelayString = "${app.ai-report-jobs.initial-delay-ms:5000}",
+               fixedDelayString = "${app.ai-report-jobs.poll-interval-ms:2000}")
+    public void poll() {
+        dispatch();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobQueued(AiReportJobQueuedEvent event) {
+        dispatch();
+    }
+
+    /**
+     * Claim as many jobs as there are free slots and start them.
+     */
+    synchronized void dispatch() {
+        int free = slots.availablePermits();
+        if (free == 0) {
+            return;
+        }
+
+        List<AiReportJob> claimed;
+        try {
+            claimed = writeTransaction.execute(status -> claim(free));
+        } catch (RuntimeException e) {
+            log.warn("Claiming AI report jobs failed: {}", e.getMessage());
+            return;
+        }
+        if (claimed == null) {
+            return;
+        }
+        for (AiReportJob job : claimed) {
+            slots.acquireUninterruptibly();
+            run(job);
+        }
+    }
+
+    private List<AiReportJob> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = aiReportJobRepository.lockClaimable(now, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        aiReportJobRepository.claim(ids, now, now.plusSeconds(leaseSeconds));
+        return aiReportJobRepository.findAllById(ids);
+    }
+
+    private void run(AiReportJob job) {
+        if (job.getAttempts() > maxAttempts) {
+            // Claimed again after its last lease expired; the worker running it never reported back
+            finish(job, null, new IllegalStateException("Report generation did not finish"));
+            return;
+        }
+        log.info("Running AI report job ID: {} (attempt {})", job.getId(), job.getAttempts());
+        try {
+            aiService.generateReportAsync(job.getUserId(),
+                            new AiReportRequest(job.getReportType(), job.getDaysToInclude()))
+                    .whenComplete((report, error) -> finish(job, report, error));
+        } catch (RuntimeException e) {
+            finish(job, null, e);
+        }
+    }
+
+    private void finish(AiReportJob job, AiReportResponse report, Throwable error) {
+        try {
+            Integer updated = writeTransaction.execute(status -> record(job, report, error));
+            if (updated == null || updated == 0) {
+                log.warn("AI report job ID: {} was taken over before attempt {} finished",
+                        job.getId(), job.getAttempts());
+            }
+        } catch (RuntimeException e) {
+            // The lease expires and another claim retries the job
+            log.error("Recording outcome of AI report job ID: {} failed", job.getId(), e);
+        } finally {
+            slots.release();
+        }
+    }
+
+    private int record(AiReportJob job, AiReportResponse report, Throwable error) {
+        LocalDateTime now = LocalDateTime.now();
+        if (error == null) {
+            log.info("AI report job ID: {} finished with report ID: {}", job.getId(), report.getId());
+            return aiReportJobRepository.markSucceeded(job.getId(), job.getAttempts(), report.getId(), now);
+        }
+
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        String message = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        if (message.length() > MAX_ERROR_LENGTH) {
+            message = message.substring(0, MAX_ERROR_LENGTH);
+        }
+        // Bad input (such as a deleted user) will not succeed on retry
+        if (job.getAttempts() >= maxAttempts || cause instanceof IllegalArgumentException) {
+            log.warn("AI report job ID: {} failed after {} attempts: {}", job.getId(), job.getAttempts(), message);
+            return aiReportJobRepository.markFailed(job.getId(), job.getAttempts(), message, now);
+        }
+        log.warn("AI report job ID: {} attempt {} failed, retrying: {}", job.getId(), job.getAttempts(), message);
+        return aiReportJobRepository.requeue(job.getId(), job.getAttempts(), message,
+                now.plusSeconds(retryDelaySeconds * job.getAttempts()));
+    }
+}
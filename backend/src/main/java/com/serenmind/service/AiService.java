@@ -3,8 +3,13 @@ package com.serenmind.service;
 import com.serenmind.dto.request.AiChatRequest;
 import com.serenmind.dto.request.AiReportRequest;
 import com.serenmind.dto.response.AiChatResponse;
+import com.serenmind.dto.response.AiChatStreamEvent;
 import com.serenmind.dto.response.AiReportResponse;
 
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Service interface for AI-powered features (OpenAI integration).
  */
@@ -17,9 +22,27 @@ public interface AiService {
 
     /**
      * Generate and persist an AI report (weekly summary, mood analysis, etc.).
+     * Request handlers should queue an AiReportJob instead of waiting for this.
      */
     AiReportResponse generateReport(Long userId, AiReportRequest request);
 
+    /**
+     * Same as {@link #chat}, without holding the caller's thread: the context is read on the
+     * AI context executor and the OpenAI call completes the future when its response arrives.
+     */
+    CompletableFuture<AiChatResponse> chatAsync(Long userId, AiChatRequest request);
+
+    /**
+     * Stream the chat reply as it is generated: REPLY events carrying pieces of the reply
+     * text, then a single DONE event with the complete response, or an ERROR event.
+     */
+    Flux<AiChatStreamEvent> chatStream(Long userId, AiChatRequest request);
+
+    /**
+     * Same as {@link #generateReport}, without holding the caller's thread.
+     */
+    CompletableFuture<AiReportResponse> generateReportAsync(Long userId, AiReportRequest request);
+
     /**
      * Legacy method - generate simple chat response.
      * @deprecated Use chat() instead
@@ -3,12 +3,14 @@ package com.serenmind.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serenmind.client.CannedResponseEngine;
 import com.serenmind.client.OpenAiClient;
 import com.serenmind.client.OpenAiRequest;
 import com.serenmind.client.OpenAiResponse;
 import com.serenmind.dto.request.AiChatRequest;
 import com.serenmind.dto.request.AiReportRequest;
 import com.serenmind.dto.response.AiChatResponse;
+import com.serenmind.dto.response.AiChatStreamEvent;
 import com.serenmind.dto.response.AiReportResponse;
 import com.serenmind.model.AiReport;
 import com.serenmind.model.JournalEntry;
@@ -16,34 +18,67 @@ import com.serenmind.model.MoodEntry;
 import com.serenmind.model.User;
 import com.serenmind.repository.AiReportRepository;
 import com.serenmind.repository.JournalEntryRepository;
+import com.serenmind.repository.JournalSummaryRow;
 import com.serenmind.repository.MoodEntryRepository;
 import com.serenmind.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Implementation of AiService with full OpenAI integration.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class AiServiceImpl implements AiService {
 
+    private static final int REPORT_JOURNAL_LIMIT = 30;
+    private static final int CONTEXT_JOURNAL_LIMIT = 3;
+    private static final String REPORT_SYSTEM_PROMPT =
+            "You are a compassionate mental wellness AI assistant. Generate detailed, actionable reports based on user data.";
+    private static final String REPORT_INSTRUCTIONS = "Please provide:\n" +
+            "1. Overall summary of the user's mental wellness trend\n" +
+            "2. Key patterns identified\n" +
+            "3. Positive highlights to celebrate\n" +
+            "4. Areas for improvement\n" +
+            "5. Specific, actionable recommendations";
+
     private final OpenAiClient openAiClient;
     private final UserRepository userRepository;
     private final MoodEntryRepository moodEntryRepository;
     private final JournalEntryRepository journalEntryRepository;
     private final AiReportRepository aiReportRepository;
     private final ObjectMapper objectMapper;
+    private final AiContextCache aiContextCache;
+    private final PromptTokenCounter promptTokenCounter;
+    private final ChatSessionService chatSessionService;
+    private final Executor aiContextExecutor;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final SingleFlight<ReportKey, AiReportResponse> reportFlights;
 
     @Value("${app.openai.model:gpt-4}")
     private String model;
@@ -57,34 +92,245 @@ public class AiServiceImpl implements AiService {
     @Value("${app.openai.max-tokens:1000}")
     private Integer maxTokens;
 
+    @Value("${app.openai.context-window-tokens:8192}")
+    private Integer contextWindowTokens;
+
+    @Value("${app.openai.report-max-tokens:2000}")
+    private Integer reportMaxTokens;
+
+    @Value("${app.openai.prompt-budget.report-tokens:2500}")
+    private Integer reportPromptTokens;
+
+    @Value("${app.openai.prompt-budget.chat-context-tokens:600}")
+    private Integer chatContextTokens;
+
+    @Value("${app.openai.report-reuse-minutes:60}")
+    private Integer reportReuseMinutes;
+
+    @Value("${app.weekly-summary.fresh-hours:168}")
+    private Integer weeklySummaryFreshHours;
+
+    public AiServiceImpl(
+            OpenAiClient openAiClient,
+            UserRepository userRepository,
+            MoodEntryRepository moodEntryRepository,
+            JournalEntryRepository journalEntryRepository,
+            AiReportRepository aiReportRepository,
+            ObjectMapper objectMapper,
+            AiContextCache aiContextCache,
+            PromptTokenCounter promptTokenCounter,
+            ChatSessionService chatSessionService,
+            @Qualifier("aiContextExecutor") Executor aiContextExecutor,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.openAiClient = openAiClient;
+        this.userRepository = userRepository;
+        this.moodEntryRepository = moodEntryRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.aiReportRepository = aiReportRepository;
+        this.objectMapper = objectMapper;
+        this.aiContextCache = aiContextCache;
+        this.promptTokenCounter = promptTokenCounter;
+        this.chatSessionService = chatSessionService;
+        this.aiContextExecutor = aiContextExecutor;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.reportFlights = new SingleFlight<>(meterRegistry, "ai.report");
+    }
+
+    /**
+     * Blocks the caller until the reply is ready, but like {@link #chatAsync} holds no
+     * transaction (and so no pooled connection) during the OpenAI call.
+     */
     @Override
-    @Transactional(readOnly = true)
     public AiChatResponse chat(Long userId, AiChatRequest request) {
+        return await(chatAsync(userId, request));
+    }
+
+    /**
+     * Generate a chat response without storing the exchange in a session.
+     */
+    private AiChatResponse respond(Long userId, AiChatRequest request) {
         log.info("Generating AI chat response for user ID: {}", userId);
         long startTime = System.currentTimeMillis();
 
+        // Read in a transaction of its own, so the connection is back in the pool before OpenAI is called
+        OpenAiRequest openAiRequest = readTransaction.execute(status -> prepareChatRequest(userId, request));
+
+        // Call OpenAI API
+        OpenAiResponse openAiResponse = openAiClient.chatCompletion(openAiRequest);
+
+        return toChatResponse(openAiRequest, openAiResponse, startTime);
+    }
+
+    @Override
+    public CompletableFuture<AiChatResponse> chatAsync(Long userId, AiChatRequest request) {
+        log.info("Generating AI chat response asynchronously for user ID: {}", userId);
+        long startTime = System.currentTimeMillis();
+
+        return CompletableFuture
+                .supplyAsync(() -> readTransaction.execute(status -> prepareChatRequest(userId, request)),
+                        aiContextExecutor)
+                .thenCompose(openAiRequest -> openAiClient.chatCompletionAsync(openAiRequest).toFuture()
+                        .thenApply(openAiResponse -> toChatResponse(openAiRequest, openAiResponse, startTime)))
+                .thenApplyAsync(response -> {
+                    response.setSessionId(chatSessionService.recordExchange(
+                            userId, request.getSessionId(), request.getMessage(), response.getReply()));
+                    return response;
+                }, aiContextExecutor);
+    }
+
+    @Override
+    public Flux<AiChatStreamEvent> chatStream(Long userId, AiChatRequest request) {
+        log.info("Streaming AI chat response for user ID: {}", userId);
+
+        return Mono.fromCallable(() -> readTransaction.execute(status -> prepareChatRequest(userId, request)))
+                .subscribeOn(Schedulers.fromExecutor(aiContextExecutor))
+                .flatMapMany(openAiRequest -> streamReply(userId, request, openAiRequest, System.currentTimeMillis()))
+                .onErrorResume(e -> {
+                    log.warn("AI chat stream failed for user ID: {}: {}", userId, e.getMessage());
+                    return Mono.just(AiChatStreamEvent.error(e.getMessage()));
+                });
+    }
+
+    /**
+     * Forward reply text as chunks arrive, then parse the accumulated output once for the
+     * summary and suggestions and store the exchange in the session.
+     */
+    private Flux<AiChatStreamEvent> streamReply(Long userId, AiChatRequest request,
+                                                OpenAiRequest openAiRequest, long startTime) {
+        ChatReplyStreamParser parser = new ChatReplyStreamParser();
+        AtomicReference<String> responseModel = new AtomicReference<>(openAiRequest.getModel());
+        AtomicReference<String> fallbackReason = new AtomicReference<>();
+        AtomicBoolean firstToken = new AtomicBoolean(true);
+
+        Flux<AiChatStreamEvent> deltas = openAiClient.chatCompletionStream(openAiRequest)
+                .doOnNext(chunk -> {
+                    if (chunk.getModel() != null) {
+                        responseModel.set(chunk.getModel());
+                    }
+                    if (chunk.getFallbackReason() != null) {
+                        fallbackReason.set(chunk.getFallbackReason());
+                    }
+                })
+                .map(chunk -> parser.accept(chunk.contentDelta()))
+                .filter(delta -> !delta.isEmpty())
+                .doOnNext(delta -> {
+                    if (firstToken.compareAndSet(true, false)) {
+                        log.info("AI chat stream first token after {}ms", System.currentTimeMillis() - startTime);
+                    }
+                })
+                .map(AiChatStreamEvent::reply);
+
+        Mono<AiChatStreamEvent> done = Mono.fromCallable(() -> {
+            AiChatResponse response = parseAiResponse(parser.raw());
+            response.setSessionId(chatSessionService.recordExchange(
+                    userId, request.getSessionId(), request.getMessage(), response.getReply()));
+            long responseTime = System.currentTimeMillis() - startTime;
+            response.setMetadata(AiChatResponse.ResponseMetadata.builder()
+                    .model(responseModel.get())
+                    .tokensUsed(0) // Usage is not reported for streamed completions
+                    .isMockResponse(mockMode || fallbackReason.get() != null)
+                    .responseTimeMs(responseTime)
+                    .fallback(fallbackReason.get() != null)
+                    .fallbackReason(fallbackReason.get())
+                    .build());
+            log.info("AI chat stream completed in {}ms", responseTime);
+            return AiChatStreamEvent.done(response);
+        }).subscribeOn(Schedulers.fromExecutor(aiContextExecutor));
+
+        return deltas.concatWith(done);
+    }
+
+    /**
+     * Blocks the caller until the report is ready, but like {@link #generateReportAsync} holds
+     * no transaction (and so no pooled connection) during the OpenAI call.
+     */
+    @Override
+    public AiReportResponse generateReport(Long userId, AiReportRequest request) {
+        log.info("Generating AI report type '{}' for user ID: {}", request.getReportType(), userId);
+
+        return await(generateReportAsync(userId, request));
+    }
+
+    /**
+     * Wait for an async result, rethrowing its failure as thrown by the async steps.
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Identical requests (same user, report type and day window) arriving while one is still
+     * being generated share its result instead of paying for another completion.
+     */
+    @Override
+    public CompletableFuture<AiReportResponse> generateReportAsync(Long userId, AiReportRequest request) {
+        log.info("Generating AI report type '{}' asynchronously for user ID: {}", request.getReportType(), userId);
+
+        return reportFlights.execute(ReportKey.of(userId, request), () -> createReportAsync(userId, request));
+    }
+
+    private CompletableFuture<AiReportResponse> createReportAsync(Long userId, AiReportRequest request) {
+        return CompletableFuture
+                .supplyAsync(() -> readTransaction.execute(status -> prepareReport(userId, request)),
+                        aiContextExecutor)
+                .thenCompose(draft -> draft.reusable() != null
+                        ? CompletableFuture.completedFuture(toReportResponse(draft.reusable(), true))
+                        : openAiClient.chatCompletionAsync(draft.openAiRequest()).toFuture()
+                                .thenApplyAsync(openAiResponse -> writeTransaction.execute(
+                                        status -> saveReport(draft, openAiResponse)), aiContextExecutor));
+    }
+
+    /**
+     * Load the user and recent activity and build the OpenAI chat request.
+     */
+    private OpenAiRequest prepareChatRequest(Long userId, AiChatRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
-        // Prepare context from recent mood and journal entries
-        String context = prepareUserContext(userId, request.getContextSize() != null ? request.getContextSize() : 5);
+        // Prepare context from recent mood and journal entries (cached until the user's next write)
+        int contextSize = request.getContextSize() != null ? request.getContextSize() : 5;
+        int boundedSize = Math.max(1, Math.min(contextSize, AiContextCache.MAX_CONTEXT_SIZE));
+        String context = aiContextCache.get(userId, boundedSize, () -> prepareUserContext(userId, boundedSize));
+
+        // Earlier turns of the session: running summary plus the latest turns
+        List<OpenAiRequest.Message> history = chatSessionService.getHistoryMessages(userId, request.getSessionId());
 
         // Build OpenAI request
-        OpenAiRequest openAiRequest = buildChatRequest(user, request.getMessage(), context);
+        return buildChatRequest(user, request.getMessage(), context, history);
+    }
 
-        // Call OpenAI API
-        OpenAiResponse openAiResponse = openAiClient.chatCompletion(openAiRequest);
+    /**
+     * Parse the OpenAI reply and attach response metadata.
+     */
+    private AiChatResponse toChatResponse(OpenAiRequest openAiRequest, OpenAiResponse openAiResponse, long startTime) {
+        boolean fallback = openAiResponse.getFallbackReason() != null;
+        if (!mockMode && !fallback) {
+            promptTokenCounter.recordUsage(
+                    promptTokenCounter.countMessages(openAiRequest.getMessages()), openAiResponse.getUsage());
+        }
 
         // Parse structured response
-        AiChatResponse response = parseAiResponse(openAiResponse);
+        AiChatResponse response = parseAiResponse(openAiResponse.getChoices().get(0).getMessage().getContent());
 
         // Add metadata
         long responseTime = System.currentTimeMillis() - startTime;
         AiChatResponse.ResponseMetadata metadata = AiChatResponse.ResponseMetadata.builder()
                 .model(openAiResponse.getModel())
                 .tokensUsed(openAiResponse.getUsage() != null ? openAiResponse.getUsage().getTotalTokens() : 0)
-                .isMockResponse(mockMode)
+                .isMockResponse(mockMode || fallback)
                 .responseTimeMs(responseTime)
+                .fallback(fallback)
+                .fallbackReason(openAiResponse.getFallbackReason())
                 .build();
         response.setMetadata(metadata);
 
@@ -94,11 +340,12 @@ public class AiServiceImpl implements AiService {
         return response;
     }
 
-    @Override
-    @Transactional
-    public AiReportResponse generateReport(Long userId, AiReportRequest request) {
-        log.info("Generating AI report type '{}' for user ID: {}", request.getReportType(), userId);
-
+    /**
+     * Load the user's data for the report period and build the report prompt. If a report
+     * with the same input fingerprint was generated within the reuse window, it is returned
+     * in the draft instead of calling OpenAI again.
+     */
+    private ReportDraft prepareReport(Long userId, AiReportRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
@@ -110,50 +357,102 @@ public class AiServiceImpl implements AiService {
         // Fetch user data
         List<MoodEntry> moods = moodEntryRepository.findByUserIdAndTimestampBetweenOrderByTimestampDesc(
                 userId, startDate, endDate);
-        List<JournalEntry> journals = journalEntryRepository.findByUserIdOrderByCreatedAtDesc(userId)
-                .stream()
-                .filter(j -> j.getCreatedAt().isAfter(startDate))
-                .limit(10)
-                .collect(Collectors.toList());
+        List<JournalSummaryRow> journals = journalEntryRepository.findRecentSummaries(
+                userId, startDate, PageRequest.of(0, REPORT_JOURNAL_LIMIT));
 
         // Build report prompt
         String prompt = buildReportPrompt(request.getReportType(), moods, journals, days);
 
-        // Build OpenAI request
+        // Build OpenAI request; the completion gets whatever the context window leaves, up to the cap
+        List<OpenAiRequest.Message> messages = List.of(
+                OpenAiRequest.Message.builder()
+                        .role("system")
+                        .content(REPORT_SYSTEM_PROMPT)
+                        .build(),
+                OpenAiRequest.Message.builder()
+                        .role("user")
+                        .content(prompt)
+                        .build()
+        );
+        int promptTokens = promptTokenCounter.countMessages(messages);
         OpenAiRequest openAiRequest = OpenAiRequest.builder()
                 .model(model)
                 .temperature(temperature)
-                .maxTokens(maxTokens * 2) // Reports can be longer
-                .messages(List.of(
-                        OpenAiRequest.Message.builder()
-                                .role("system")
-                                .content("You are a compassionate mental wellness AI assistant. Generate detailed, actionable reports based on user data.")
-                                .build(),
-                        OpenAiRequest.Message.builder()
-                                .role("user")
-                                .content(prompt)
-                                .build()
-                ))
+                .maxTokens(Math.max(1, Math.min(reportMaxTokens, contextWindowTokens - promptTokens)))
+                .messages(messages)
                 .build();
 
-        // Call OpenAI API
-        OpenAiResponse openAiResponse = openAiClient.chatCompletion(openAiRequest);
+        String fingerprint = fingerprint(request.getReportType(), days, openAiRequest);
+        AiReport reusable = null;
+        if (reportReuseMinutes > 0) {
+            reusable = aiReportRepository
+                    .findFirstByUserIdAndInputFingerprintAndCreatedAtAfterOrderByCreatedAtDesc(
+                            userId, fingerprint, LocalDateTime.now().minusMinutes(reportReuseMinutes))
+                    .orElse(null);
+            if (reusable != null) {
+                log.info("Reusing AI report ID: {} generated from identical inputs", reusable.getId());
+            }
+        }
+
+        return new ReportDraft(user, request.getReportType(), days, prompt, openAiRequest, promptTokens,
+                fingerprint, reusable);
+    }
+
+    /**
+     * SHA-256 over everything that determines the generated report. The prompt already
+     * renders every contributing mood and journal row, so any edit in the window changes it.
+     */
+    private static String fingerprint(String reportType, int days, OpenAiRequest openAiRequest) {
+        StringBuilder input = new StringBuilder()
+                .append(reportType).append('\n')
+                .append(days).append('\n')
+                .append(openAiRequest.getModel()).append('\n')
+                .append(openAiRequest.getTemperature()).append('\n')
+                .append(openAiRequest.getMaxTokens()).append('\n');
+        openAiRequest.getMessages().forEach(message -> input
+                .append(message.getRole()).append('\n')
+                .append(message.getContent()).append('\n'));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(input.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Persist the generated report and build the response.
+     */
+    private AiReportResponse saveReport(ReportDraft draft, OpenAiResponse openAiResponse) {
+        boolean fallback = openAiResponse.getFallbackReason() != null;
+        if (!mockMode && !fallback) {
+            promptTokenCounter.recordUsage(draft.promptTokens(), openAiResponse.getUsage());
+        }
         String content = openAiResponse.getChoices().get(0).getMessage().getContent();
+        String prompt = draft.prompt();
 
         // Create and save report
         AiReport aiReport = AiReport.builder()
-                .user(user)
-                .reportType(request.getReportType())
+                .user(draft.user())
+                .reportType(draft.reportType())
                 .content(content)
-                .metadata("{\"days\": " + days + "}")
+                .metadata("{\"days\": " + draft.days() + "}")
                 .promptUsed(prompt.substring(0, Math.min(500, prompt.length())) + "...")
                 .modelUsed(openAiResponse.getModel())
                 .tokensUsed(openAiResponse.getUsage() != null ? openAiResponse.getUsage().getTotalTokens() : 0)
+                // A fallback placeholder must not be reused in place of a real report
+                .inputFingerprint(fallback ? null : draft.fingerprint())
                 .build();
 
         aiReport = aiReportRepository.save(aiReport);
         log.info("AI report saved with ID: {}", aiReport.getId());
 
+        return toReportResponse(aiReport, false);
+    }
+
+    private AiReportResponse toReportResponse(AiReport aiReport, boolean reused) {
+        String content = aiReport.getContent();
+
         // Extract summary (first paragraph)
         String summary = content.split("\n\n")[0];
 
@@ -164,77 +463,63 @@ public class AiServiceImpl implements AiService {
                 .summary(summary)
                 .tokensUsed(aiReport.getTokensUsed())
                 .modelUsed(aiReport.getModelUsed())
-                .isMockResponse(mockMode)
+                .isMockResponse(mockMode || OpenAiClient.FALLBACK_MODEL.equals(aiReport.getModelUsed()))
+                .reused(reused)
+                .fallback(OpenAiClient.FALLBACK_MODEL.equals(aiReport.getModelUsed()))
                 .createdAt(aiReport.getCreatedAt())
                 .build();
     }
 
     /**
-     * Prepare user context from recent mood and journal entries.
+     * Prepare user context from recent mood and journal entries, newest first, within the
+     * chat context token budget.
      */
     private String prepareUserContext(Long userId, int contextSize) {
         LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
 
         // Get recent mood entries
-        List<MoodEntry> recentMoods = moodEntryRepository
-                .findByUserIdAndTimestampBetweenOrderByTimestampDesc(userId, sevenDaysAgo, LocalDateTime.now())
-                .stream()
-                .limit(contextSize)
-                .collect(Collectors.toList());
-
-        // Get recent journal entries
-        List<JournalEntry> recentJournals = journalEntryRepository
-                .findByUserIdOrderByCreatedAtDesc(userId)
-                .stream()
-                .filter(j -> j.getCreatedAt().isAfter(sevenDaysAgo))
-                .limit(Math.min(3, contextSize))
-                .collect(Collectors.toList());
-
-        StringBuilder context = new StringBuilder();
-        context.append("## User's Recent Activity\n\n");
+        List<MoodEntry> recentMoods = moodEntryRepository.findByUserIdAndTimestampBetweenOrderByTimestampDesc(
+                userId, sevenDaysAgo, LocalDateTime.now(), PageRequest.of(0, contextSize));
+
+        // Get recent journal entries (title and stored snippet only)
+        List<JournalSummaryRow> recentJournals = journalEntryRepository.findRecentSummaries(
+                userId, sevenDaysAgo, PageRequest.of(0, Math.min(CONTEXT_JOURNAL_LIMIT, contextSize)));
+
+        PromptBudget context = new PromptBudget(promptTokenCounter, chatContextTokens);
+        context.appendRequired("## User's Recent Activity\n\n");
 
         // Add mood context
-        if (!recentMoods.isEmpty()) {
-            context.append("### Recent Mood Entries:\n");
-            for (MoodEntry mood : recentMoods) {
-                context.append(String.format("- %s: Mood %d/10, Energy %d/10, Stress %d/10. %s\n",
+        int moodLines = context.appendLines("### Recent Mood Entries:\n", recentMoods.stream()
+                .map(mood -> String.format("- %s: Mood %d/10, Energy %d/10, Stress %d/10. %s\n",
                         mood.getTimestamp().format(DateTimeFormatter.ofPattern("MMM dd")),
                         mood.getMoodScore(),
                         mood.getEnergyLevel() != null ? mood.getEnergyLevel() : 0,
                         mood.getStressLevel() != null ? mood.getStressLevel() : 0,
-                        mood.getNotes() != null ? "\"" + mood.getNotes() + "\"" : ""
-                ));
-            }
-            context.append("\n");
-        } else {
-            context.append("### Recent Mood Entries:\nNo recent mood entries.\n\n");
+                        mood.getNotes() != null ? "\"" + mood.getNotes() + "\"" : ""))
+                .toList(), "\n");
+        if (moodLines == 0) {
+            context.appendRequired("### Recent Mood Entries:\nNo recent mood entries.\n\n");
         }
 
         // Add journal context
-        if (!recentJournals.isEmpty()) {
-            context.append("### Recent Journal Entries:\n");
-            for (JournalEntry journal : recentJournals) {
-                String snippet = journal.getContent().length() > 150 
-                    ? journal.getContent().substring(0, 150) + "..." 
-                    : journal.getContent();
-                context.append(String.format("- %s: \"%s\" - %s\n",
+        int journalLines = context.appendLines("### Recent Journal Entries:\n", recentJournals.stream()
+                .map(journal -> String.format("- %s: \"%s\" - %s\n",
                         journal.getCreatedAt().format(DateTimeFormatter.ofPattern("MMM dd")),
                         journal.getTitle(),
-                        snippet
-                ));
-            }
-            context.append("\n");
-        } else {
-            context.append("### Recent Journal Entries:\nNo recent journal entries.\n\n");
+                        excerpt(journal, 150)))
+                .toList(), "\n");
+        if (journalLines == 0) {
+            context.appendRequired("### Recent Journal Entries:\nNo recent journal entries.\n\n");
         }
 
         return context.toString();
     }
 
     /**
-     * Build OpenAI chat request with system prompt and user context.
+     * Build OpenAI chat request with system prompt, conversation history and user context.
      */
-    private OpenAiRequest buildChatRequest(User user, String userMessage, String context) {
+    private OpenAiRequest buildChatRequest(User user, String userMessage, String context,
+                                           List<OpenAiRequest.Message> history) {
         String systemPrompt = "You are an intelligent, helpful AI assistant similar to ChatGPT. " +
                 "You can answer ANY question on ANY topic - technology, science, math, history, advice, coding, etc. " +
                 "While you're part of SerenMind (a mental wellness app), you can discuss anything the user asks about. " +
@@ -245,30 +530,43 @@ public class AiServiceImpl implements AiService {
                 "Be conversational, knowledgeable, and friendly. " +
                 "For mental health questions, be empathetic and supportive.";
 
-        String userPrompt = String.format(
-                "%s\n\n## User's Message:\n%s\n\n" +
-                "Please provide a supportive response in JSON format.",
-                context, userMessage
-        );
+        String userPrompt = chatUserPrompt(context, userMessage);
+
+        List<OpenAiRequest.Message> messages = new ArrayList<>();
+        messages.add(OpenAiRequest.Message.builder().role("system").content(systemPrompt).build());
+        messages.addAll(history);
+        messages.add(OpenAiRequest.Message.builder().role("user").content(userPrompt).build());
 
         return OpenAiRequest.builder()
                 .model(model)
                 .temperature(temperature)
                 .maxTokens(maxTokens)
-                .messages(List.of(
-                        OpenAiRequest.Message.builder().role("system").content(systemPrompt).build(),
-                        OpenAiRequest.Message.builder().role("user").content(userPrompt).build()
-                ))
+                .messages(messages)
                 .build();
     }
 
     /**
-     * Build report generation prompt.
+     * User turn of a chat request: the activity context, then the user's message under
+     * {@link CannedResponseEngine#USER_MESSAGE_HEADING}.
+     */
+    public static String chatUserPrompt(String context, String userMessage) {
+        return String.format(
+                "%s\n\n%s\n%s\n\n" +
+                "Please provide a supportive response in JSON format.",
+                context, CannedResponseEngine.USER_MESSAGE_HEADING, userMessage
+        );
+    }
+
+    /**
+     * Build report generation prompt within the report token budget: the header, statistics
+     * and closing instructions always, then mood entries and journal excerpts, newest first,
+     * while they fit.
      */
     private String buildReportPrompt(String reportType, List<MoodEntry> moods, 
-                                     List<JournalEntry> journals, int days) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append(String.format("Generate a %s report for the past %d days.\n\n", reportType, days));
+                                     List<JournalSummaryRow> journals, int days) {
+        PromptBudget prompt = new PromptBudget(promptTokenCounter, reportPromptTokens);
+        prompt.reserve(REPORT_INSTRUCTIONS);
+        prompt.appendRequired(String.format("Generate a %s report for the past %d days.\n\n", reportType, days));
 
         // Add mood statistics
         if (!moods.isEmpty()) {
@@ -276,53 +574,47 @@ public class AiServiceImpl implements AiService {
             int highest = moods.stream().mapToInt(MoodEntry::getMoodScore).max().orElse(0);
             int lowest = moods.stream().mapToInt(MoodEntry::getMoodScore).min().orElse(0);
 
-            prompt.append(String.format("## Mood Statistics:\n" +
+            prompt.appendRequired(String.format("## Mood Statistics:\n" +
                     "- Average mood: %.1f/10\n" +
                     "- Highest: %d/10\n" +
                     "- Lowest: %d/10\n" +
                     "- Total entries: %d\n\n", avgMood, highest, lowest, moods.size()));
 
-            prompt.append("## Mood Entries:\n");
-            moods.forEach(m -> prompt.append(String.format("- %s: %d/10 - %s\n",
-                    m.getTimestamp().format(DateTimeFormatter.ofPattern("MMM dd")),
-                    m.getMoodScore(),
-                    m.getNotes() != null ? m.getNotes() : ""
-            )));
-            prompt.append("\n");
+            prompt.appendLines("## Mood Entries:\n", moods.stream()
+                    .map(m -> String.format("- %s: %d/10 - %s\n",
+                            m.getTimestamp().format(DateTimeFormatter.ofPattern("MMM dd")),
+                            m.getMoodScore(),
+                            m.getNotes() != null ? m.getNotes() : ""))
+                    .toList(), "\n");
         }
 
         // Add journal excerpts
-        if (!journals.isEmpty()) {
-            prompt.append("## Journal Entries:\n");
-            journals.forEach(j -> {
-                String excerpt = j.getContent().length() > 200 
-                    ? j.getContent().substring(0, 200) + "..." 
-                    : j.getContent();
-                prompt.append(String.format("- %s: \"%s\" - %s\n",
+        prompt.appendLines("## Journal Entries:\n", journals.stream()
+                .map(j -> String.format("- %s: \"%s\" - %s\n",
                         j.getCreatedAt().format(DateTimeFormatter.ofPattern("MMM dd")),
                         j.getTitle(),
-                        excerpt
-                ));
-            });
-            prompt.append("\n");
-        }
+                        excerpt(j, 200)))
+                .toList(), "\n");
 
-        prompt.append("Please provide:\n" +
-                "1. Overall summary of the user's mental wellness trend\n" +
-                "2. Key patterns identified\n" +
-                "3. Positive highlights to celebrate\n" +
-                "4. Areas for improvement\n" +
-                "5. Specific, actionable recommendations");
+        return prompt + REPORT_INSTRUCTIONS;
+    }
 
-        return prompt.toString();
+    /**
+     * Journal excerpt for prompts, cut at maxLength. The stored snippet is itself a prefix of
+     * the content, so a full-length snippet means the entry continues.
+     */
+    private String excerpt(JournalSummaryRow journal, int maxLength) {
+        String snippet = journal.getSnippet() != null ? journal.getSnippet() : "";
+        if (snippet.length() > maxLength) {
+            return snippet.substring(0, maxLength) + "...";
+        }
+        return snippet.length() >= JournalEntry.SNIPPET_LENGTH ? snippet + "..." : snippet;
     }
 
     /**
      * Parse structured JSON response from OpenAI.
      */
-    private AiChatResponse parseAiResponse(OpenAiResponse openAiResponse) {
-        String content = openAiResponse.getChoices().get(0).getMessage().getContent();
-
+    private AiChatResponse parseAiResponse(String content) {
         try {
             // Extract JSON from response (may be wrapped in markdown code blocks)
             String jsonContent = content;
@@ -366,12 +658,25 @@ public class AiServiceImpl implements AiService {
     @Override
     public String generateChatResponse(Long userId, String userMessage) {
         AiChatRequest request = new AiChatRequest(userMessage, 5);
-        AiChatResponse response = chat(userId, request);
+        AiChatResponse response = respond(userId, request);
         return response.getReply();
     }
 
+    /**
+     * Serves the summary pre-generated off-peak by WeeklySummaryPregenerator when there is a
+     * fresh one (one index range read); generates on demand otherwise.
+     */
     @Override
     public String generateWeeklySummary(Long userId) {
+        LocalDateTime freshSince = LocalDateTime.now().minusHours(weeklySummaryFreshHours);
+        Optional<AiReport> pregenerated = aiReportRepository
+                .findFirstByUserIdAndReportTypeAndModelUsedNotAndCreatedAtAfterOrderByCreatedAtDesc(
+                        userId, "WEEKLY_SUMMARY", OpenAiClient.FALLBACK_MODEL, freshSince);
+        if (pregenerated.isPresent()) {
+            log.debug("Serving weekly summary report ID: {} for user ID: {}", pregenerated.get().getId(), userId);
+            return pregenerated.get().getContent();
+        }
+
         AiReportRequest request = new AiReportRequest("WEEKLY_SUMMARY", 7);
         AiReportResponse response = generateReport(userId, request);
         return response.getContent();
@@ -382,4 +687,23 @@ public class AiServiceImpl implements AiService {
         // Simplified implementation
         return "Journal analysis feature - use generateReport with JOURNAL_ANALYSIS type";
     }
+
+    /**
+     * Identity of a report request for coalescing concurrent duplicates.
+     */
+    private record ReportKey(Long userId, String reportType, int days) {
+
+        static ReportKey of(Long userId, AiReportRequest request) {
+            return new ReportKey(userId, request.getReportType(),
+                    request.getDaysToInclude() != null ? request.getDaysToInclude() : 7);
+        }
+    }
+
+    /**
+     * Everything needed to call OpenAI for a report and persist the result afterwards,
+     * or the stored report to return instead.
+     */
+    private record ReportDraft(User user, String reportType, int days, String prompt, OpenAiRequest openAiRequest,
+                               int promptTokens, String fingerprint, AiReport reusable) {
+    }
 }
@@ -0,0 +1,204 @@
+package com.serenmind.service;
+
+/**
+ * Pulls the "reply" string out of a chat completion while it is still being generated.
+ * The model answers with a JSON object (optionally inside a ```json fence); each call to
+ * {@link #accept} takes the next piece of raw output and returns the reply text decoded
+ * from it so far, so the reply can be shown before the object is complete.
+ * Output that does not start with an object is passed through unchanged.
+ * Not thread-safe; use one instance per response.
+ */
+final class ChatReplyStreamParser {
+
+    private enum State {
+        START, FENCE, PLAIN, EXPECT_KEY, KEY, KEY_ESCAPE, EXPECT_COLON, VALUE_START,
+        REPLY, REPLY_ESCAPE, REPLY_UNICODE, SKIP_VALUE, DONE
+    }
+
+    private static final String REPLY_KEY = "reply";
+
+    private final StringBuilder raw = new StringBuilder();
+    private final StringBuilder key = new StringBuilder();
+    private final StringBuilder unicode = new StringBuilder(4);
+
+    private State state = State.START;
+    private int skipDepth;
+    private boolean skipInString;
+    private boolean skipEscape;
+    private char pendingHighSurrogate;
+
+    /**
+     * Feed the next piece of model output.
+     *
+     * @return reply text decoded from this piece, possibly empty
+     */
+    String accept(String chunk) {
+        if (chunk == null || chunk.isEmpty()) {
+            return "";
+        }
+        raw.append(chunk);
+
+        StringBuilder out = new StringBuilder();
+        if (pendingHighSurrogate != 0) {
+            out.append(pendingHighSurrogate);
+            pendingHighSurrogate = 0;
+        }
+        for (int i = 0; i < chunk.length() && state != State.DONE; i++) {
+            step(chunk.charAt(i), out);
+        }
+
+        // Never emit half of a surrogate pair; hold it for the next piece
+        if (out.length() > 0 && Character.isHighSurrogate(out.charAt(out.length() - 1))) {
+            pendingHighSurrogate = out.charAt(out.length() - 1);
+            out.setLength(out.length() - 1);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Everything accepted so far, for parsing the complete response at the end.
+     */
+    String raw() {
+        return raw.toString();
+    }
+
+    private void step(char c, StringBuilder out) {
+        switch (state) {
+            case START -> {
+                if (c == '{') {
+                    state = State.EXPECT_KEY;
+                } else if (c == '`') {
+                    state = State.FENCE;
+                } else if (!Character.isWhitespace(c)) {
+                    state = State.PLAIN;
+                    out.append(c);
+                }
+            }
+            case FENCE -> {
+                if (c == '\n') {
+                    state = State.START;
+                }
+            }
+            case PLAIN -> out.append(c);
+            case EXPECT_KEY -> {
+                if (c == '"') {
+                    key.setLength(0);
+                    state = State.KEY;
+                } else if (c == '}') {
+                    finish();
+                }
+            }
+            case KEY -> {
+                if (c == '"') {
+                    state = State.EXPECT_COLON;
+                } else if (c == '\\') {
+                    state = State.KEY_ESCAPE;
+                } else {
+                    key.append(c);
+                }
+            }
+            case KEY_ESCAPE -> {
+                key.append(c);
+                state = State.KEY;
+            }
+            case EXPECT_COLON -> {
+                if (c == ':') {
+                    state = State.VALUE_START;
+                }
+            }
+            case VALUE_START -> {
+                if (Character.isWhitespace(c)) {
+                    return;
+                }
+                if (c == '"' && REPLY_KEY.contentEquals(key)) {
+                    state = State.REPLY;
+                } else {
+                    skipDepth = 0;
+                    skipInString = false;
+                    skipEscape = false;
+                    state = State.SKIP_VALUE;
+                    skip(c);
+                }
+            }
+            case REPLY -> {
+                if (c == '"') {
+                    finish();
+                } else if (c == '\\') {
+                    state = State.REPLY_ESCAPE;
+                } else {
+                    out.append(c);
+                }
+            }
+            case REPLY_ESCAPE -> {
+                state = State.REPLY;
+                switch (c) {
+                    case 'n' -> out.append('\n');
+                    case 't' -> out.append('\t');
+                    case 'r' -> out.append('\r');
+                    case 'b' -> out.append('\b');
+                    case 'f' -> out.append('\f');
+                    case 'u' -> {
+                        unicode.setLength(0);
+                        state = State.REPLY_UNICODE;
+                    }
+                    default -> out.append(c);
+                }
+            }
+            case REPLY_UNICODE -> {
+                unicode.append(c);
+                if (unicode.length() == 4) {
+                    try {
+                        out.append((char) Integer.parseInt(unicode.toString(), 16));
+                    } catch (NumberFormatException e) {
+                        // Malformed escape; drop it rather than abort the stream
+                    }
+                    state = State.REPLY;
+                }
+            }
+            case SKIP_VALUE -> skip(c);
+            case DONE -> {
+                // Nothing left to extract
+            }
+        }
+    }
+
+    /**
+     * Skip over a non-reply value, tracking strings and nesting so that only a comma or
+     * closing brace of the top-level object ends it.
+     */
+    private void skip(char c) {
+        if (skipInString) {
+            if (skipEscape) {
+                skipEscape = false;
+            } else if (c == '\\') {
+                skipEscape = true;
+            } else if (c == '"') {
+                skipInString = false;
+            }
+            return;
+        }
+        switch (c) {
+            case '"' -> skipInString = true;
+            case '{', '[' -> skipDepth++;
+            case '}', ']' -> {
+                if (skipDepth == 0) {
+                    finish();
+                } else {
+                    skipDepth--;
+                }
+            }
+            case ',' -> {
+                if (skipDepth == 0) {
+                    state = State.EXPECT_KEY;
+                }
+            }
+            default -> {
+                // Part of a scalar value
+            }
+        }
+    }
+
+    private void finish() {
+        state = State.DONE;
+    }
+}
@@ -0,0 +1,35 @@
+package com.serenmind.service;
+
+import com.serenmind.client.OpenAiRequest;
+import com.serenmind.dto.response.ChatSessionResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for server-side AI chat sessions.
+ */
+public interface ChatSessionService {
+
+    /**
+     * Conversation history to send before the new message: the running summary (if any)
+     * followed by the most recent turns verbatim, bounded in turns and tokens.
+     * Empty for a new conversation (null sessionId).
+     */
+    List<OpenAiRequest.Message> getHistoryMessages(Long userId, Long sessionId);
+
+    /**
+     * Store a completed exchange, creating the session if sessionId is null.
+     *
+     * @return the session ID
+     */
+    Long recordExchange(Long userId, Long sessionId, String userMessage, String reply);
+
+    List<ChatSessionResponse> getSessions(Long userId);
+
+    /**
+     * Session with its summary and most recent turns, for resuming in the UI.
+     */
+    ChatSessionResponse getSession(Long userId, Long sessionId);
+
+    void deleteSession(Long userId, Long sessionId);
+}
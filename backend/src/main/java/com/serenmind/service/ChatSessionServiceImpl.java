@@ -0,0 +1,188 @@
+package com.serenmind.service;
+
+import com.serenmind.client.OpenAiRequest;
+import com.serenmind.dto.response.ChatSessionResponse;
+import com.serenmind.event.ChatSessionTurnsAddedEvent;
+import com.serenmind.model.ChatSession;
+import com.serenmind.model.ChatTurn;
+import com.serenmind.repository.ChatSessionRepository;
+import com.serenmind.repository.ChatTurnRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of ChatSessionService.
+ * The prompt carries the running summary plus the last few turns verbatim; once enough
+ * newer turns pile up, ChatSessionSummarizer folds the older ones into the summary in the
+ * background, so prompt size stays bounded without slowing the chat request.
+ */
+@Service
+@Slf4j
+public class ChatSessionServiceImpl implements ChatSessionService {
+
+    private static final int MAX_SESSIONS_LISTED = 50;
+    private static final int RESUME_TURNS = 50;
+
+    private final ChatSessionRepository chatSessionRepository;
+    private final ChatTurnRepository chatTurnRepository;
+    private final PromptTokenCounter promptTokenCounter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int recentTurns;
+    private final int summarizeAfterTurns;
+    private final int historyTokens;
+
+    public ChatSessionServiceImpl(
+            ChatSessionRepository chatSessionRepository,
+            ChatTurnRepository chatTurnRepository,
+            PromptTokenCounter promptTokenCounter,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.openai.chat-sessions.recent-turns:6}") int recentTurns,
+            @Value("${app.openai.chat-sessions.summarize-after-turns:12}") int summarizeAfterTurns,
+            @Value("${app.openai.prompt-budget.chat-history-tokens:1200}") int historyTokens) {
+        this.chatSessionRepository = chatSessionRepository;
+        this.chatTurnRepository = chatTurnRepository;
+        this.promptTokenCounter = promptTokenCounter;
+        this.eventPublisher = eventPublisher;
+        this.recentTurns = recentTurns;
+        this.summarizeAfterTurns = Math.max(summarizeAfterTurns, recentTurns + 2);
+        this.historyTokens = historyTokens;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OpenAiRequest.Message> getHistoryMessages(Long userId, Long sessionId) {
+        if (sessionId == null) {
+            return List.of();
+        }
+        ChatSession session = findOwnedSession(userId, sessionId);
+
+        List<OpenAiRequest.Message> messages = new ArrayList<>();
+        int used = 0;
+        if (session.getSummary() != null && !session.getSummary().isBlank()) {
+            String summary = "Summary of the earlier conversation:\n" + session.getSummary();
+            messages.add(OpenAiRequest.Message.builder().role("system").content(summary).build());
+            used += promptTokenCounter.count(summary);
+        }
+
+        // Newest first while they fit, then back into conversation order
+        List<OpenAiRequest.Message> recent = new ArrayList<>();
+        for (ChatTurn turn : chatTurnRepository.findBySessionIdOrderByIdDesc(sessionId, PageRequest.of(0, recentTurns))) {
+            if (turn.getId() <= session.getSummarizedThroughTurnId()) {
+                break;
+            }
+            used += promptTokenCounter.count(turn.getContent());
+            if (used > historyTokens) {
+                break;
+            }
+            recent.add(OpenAiRequest.Message.builder().role(turn.getRole()).content(turn.getContent()).build());
+        }
+        Collections.reverse(recent);
+        messages.addAll(recent);
+        return messages;
+    }
+
+    @Override
+    @Transactional
+    public Long recordExchange(Long userId, Long sessionId, String userMessage, String reply) {
+        LocalDateTime now = LocalDateTime.now();
+        ChatSession session;
+        if (sessionId == null) {
+            session = chatSessionRepository.save(ChatSession.builder()
+                    .userId(userId)
+                    .title(title(userMessage))
+                    .turnCount(2)
+                    .build());
+            log.info("Chat session created with ID: {} for user ID: {}", session.getId(), userId);
+        } else {
+            session = findOwnedSession(userId, sessionId);
+            chatSessionRepository.addTurns(session.getId(), 2, now);
+        }
+
+        chatTurnRepository.save(ChatTurn.builder()
+                .sessionId(session.getId()).role(ChatTurn.USER).content(userMessage).build());
+        chatTurnRepository.save(ChatTurn.builder()
+                .sessionId(session.getId()).role(ChatTurn.ASSISTANT).content(reply != null ? reply : "").build());
+
+        long unsummarized = chatTurnRepository.countBySessionIdAndIdGreaterThan(
+                session.getId(), session.getSummarizedThroughTurnId());
+        if (unsummarized >= summarizeAfterTurns) {
+            eventPublisher.publishEvent(new ChatSessionTurnsAddedEvent(session.getId()));
+        }
+        return session.getId();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ChatSessionResponse> getSessions(Long userId) {
+        return chatSessionRepository.findByUserIdOrderByUpdatedAtDesc(userId, PageRequest.of(0, MAX_SESSIONS_LISTED))
+                .stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChatSessionResponse getSession(Long userId, Long sessionId) {
+        ChatSession session = findOwnedSession(userId, sessionId);
+
+        List<ChatSessionResponse.Turn> turns = chatTurnRepository
+                .findBySessionIdOrderByIdDesc(sessionId, PageRequest.of(0, RESUME_TURNS))
+                .stream()
+                .map(turn -> ChatSessionResponse.Turn.builder()
+                        .id(turn.getId())
+                        .role(turn.getRole())
+                        .content(turn.getContent())
+                        .createdAt(turn.getCreatedAt())
+                        .build())
+                .collect(Collectors.toCollection(ArrayList::new));
+        Collections.reverse(turns);
+
+        ChatSessionResponse response = mapToResponse(session);
+        response.setSummary(session.getSummary());
+        response.setTurns(turns);
+        return response;
+    }
+
+    @Override
+    @Transactional
+    public void deleteSession(Long userId, Long sessionId) {
+        ChatSession session = findOwnedSession(userId, sessionId);
+        chatSessionRepository.delete(session); // Turns go with it (ON DELETE CASCADE)
+        log.info("Chat session ID: {} deleted for user ID: {}", sessionId, userId);
+    }
+
+    private ChatSession findOwnedSession(Long userId, Long sessionId) {
+        return chatSessionRepository.findByIdAndUserId(sessionId, userId)
+                .orElseThrow(() -> new IllegalArgumentException("Chat session not found"));
+    }
+
+    private static String title(String firstMessage) {
+        String title = firstMessage == null ? "" : firstMessage.trim().replaceAll("\\s+", " ");
+        if (title.isEmpty()) {
+            return "New conversation";
+        }
+        return title.length() > ChatSession.TITLE_LENGTH
+                ? title.substring(0, ChatSession.TITLE_LENGTH - 3) + "..."
+                : title;
+    }
+
+    private ChatSessionResponse mapToResponse(ChatSession session) {
+        return ChatSessionResponse.builder()
+                .id(session.getId())
+                .title(session.getTitle())
+                .turnCount(session.getTurnCount())
+                .createdAt(session.getCreatedAt())
+                .updatedAt(session.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+package com.serenmind.service;
+
+import com.serenmind.client.OpenAiClient;
+import com.serenmind.client.OpenAiRequest;
+import com.serenmind.client.OpenAiResponse;
+import com.serenmind.event.ChatSessionTurnsAddedEvent;
+import com.serenmind.model.ChatSession;
+import com.serenmind.model.ChatTurn;
+import com.serenmind.repository.ChatSessionRepository;
+import com.serenmind.repository.ChatTurnRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Folds older chat turns into the session's running summary, keeping the most recent turns
+ * verbatim. Runs on the chat summary executor after the exchange has committed; the OpenAI
+ * call happens outside any transaction, and the summary is only stored if no other run moved
+ * the boundary meanwhile.
+ */
+@Component
+@Slf4j
+public class ChatSessionSummarizer {
+
+    private static final int MAX_SUMMARY_LENGTH = 4000;
+    private static final String INSTRUCTIONS = "You maintain a running summary of a conversation between a user "
+            + "and a mental wellness assistant. Merge the previous summary and the new messages into one concise "
+            + "summary in plain text (no JSON), third person, keeping facts, feelings, goals and advice already "
+            + "given that later replies should remember.";
+
+    private final ChatSessionRepository chatSessionRepository;
+    private final ChatTurnRepository chatTurnRepository;
+    private final OpenAiClient openAiClient;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.openai.model:gpt-4}")
+    private String model;
+
+    @Value("${app.openai.chat-sessions.recent-turns:6}")
+    private int recentTurns;
+
+    @Value("${app.openai.chat-sessions.summary-max-tokens:300}")
+    private int summaryMaxTokens;
+
+    public ChatSessionSummarizer(
+            ChatSessionRepository chatSessionRepository,
+            ChatTurnRepository chatTurnRepository,
+            OpenAiClient openAiClient,
+            PlatformTransactionManager transactionManager) {
+        this.chatSessionRepository = chatSessionRepository;
+        this.chatTurnRepository = chatTurnRepository;
+        this.openAiClient = openAiClient;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Async("chatSummaryExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTurnsAdded(ChatSessionTurnsAddedEvent event) {
+        Long sessionId = event.getSessionId();
+        if (!inFlight.add(sessionId)) {
+            return; // Already being summarized; the next exchange triggers again if still needed
+        }
+        try {
+            summarize(sessionId);
+        } catch (RuntimeException e) {
+            log.warn("Summarizing chat session ID: {} failed: {}", sessionId, e.getMessage());
+        } finally {
+            inFlight.remove(sessionId);
+        }
+    }
+
+    /**
+     * Fold all but the most recent turns into the summary.
+     *
+     * @return true if a new summary was stored
+     */
+    public boolean summarize(Long sessionId) {
+        Snapshot snapshot = readTransaction.execute(status -> chatSessionRepository.findById(sessionId)
+                .map(session -> new Snapshot(session, chatTurnRepository.findBySessionIdAndIdGreaterThanOrderByIdAsc(
+                        sessionId, session.getSummarizedThroughTurnId())))
+                .orElse(null));
+        if (snapshot == null || snapshot.turns().size() <= recentTurns) {
+            return false;
+        }
+
+        List<ChatTurn> folded = snapshot.turns().subList(0, snapshot.turns().size() - recentTurns);
+        StringBuilder prompt = new StringBuilder();
+        String previous = snapshot.session().getSummary();
+        prompt.append("Previous summary:\n").append(previous != null && !previous.isBlank() ? previous : "(none)");
+        prompt.append("\n\nNew messages:\n");
+        folded.forEach(turn -> prompt.append(ChatTurn.USER.equals(turn.getRole()) ? "User: " : "Assistant: ")
+                .append(turn.getContent()).append('\n'));
+
+        OpenAiResponse response = openAiClient.chatCompletion(OpenAiRequest.builder()
+                .model(model)
+                .temperature(0.2)
+                .maxTokens(summaryMaxTokens)
+                .messages(List.of(
+                        OpenAiRequest.Message.builder().role("system").content(INSTRUCTIONS).build(),
+                        OpenAiRequest.Message.builder().role("user").content(prompt.toString()).build()))
+                .build());
+        // A canned reply is chat JSON, not a summary; storing it would replace the folded turns with it
+        if (response.getFallbackReason() != null || OpenAiClient.MOCK_MODEL.equals(response.getModel())) {
+            log.debug("Skipping summary of chat session ID: {}; no model answer (mock mode or call not admitted)",
+                    sessionId);
+            return false;
+        }
+        String summary = response.getChoices().get(0).getMessage().getContent().trim();
+        if (summary.length() > MAX_SUMMARY_LENGTH) {
+            summary = summary.substring(0, MAX_SUMMARY_LENGTH);
+        }
+
+        Long throughTurnId = folded.get(folded.size() - 1).getId();
+        String newSummary = summary;
+        Integer updated = writeTransaction.execute(status -> chatSessionRepository.updateSummary(
+                sessionId, snapshot.session().getSummarizedThroughTurnId(), throughTurnId, newSummary));
+        log.debug("Chat session ID: {} summarized through turn ID: {} ({} turns folded)",
+                sessionId, throughTurnId, folded.size());
+        return updated != null && updated == 1;
+    }
+
+    private record Snapshot(ChatSession session, List<ChatTurn> turns) {
+    }
+}
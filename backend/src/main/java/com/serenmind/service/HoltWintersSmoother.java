@@ -0,0 +1,108 @@
+package com.serenmind.service;
+
+import com.serenmind.model.MoodForecastState;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Additive Holt-Winters smoothing with a weekly season over daily mood scores.
+ * Every operation works on a {@link MoodForecastState} in O(1) (forecast variance is O(horizon)).
+ */
+public class HoltWintersSmoother {
+
+    public static final int SEASON_LENGTH = 7;
+
+    /** Variance assumed before any one-step errors have been observed (sigma = 2 mood points). */
+    private static final double INITIAL_VARIANCE = 4.0;
+
+    private final double alpha;
+    private final double beta;
+    private final double gamma;
+    private final double errorSmoothing;
+
+    public HoltWintersSmoother(double alpha, double beta, double gamma, double errorSmoothing) {
+        this.alpha = alpha;
+        this.beta = beta;
+        this.gamma = gamma;
+        this.errorSmoothing = errorSmoothing;
+    }
+
+    /**
+     * Create the initial state from the first observation.
+     */
+    public MoodForecastState initialize(Long userId, LocalDate date, double value) {
+        return MoodForecastState.builder()
+                .userId(userId)
+                .level(value)
+                .trend(0.0)
+                .seasonals(new double[SEASON_LENGTH])
+                .residualVariance(INITIAL_VARIANCE)
+                .observations(1)
+                .lastObservedDate(date)
+                .build();
+    }
+
+    /**
+     * Fold one observation into the state. Several entries on the same day refine
+     * the level without advancing the trend. Observations dated before the last
+     * observed day cannot be applied incrementally and are rejected.
+     *
+     * @return the one-step-ahead error for this observation
+     */
+    public double update(MoodForecastState state, LocalDate date, double value) {
+        long steps = ChronoUnit.DAYS.between(state.getLastObservedDate(), date);
+        if (steps < 0) {
+            throw new IllegalArgumentException("Observation is older than the forecast state");
+        }
+
+        double[] seasonals = state.getSeasonals();
+        int season = seasonIndex(date);
+        double level = state.getLevel();
+        double trend = state.getTrend();
+
+        double error = value - forecast(state, date);
+
+        double projectedLevel = level + steps * trend;
+        double newLevel = alpha * (value - seasonals[season]) + (1 - alpha) * projectedLevel;
+        double newTrend = steps > 0
+                ? beta * ((newLevel - level) / steps) + (1 - beta) * trend
+                : trend;
+        seasonals[season] = gamma * (value - newLevel) + (1 - gamma) * seasonals[season];
+
+        state.setLevel(newLevel);
+        state.setTrend(newTrend);
+        state.setSeasonals(seasonals.clone()); // new reference so JPA dirty checking sees the change
+        state.setResidualVariance(errorSmoothing * error * error
+                + (1 - errorSmoothing) * state.getResidualVariance());
+        state.setObservations(state.getObservations() + 1);
+        state.setLastObservedDate(date);
+        return error;
+    }
+
+    /**
+     * Point forecast for the given day.
+     */
+    public double forecast(MoodForecastState state, LocalDate date) {
+        long steps = ChronoUnit.DAYS.between(state.getLastObservedDate(), date);
+        return state.getLevel() + steps * state.getTrend() + state.getSeasonals()[seasonIndex(date)];
+    }
+
+    /**
+     * Standard error of the forecast for the given day, widening with the horizon
+     * following the additive Holt-Winters prediction-interval approximation.
+     */
+    public double standardError(MoodForecastState state, LocalDate date) {
+        long horizon = Math.max(1, ChronoUnit.DAYS.between(state.getLastObservedDate(), date));
+        double sum = 1.0;
+        for (long j = 1; j < horizon; j++) {
+            double c = alpha * (1 + j * beta) + (j % SEASON_LENGTH == 0 ? gamma * (1 - alpha) : 0);
+            sum += c * c;
+        }
+        return Math.sqrt(state.getResidualVariance() * sum);
+    }
+
+    private static int seasonIndex(LocalDate date) {
+        return date.getDayOfWeek().getValue() - 1;
+    }
+}
@@ -0,0 +1,88 @@
+package com.serenmind.service;
+
+import com.serenmind.model.converter.CompressedTextConverter;
+import com.serenmind.repository.JournalEntryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Background migration of existing plain-text journal rows to compressed storage.
+ * Works in small id-ordered batches, each in its own short transaction, and stops
+ * once no plain rows are left. Only active when compression is enabled.
+ */
+@Component
+@ConditionalOnProperty(name = "app.journal.compression.enabled", havingValue = "true")
+@Slf4j
+public class JournalContentCompactor {
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private long lastId = 0;
+    private long compacted = 0;
+    private long bytesBefore = 0;
+    private long bytesAfter = 0;
+    private volatile boolean finished = false;
+
+    public JournalContentCompactor(
+            JournalEntryRepository journalEntryRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.journal.compression.migration.batch-size:200}") int batchSize) {
+        this.journalEntryRepository = journalEntryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${app.journal.compression.migration.initial-delay-ms:30000}",
+               fixedDelayString = "${app.journal.compression.migration.interval-ms:1000}")
+    public void compactNextBatch() {
+        if (finished) {
+            return;
+        }
+
+        // The cursor and totals move only once the batch has committed
+        Batch batch = transactionTemplate.execute(status -> {
+            List<JournalEntryRepository.PlainContentRow> rows =
+                    journalEntryRepository.findPlainContentForUpdate(lastId, PageRequest.of(0, batchSize));
+            long batchLastId = lastId;
+            long before = 0;
+            long after = 0;
+            for (JournalEntryRepository.PlainContentRow row : rows) {
+                byte[] compressed = CompressedTextConverter.compress(row.getContent());
+                journalEntryRepository.storeCompressedContent(row.getId(), compressed);
+                before += row.getContent().getBytes(StandardCharsets.UTF_8).length;
+                after += compressed.length;
+                batchLastId = row.getId();
+            }
+            return new Batch(rows.size(), batchLastId, before, after);
+        });
+
+        Integer processed = batch != null ? batch.processed() : null;
+        if (batch != null) {
+            lastId = batch.lastId();
+            compacted += batch.processed();
+            bytesBefore += batch.bytesBefore();
+            bytesAfter += batch.bytesAfter();
+        }
+        if (processed == null || processed < batchSize) {
+            finished = true;
+            log.info("Journal content compression finished: {} entries, {} -> {} bytes",
+                    compacted, bytesBefore, bytesAfter);
+        } else {
+            log.debug("Compressed {} journal entries so far (last ID: {})", compacted, lastId);
+        }
+    }
+
+    private record Batch(int processed, long lastId, long bytesBefore, long bytesAfter) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.serenmind.service;
+
+import com.serenmind.model.JournalInsight;
+import com.serenmind.repository.JournalInsightRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rebuilds journal insights from history once they are older than the max age, oldest
+ * first. Corrects totals that drifted from change events dropped by the full analysis
+ * queue or made just before a build read history. Throttled to one small batch per interval.
+ */
+@Component
+@ConditionalOnProperty(name = "app.journal.insights.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class JournalInsightsReconciler {
+
+    private final JournalInsightRepository insightRepository;
+    private final JournalInsightsService insightsService;
+    private final int batchSize;
+    private final int maxAgeHours;
+
+    public JournalInsightsReconciler(
+            JournalInsightRepository insightRepository,
+            JournalInsightsService insightsService,
+            @Value("${app.journal.insights.reconcile.batch-size:20}") int batchSize,
+            @Value("${app.journal.insights.reconcile.max-age-hours:24}") int maxAgeHours) {
+        this.insightRepository = insightRepository;
+        this.insightsService = insightsService;
+        this.batchSize = batchSize;
+        this.maxAgeHours = maxAgeHours;
+    }
+
+    @Scheduled(initialDelayString = "${app.journal.insights.reconcile.initial-delay-ms:120000}",
+               fixedDelayString = "${app.journal.insights.reconcile.interval-ms:60000}")
+    public void reconcileNextBatch() {
+        List<Long> userIds = insightRepository.findUserIdsBuiltBefore(JournalInsight.ALL_TIME,
+                LocalDateTime.now().minusHours(maxAgeHours), PageRequest.of(0, batchSize));
+        for (Long userId : userIds) {
+            insightsService.reconcile(userId);
+        }
+        if (!userIds.isEmpty()) {
+            log.debug("Reconciled journal insights for {} users", userIds.size());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.response.JournalInsightsResponse;
+
+/**
+ * Service interface for incrementally maintained journaling insights.
+ */
+public interface JournalInsightsService {
+
+    /**
+     * Get the user's journaling stats; built from history on first call, then kept up to date.
+     */
+    JournalInsightsResponse getInsights(Long userId);
+
+    /**
+     * Rebuild the user's stats from history if they have been built, replacing any drift
+     * in the incrementally applied totals.
+     */
+    void reconcile(Long userId);
+}
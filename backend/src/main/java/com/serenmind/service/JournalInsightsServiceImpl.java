@@ -0,0 +1,292 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.response.JournalInsightsResponse;
+import com.serenmind.event.JournalEntryChangedEvent;
+import com.serenmind.model.JournalEntry;
+import com.serenmind.model.JournalInsight;
+import com.serenmind.model.converter.IntArrayConverter;
+import com.serenmind.repository.JournalEntryRepository;
+import com.serenmind.repository.JournalInsightRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of JournalInsightsService. Each user has one row per month plus an all-time
+ * row holding entry and word totals, an hour-of-day histogram and a Space-Saving summary of
+ * the terms used across entries. Journal changes are applied as deltas after commit, so
+ * reads are two primary-key lookups however much the user has written. The all-time row
+ * records up to when changes are counted, and {@link #reconcile} rebuilds it from history
+ * to correct deltas that were dropped or skipped.
+ */
+@Service
+@Slf4j
+public class JournalInsightsServiceImpl implements JournalInsightsService {
+
+    static final int TERM_CAPACITY = 64;
+    private static final int TOP_THEMES = 10;
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final int HOURS = 24;
+    private static final IntArrayConverter HISTOGRAM = new IntArrayConverter();
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "that", "this", "with", "was", "were", "are", "but", "not", "you", "your",
+            "have", "has", "had", "just", "all", "any", "can", "could", "would", "should", "will", "did",
+            "does", "doing", "done", "been", "being", "from", "about", "into", "out", "over", "then", "than",
+            "them", "they", "their", "there", "here", "what", "when", "where", "which", "who", "why", "how",
+            "also", "very", "really", "much", "more", "most", "some", "such", "only", "own", "same", "too",
+            "again", "still", "even", "because", "while", "after", "before", "today", "yesterday", "tomorrow",
+            "day", "got", "get", "getting", "went", "going", "felt", "feel", "feeling", "think", "thought",
+            "know", "like", "things", "thing", "lot", "bit", "its", "it's", "i'm", "i've", "don't", "didn't",
+            "can't", "myself", "our", "his", "her", "she", "him", "one", "way", "time", "make", "made");
+
+    private final JournalInsightRepository insightRepository;
+    private final JournalEntryRepository journalEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public JournalInsightsServiceImpl(
+            JournalInsightRepository insightRepository,
+            JournalEntryRepository journalEntryRepository,
+            PlatformTransactionManager transactionManager) {
+        this.insightRepository = insightRepository;
+        this.journalEntryRepository = journalEntryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional
+    public JournalInsightsResponse getInsights(Long userId) {
+        JournalInsight allTime = insightRepository.findByUserIdAndPeriod(userId, JournalInsight.ALL_TIME)
+                .orElseGet(() -> rebuild(userId));
+
+        String month = YearMonth.now().toString();
+        JournalInsight current = insightRepository.findByUserIdAndPeriod(userId, month)
+                .orElseGet(() -> emptyInsight(userId, month));
+
+        int[] hours = allTime.getHourHistogram();
+        int peakHour = 0;
+        for (int h = 1; h < HOURS; h++) {
+            if (hours[h] > hours[peakHour]) {
+                peakHour = h;
+            }
+        }
+
+        return JournalInsightsResponse.builder()
+                .totalEntries(allTime.getEntryCount())
+                .totalWords(allTime.getWordCount())
+                .averageWordsPerEntry(allTime.getEntryCount() > 0
+                        ? (double) allTime.getWordCount() / allTime.getEntryCount() : 0.0)
+                .hourHistogram(Arrays.stream(hours).boxed().collect(Collectors.toList()))
+                .peakHour(allTime.getEntryCount() > 0 ? peakHour : null)
+                .month(month)
+                .monthEntries(current.getEntryCount())
+                .monthWords(current.getWordCount())
+                .monthThemes(themes(current))
+                .allTimeThemes(themes(allTime))
+                .build();
+    }
+
+    /**
+     * Apply a committed journal change to the user's insight rows.
+     */
+    @Async("analysisTaskExecutor")
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJournalEntryChanged(JournalEntryChangedEvent event) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyChange(event));
+        } catch (RuntimeException e) {
+            // Drop the aggregates so the next read rebuilds them exactly
+            log.warn("Failed to update journal insights for user ID: {}, resetting", event.getUserId(), e);
+            transactionTemplate.executeWithoutResult(status -> insightRepository.deleteByUserId(event.getUserId()));
+        }
+    }
+
+    void applyChange(JournalEntryChangedEvent event) {
+        if (event.getCreatedAt() == null) {
+            return;
+        }
+        JournalInsight allTime = insightRepository
+                .findByUserIdAndPeriodForUpdate(event.getUserId(), JournalInsight.ALL_TIME)
+                .orElse(null);
+        if (allTime == null) {
+            // Not built yet; the first read builds from full history
+            return;
+        }
+        if (allTime.getChangesThrough() != null && event.getChangedAt() != null
+                && !event.getChangedAt().isAfter(allTime.getChangesThrough())) {
+            // Made before the row was last built from history, which already counted it
+            return;
+        }
+
+        String month = YearMonth.from(event.getCreatedAt()).toString();
+        JournalInsight monthly = insightRepository.findByUserIdAndPeriodForUpdate(event.getUserId(), month)
+                .orElseGet(() -> emptyInsight(event.getUserId(), month));
+        int hour = event.getCreatedAt().getHour();
+
+        switch (event.getChangeType()) {
+            case CREATED -> {
+                TextStats stats = TextStats.of(event.getContent());
+                apply(allTime, stats, hour, 1, true);
+                apply(monthly, stats, hour, 1, true);
+            }
+            case DELETED -> {
+                TextStats stats = TextStats.of(event.getContent());
+                apply(allTime, stats, hour, -1, true);
+                apply(monthly, stats, hour, -1, true);
+            }
+            case UPDATED -> {
+                if (Objects.equals(event.getPreviousContent(), event.getContent())) {
+                    return;
+                }
+                TextStats before = TextStats.of(event.getPreviousContent());
+                TextStats after = TextStats.of(event.getContent());
+                apply(allTime, before, hour, -1, false);
+                apply(allTime, after, hour, 1, false);
+                apply(monthly, before, hour, -1, false);
+                apply(monthly, after, hour, 1, false);
+            }
+        }
+
+        insightRepository.save(allTime);
+        insightRepository.save(monthly);
+    }
+
+    @Override
+    public void reconcile(Long userId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insightRepository
+                    .findByUserIdAndPeriodForUpdate(userId, JournalInsight.ALL_TIME)
+                    .ifPresent(allTime -> replayHistory(userId, allTime)));
+        } catch (RuntimeException e) {
+            log.warn("Failed to reconcile journal insights for user ID: {}, resetting", userId, e);
+            transactionTemplate.executeWithoutResult(status -> insightRepository.deleteByUserId(userId));
+        }
+    }
+
+    /**
+     * Build the user's rows from history. The all-time row is claimed first with an
+     * insert-if-absent: a concurrent first read waits for the claiming transaction and then
+     * returns its row, and change events arriving during the build wait on the row lock and
+     * apply their delta once the build commits instead of being dropped.
+     */
+    private JournalInsight rebuild(Long userId) {
+        int claimed = insightRepository.insertEmptyIfAbsent(userId, JournalInsight.ALL_TIME,
+                HISTOGRAM.convertToDatabaseColumn(new int[HOURS]));
+        JournalInsight allTime = insightRepository.findByUserIdAndPeriodForUpdate(userId, JournalInsight.ALL_TIME)
+                .orElseThrow(() -> new IllegalStateException("Journal insights missing after insert"));
+        if (claimed == 0) {
+            return allTime;
+        }
+
+        log.info("Building journal insights from history for user ID: {}", userId);
+        return replayHistory(userId, allTime);
+    }
+
+    /**
+     * Replace the user's rows with totals replayed from every entry. Runs with the all-time
+     * row locked; events for changes made before the replay read history are skipped.
+     */
+    private JournalInsight replayHistory(Long userId, JournalInsight allTime) {
+        LocalDateTime changesThrough = LocalDateTime.now();
+        insightRepository.deleteByUserIdAndPeriodNot(userId, JournalInsight.ALL_TIME);
+        insightRepository.flush();
+
+        allTime.setEntryCount(0);
+        allTime.setWordCount(0L);
+        allTime.setHourHistogram(new int[HOURS]);
+        allTime.setTopTerms("");
+        allTime.setChangesThrough(changesThrough);
+
+        Map<String, JournalInsight> months = new HashMap<>();
+        for (JournalEntry entry : journalEntryRepository.findByUserIdOrderByCreatedAtDesc(userId)) {
+            LocalDateTime createdAt = entry.getCreatedAt();
+            TextStats stats = TextStats.of(entry.getContent());
+            String month = YearMonth.from(createdAt).toString();
+            apply(allTime, stats, createdAt.getHour(), 1, true);
+            apply(months.computeIfAbsent(month, m -> emptyInsight(userId, m)), stats, createdAt.getHour(), 1, true);
+        }
+
+        insightRepository.saveAll(months.values());
+        return insightRepository.save(allTime);
+    }
+
+    private void apply(JournalInsight insight, TextStats stats, int hour, int sign, boolean countEntry) {
+        insight.setWordCount(Math.max(0, insight.getWordCount() + sign * stats.words()));
+        if (countEntry) {
+            insight.setEntryCount(Math.max(0, insight.getEntryCount() + sign));
+            int[] hours = insight.getHourHistogram();
+            hours[hour] = Math.max(0, hours[hour] + sign);
+            insight.setHourHistogram(hours.clone()); // New instance so the change is detected
+        }
+
+        SpaceSavingCounter terms = SpaceSavingCounter.deserialize(insight.getTopTerms(), TERM_CAPACITY);
+        for (String term : stats.terms()) {
+            if (sign > 0) {
+                terms.increment(term);
+            } else {
+                terms.decrement(term);
+            }
+        }
+        insight.setTopTerms(terms.serialize());
+    }
+
+    private List<JournalInsightsResponse.Theme> themes(JournalInsight insight) {
+        return SpaceSavingCounter.deserialize(insight.getTopTerms(), TERM_CAPACITY)
+                .top(TOP_THEMES)
+                .stream()
+                .map(e -> new JournalInsightsResponse.Theme(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    private JournalInsight emptyInsight(Long userId, String period) {
+        return JournalInsight.builder()
+                .userId(userId)
+                .period(period)
+                .entryCount(0)
+                .wordCount(0L)
+                .hourHistogram(new int[HOURS])
+                .topTerms("")
+                .build();
+    }
+
+    /**
+     * Word count and distinct theme terms of one entry.
+     */
+    record TextStats(long words, Set<String> terms) {
+
+        static TextStats of(String text) {
+            if (text == null || text.isBlank()) {
+                return new TextStats(0, Set.of());
+            }
+            long words = 0;
+            Set<String> terms = new HashSet<>();
+            for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}']+")) {
+                String word = token.replaceAll("^'+|'+$", "");
+                if (word.isEmpty()) {
+                    continue;
+                }
+                words++;
+                if (word.length() >= MIN_TERM_LENGTH && !STOP_WORDS.contains(word) && word.indexOf('\'') < 0) {
+                    terms.add(word);
+                }
+            }
+            return new TextStats(words, terms);
+        }
+    }
+}
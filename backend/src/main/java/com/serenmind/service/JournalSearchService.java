@@ -0,0 +1,14 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.response.JournalSearchResponse;
+
+/**
+ * Service interface for journal full-text search.
+ */
+public interface JournalSearchService {
+
+    /**
+     * Search the user's journal entries, best matches first.
+     */
+    JournalSearchResponse search(Long userId, String query, int page, int size);
+}
@@ -0,0 +1,167 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.response.JournalSearchResponse;
+import com.serenmind.model.JournalEntry;
+import com.serenmind.repository.JournalEntryRepository;
+import com.serenmind.repository.JournalSearchRow;
+import com.serenmind.search.JournalSearchIndex;
+import com.serenmind.search.SnippetHighlighter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.DatabaseMetaData;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of JournalSearchService.
+ * Queries are answered from the embedded {@link JournalSearchIndex} once it is ready.
+ * Until then (or if it fails) MySQL runs MATCH ... AGAINST over the idx_title_content
+ * FULLTEXT index, and other databases (H2 in tests) get an in-memory term-count ranking
+ * with the same contract. With journal compression on, bodies moved to the compressed
+ * column are invisible to FULLTEXT, so the in-memory ranking is used instead.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class JournalSearchServiceImpl implements JournalSearchService {
+
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int MAX_PAGE = 100;
+    private static final int SNIPPET_LENGTH = 200;
+    private static final double TITLE_WEIGHT = 2.0;
+
+    private final JournalEntryRepository journalEntryRepository;
+    private final DataSource dataSource;
+    private final JournalSearchIndex journalSearchIndex;
+
+    @Value("${app.journal.compression.enabled:false}")
+    private boolean compressionEnabled;
+
+    private volatile Boolean fullTextSupported;
+
+    /**
+     * Deliberately not transactional: the index path must not check out a DB connection.
+     */
+    @Override
+    public JournalSearchResponse search(Long userId, String query, int page, int size) {
+        List<String> terms = SnippetHighlighter.terms(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word");
+        }
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageNumber = Math.max(0, Math.min(page, MAX_PAGE));
+        log.info("Searching journal entries for user ID: {} (page {}, size {})", userId, pageNumber, pageSize);
+
+        JournalSearchResponse response = journalSearchIndex.isReady()
+                ? searchIndex(userId, query, terms, pageNumber, pageSize)
+                : searchDatabase(userId, query, terms, pageNumber, pageSize);
+        response.setQuery(query);
+        response.setPage(pageNumber);
+        response.setSize(pageSize);
+        return response;
+    }
+
+    private JournalSearchResponse searchIndex(Long userId, String query, List<String> terms, int page, int size) {
+        try {
+            return journalSearchIndex.search(userId, query, page, size);
+        } catch (IOException e) {
+            log.error("Journal search index query failed, falling back to database: {}", e.getMessage());
+            return searchDatabase(userId, query, terms, page, size);
+        }
+    }
+
+    private JournalSearchResponse searchDatabase(Long userId, String query, List<String> terms, int page, int size) {
+        return !compressionEnabled && isFullTextSupported()
+                ? searchFullText(userId, query, terms, page, size)
+                : searchInMemory(userId, terms, page, size);
+    }
+
+    private JournalSearchResponse searchFullText(Long userId, String query, List<String> terms, int page, int size) {
+        List<JournalSearchResponse.Hit> hits = journalEntryRepository
+                .searchFullText(userId, query, size, page * size)
+                .stream()
+                .map(row -> toHit(row, terms))
+                .collect(Collectors.toList());
+
+        long total = hits.size() < size && page == 0
+                ? hits.size()
+                : journalEntryRepository.countFullText(userId, query);
+
+        return JournalSearchResponse.builder()
+                .totalHits(total)
+                .hits(hits)
+                .build();
+    }
+
+    /**
+     * Functional stand-in for databases without MySQL FULLTEXT: scores entries by
+     * term occurrences (title weighted higher) and pages the ranked list in memory.
+     */
+    private JournalSearchResponse searchInMemory(Long userId, List<String> terms, int page, int size) {
+        List<JournalSearchResponse.Hit> ranked = journalEntryRepository.findByUserIdOrderByCreatedAtDesc(userId)
+                .stream()
+                .map(entry -> toHit(entry, terms))
+                .filter(hit -> hit.getScore() > 0)
+                .sorted(Comparator.comparing(JournalSearchResponse.Hit::getScore).reversed()
+                        .thenComparing(JournalSearchResponse.Hit::getCreatedAt, Comparator.reverseOrder()))
+                .collect(Collectors.toList());
+
+        List<JournalSearchResponse.Hit> pageHits = ranked.stream()
+                .skip((long) page * size)
+                .limit(size)
+                .collect(Collectors.toList());
+
+        return JournalSearchResponse.builder()
+                .totalHits((long) ranked.size())
+                .hits(pageHits)
+                .build();
+    }
+
+    private JournalSearchResponse.Hit toHit(JournalSearchRow row, List<String> terms) {
+        return JournalSearchResponse.Hit.builder()
+                .id(row.getId())
+                .title(row.getTitle())
+                .highlightedTitle(SnippetHighlighter.highlight(row.getTitle(), terms))
+                .snippet(SnippetHighlighter.snippet(row.getContent(), terms, SNIPPET_LENGTH))
+                .tags(row.getTags())
+                .score(row.getScore())
+                .createdAt(row.getCreatedAt())
+                .build();
+    }
+
+    private JournalSearchResponse.Hit toHit(JournalEntry entry, List<String> terms) {
+        double score = TITLE_WEIGHT * SnippetHighlighter.countMatches(entry.getTitle(), terms)
+                + SnippetHighlighter.countMatches(entry.getContent(), terms);
+        return JournalSearchResponse.Hit.builder()
+                .id(entry.getId())
+                .title(entry.getTitle())
+                .highlightedTitle(SnippetHighlighter.highlight(entry.getTitle(), terms))
+                .snippet(SnippetHighlighter.snippet(entry.getContent(), terms, SNIPPET_LENGTH))
+                .tags(entry.getTags())
+                .score(score)
+                .createdAt(entry.getCreatedAt())
+                .build();
+    }
+
+    private boolean isFullTextSupported() {
+        if (fullTextSupported == null) {
+            try {
+                String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+                fullTextSupported = "MySQL".equalsIgnoreCase(product);
+            } catch (MetaDataAccessException e) {
+                log.warn("Could not detect database product, using in-memory journal search: {}", e.getMessage());
+                fullTextSupported = false;
+            }
+        }
+        return fullTextSupported;
+    }
+}
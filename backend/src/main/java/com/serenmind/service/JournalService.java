@@ -1,7 +1,11 @@
 package com.serenmind.service;
 
 import com.serenmind.dto.request.JournalEntryRequest;
+import com.serenmind.dto.request.JournalPatchRequest;
+import com.serenmind.dto.response.JournalEntryPageResponse;
 import com.serenmind.dto.response.JournalEntryResponse;
+import com.serenmind.dto.response.JournalOnThisDayResponse;
+import com.serenmind.dto.response.JournalTagCountResponse;
 
 import java.util.List;
 
@@ -39,5 +43,29 @@ public interface JournalService {
      * Get favorite journal entries.
      */
     List<JournalEntryResponse> getFavoriteJournalEntries(Long userId);
-}
 
+    /**
+     * Get journal entries carrying exactly the given tag.
+     */
+    List<JournalEntryResponse> getJournalEntriesByTag(Long userId, String tag);
+
+    /**
+     * Get the user's tags with entry counts, optionally filtered by prefix for autocomplete.
+     */
+    List<JournalTagCountResponse> getTagCounts(Long userId, String prefix, int limit);
+
+    /**
+     * Get one keyset page of lightweight journal list items, newest first.
+     */
+    JournalEntryPageResponse getJournalEntryPage(Long userId, String cursor, int limit);
+
+    /**
+     * Apply incremental edits on top of the given base version.
+     */
+    JournalEntryResponse patchJournalEntry(Long userId, Long entryId, JournalPatchRequest request);
+
+    /**
+     * Get entries written on today's date in previous years.
+     */
+    JournalOnThisDayResponse getOnThisDay(Long userId);
+}
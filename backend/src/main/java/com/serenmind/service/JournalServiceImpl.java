@@ -1,17 +1,41 @@
 package com.serenmind.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.serenmind.dto.request.JournalEntryRequest;
+import com.serenmind.dto.request.JournalPatchRequest;
+import com.serenmind.dto.response.JournalEntryPageResponse;
 import com.serenmind.dto.response.JournalEntryResponse;
+import com.serenmind.dto.response.JournalEntrySummaryResponse;
+import com.serenmind.dto.response.JournalOnThisDayResponse;
+import com.serenmind.dto.response.JournalTagCountResponse;
+import com.serenmind.event.JournalEntryChangedEvent;
+import com.serenmind.exception.VersionConflictException;
 import com.serenmind.model.JournalEntry;
+import com.serenmind.model.JournalTag;
 import com.serenmind.model.User;
 import com.serenmind.repository.JournalEntryRepository;
+import com.serenmind.repository.JournalSummaryRow;
 import com.serenmind.repository.UserRepository;
+import com.serenmind.search.JournalTagIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.time.Year;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -24,6 +48,22 @@ public class JournalServiceImpl implements JournalService {
 
     private final JournalEntryRepository journalEntryRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JournalTagIndex journalTagIndex;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_MEMORIES = 50;
+
+    /**
+     * On-this-day results per (user, date); entries from earlier years rarely change.
+     */
+    private final Cache<OnThisDayKey, JournalOnThisDayResponse> onThisDayCache = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofHours(24))
+            .build();
+
+    @Value("${app.journal.compression.enabled:false}")
+    private boolean compressContent;
 
     @Override
     @Transactional
@@ -36,15 +76,18 @@ public class JournalServiceImpl implements JournalService {
         JournalEntry journalEntry = JournalEntry.builder()
                 .user(user)
                 .title(request.getTitle())
-                .content(request.getContent())
                 .tags(request.getTags())
                 .isFavorite(request.getIsFavorite() != null ? request.getIsFavorite() : false)
                 .isPrivate(request.getIsPrivate() != null ? request.getIsPrivate() : true)
                 .build();
+        applyContent(journalEntry, request.getContent());
+        applyTags(journalEntry, userId, request.getTags());
 
         journalEntry = journalEntryRepository.save(journalEntry);
         log.info("Journal entry created with ID: {}", journalEntry.getId());
 
+        publishChange(JournalEntryChangedEvent.ChangeType.CREATED, userId, journalEntry);
+
         return mapToJournalEntryResponse(journalEntry);
     }
 
@@ -59,6 +102,42 @@ public class JournalServiceImpl implements JournalService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public JournalEntryPageResponse getJournalEntryPage(Long userId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        log.info("Fetching journal list page for user ID: {} (limit {})", userId, pageSize);
+
+        // Fetch one extra row to learn whether another page exists
+        PageRequest window = PageRequest.of(0, pageSize + 1);
+        List<JournalSummaryRow> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = journalEntryRepository.findSummariesByUserId(userId, window);
+        } else {
+            JournalListCursor position = JournalListCursor.decode(cursor);
+            rows = journalEntryRepository.findSummariesByUserIdBefore(
+                    userId, position.createdAt(), position.id(), window);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<JournalEntrySummaryResponse> items = rows.stream()
+                .limit(pageSize)
+                .map(this::mapToSummaryResponse)
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasMore) {
+            JournalEntrySummaryResponse last = items.get(items.size() - 1);
+            nextCursor = new JournalListCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        return JournalEntryPageResponse.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public JournalEntryResponse getJournalEntryById(Long userId, Long entryId) {
@@ -85,11 +164,16 @@ public class JournalServiceImpl implements JournalService {
         if (!journalEntry.getUser().getId().equals(userId)) {
             throw new IllegalArgumentException("Unauthorized to update this journal entry");
         }
+        if (request.getVersion() != null) {
+            checkVersion(journalEntry, request.getVersion());
+        }
+
+        String previousContent = journalEntry.getContent();
 
         // Update fields
         journalEntry.setTitle(request.getTitle());
-        journalEntry.setContent(request.getContent());
-        journalEntry.setTags(request.getTags());
+        applyContent(journalEntry, request.getContent());
+        applyTags(journalEntry, userId, request.getTags());
         if (request.getIsFavorite() != null) {
             journalEntry.setIsFavorite(request.getIsFavorite());
         }
@@ -97,9 +181,53 @@ public class JournalServiceImpl implements JournalService {
             journalEntry.setIsPrivate(request.getIsPrivate());
         }
 
-        journalEntry = journalEntryRepository.save(journalEntry);
+        journalEntry = saveChecked(journalEntry);
         log.info("Journal entry updated successfully");
 
+        publishChange(JournalEntryChangedEvent.ChangeType.UPDATED, userId, journalEntry, previousContent);
+
+        return mapToJournalEntryResponse(journalEntry);
+    }
+
+    @Override
+    @Transactional
+    public JournalEntryResponse patchJournalEntry(Long userId, Long entryId, JournalPatchRequest request) {
+        log.debug("Patching journal entry ID: {} at version {} for user ID: {}",
+                entryId, request.getBaseVersion(), userId);
+
+        JournalEntry journalEntry = journalEntryRepository.findById(entryId)
+                .orElseThrow(() -> new IllegalArgumentException("Journal entry not found"));
+
+        if (!journalEntry.getUser().getId().equals(userId)) {
+            throw new IllegalArgumentException("Unauthorized to update this journal entry");
+        }
+        checkVersion(journalEntry, request.getBaseVersion());
+        String previousContent = journalEntry.getContent();
+
+        if (request.getEdits() != null && !request.getEdits().isEmpty()) {
+            String content = JournalTextPatcher.apply(journalEntry.getContent(), request.getEdits());
+            if (content.isBlank()) {
+                throw new IllegalArgumentException("Content is required");
+            }
+            applyContent(journalEntry, content);
+        }
+        if (request.getTitle() != null) {
+            journalEntry.setTitle(request.getTitle());
+        }
+        if (request.getTags() != null) {
+            applyTags(journalEntry, userId, request.getTags());
+        }
+        if (request.getIsFavorite() != null) {
+            journalEntry.setIsFavorite(request.getIsFavorite());
+        }
+        if (request.getIsPrivate() != null) {
+            journalEntry.setIsPrivate(request.getIsPrivate());
+        }
+
+        journalEntry = saveChecked(journalEntry);
+
+        publishChange(JournalEntryChangedEvent.ChangeType.UPDATED, userId, journalEntry, previousContent);
+
         return mapToJournalEntryResponse(journalEntry);
     }
 
@@ -117,6 +245,8 @@ public class JournalServiceImpl implements JournalService {
 
         journalEntryRepository.delete(journalEntry);
         log.info("Journal entry deleted successfully");
+
+        publishChange(JournalEntryChangedEvent.ChangeType.DELETED, userId, journalEntry);
     }
 
     @Override
@@ -130,6 +260,139 @@ public class JournalServiceImpl implements JournalService {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<JournalEntryResponse> getJournalEntriesByTag(Long userId, String tag) {
+        log.info("Fetching journal entries tagged '{}' for user ID: {}", tag, userId);
+
+        return journalEntryRepository.findByUserIdAndTag(userId, JournalTag.normalizeOne(tag))
+                .stream()
+                .map(this::mapToJournalEntryResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public JournalOnThisDayResponse getOnThisDay(Long userId) {
+        LocalDate today = LocalDate.now();
+        return onThisDayCache.get(new OnThisDayKey(userId, today), key -> loadOnThisDay(userId, today));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJournalEntryChanged(JournalEntryChangedEvent event) {
+        onThisDayCache.invalidate(new OnThisDayKey(event.getUserId(), LocalDate.now()));
+    }
+
+    private JournalOnThisDayResponse loadOnThisDay(Long userId, LocalDate today) {
+        log.info("Fetching on-this-day entries for user ID: {}", userId);
+
+        List<Integer> monthDays = new ArrayList<>();
+        monthDays.add(today.getMonthValue() * 100 + today.getDayOfMonth());
+        if (MonthDay.from(today).equals(MonthDay.of(2, 28)) && !Year.isLeap(today.getYear())) {
+            monthDays.add(229); // Leap-day entries surface on Feb 28 in other years
+        }
+
+        List<JournalOnThisDayResponse.Memory> memories = journalEntryRepository
+                .findSummariesByMonthDay(userId, monthDays, today.atStartOfDay(), PageRequest.of(0, MAX_MEMORIES))
+                .stream()
+                .map(row -> JournalOnThisDayResponse.Memory.builder()
+                        .id(row.getId())
+                        .title(row.getTitle())
+                        .snippet(row.getSnippet())
+                        .tags(row.getTags())
+                        .yearsAgo(today.getYear() - row.getCreatedAt().getYear())
+                        .createdAt(row.getCreatedAt())
+                        .build())
+                .collect(Collectors.toList());
+
+        return JournalOnThisDayResponse.builder()
+                .date(today)
+                .memories(memories)
+                .build();
+    }
+
+    @Override
+    public List<JournalTagCountResponse> getTagCounts(Long userId, String prefix, int limit) {
+        return journalTagIndex.getTagCounts(userId, prefix, Math.max(1, Math.min(limit, 100)));
+    }
+
+    private void checkVersion(JournalEntry journalEntry, Long expectedVersion) {
+        if (!journalEntry.getVersion().equals(expectedVersion)) {
+            throw new VersionConflictException("Journal entry was modified elsewhere (current version "
+                    + journalEntry.getVersion() + ")");
+        }
+    }
+
+    /**
+     * Flush now so a concurrent write that slipped past checkVersion surfaces as a conflict here.
+     */
+    private JournalEntry saveChecked(JournalEntry journalEntry) {
+        try {
+            return journalEntryRepository.saveAndFlush(journalEntry);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new VersionConflictException("Journal entry was modified elsewhere");
+        }
+    }
+
+    private void applyContent(JournalEntry journalEntry, String content) {
+        journalEntry.setContent(content);
+        if (compressContent) {
+            journalEntry.compressContent();
+        }
+    }
+
+    /**
+     * Sync the junction rows with the comma-separated tags. Only the difference is
+     * applied so unchanged tags are not deleted and re-inserted.
+     */
+    private void applyTags(JournalEntry journalEntry, Long userId, String tags) {
+        Set<String> normalized = JournalTag.normalize(tags);
+        journalEntry.setTags(normalized.isEmpty() ? null : String.join(",", normalized));
+
+        journalEntry.getTagLinks().removeIf(link -> !normalized.contains(link.getTag()));
+        journalEntry.getTagLinks().forEach(link -> normalized.remove(link.getTag()));
+        for (String tag : normalized) {
+            journalEntry.getTagLinks().add(JournalTag.builder()
+                    .journalEntry(journalEntry)
+                    .userId(userId)
+                    .tag(tag)
+                    .build());
+        }
+    }
+
+    /**
+     * Notify listeners (search index etc.); they run once the transaction commits.
+     */
+    private void publishChange(JournalEntryChangedEvent.ChangeType changeType, Long userId, JournalEntry journalEntry) {
+        publishChange(changeType, userId, journalEntry, null);
+    }
+
+    private void publishChange(JournalEntryChangedEvent.ChangeType changeType, Long userId,
+                               JournalEntry journalEntry, String previousContent) {
+        eventPublisher.publishEvent(new JournalEntryChangedEvent(
+                changeType,
+                userId,
+                journalEntry.getId(),
+                journalEntry.getTitle(),
+                journalEntry.getContent(),
+                journalEntry.getTags(),
+                journalEntry.getCreatedAt(),
+                previousContent,
+                LocalDateTime.now()
+        ));
+    }
+
+    private JournalEntrySummaryResponse mapToSummaryResponse(JournalSummaryRow row) {
+        return JournalEntrySummaryResponse.builder()
+                .id(row.getId())
+                .title(row.getTitle())
+                .snippet(row.getSnippet())
+                .tags(row.getTags())
+                .isFavorite(row.getIsFavorite())
+                .isPrivate(row.getIsPrivate())
+                .createdAt(row.getCreatedAt())
+                .build();
+    }
+
     /**
      * Map JournalEntry entity to JournalEntryResponse DTO.
      */
@@ -141,9 +404,14 @@ public class JournalServiceImpl implements JournalService {
                 .tags(journalEntry.getTags())
                 .isFavorite(journalEntry.getIsFavorite())
                 .isPrivate(journalEntry.getIsPrivate())
+                .version(journalEntry.getVersion())
+                .sentimentScore(journalEntry.getSentimentScore())
+                .emotionTags(journalEntry.getEmotionTags())
                 .createdAt(journalEntry.getCreatedAt())
                 .updatedAt(journalEntry.getUpdatedAt())
                 .build();
     }
-}
 
+    private record OnThisDayKey(Long userId, LocalDate date) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.request.JournalPatchRequest;
+
+import java.util.List;
+
+/**
+ * Applies autosave edits to journal text.
+ */
+final class JournalTextPatcher {
+
+    private JournalTextPatcher() {
+    }
+
+    static String apply(String text, List<JournalPatchRequest.Edit> edits) {
+        if (edits == null || edits.isEmpty()) {
+            return text;
+        }
+
+        StringBuilder builder = new StringBuilder(text);
+        for (JournalPatchRequest.Edit edit : edits) {
+            int start = edit.getStart();
+            int deleteCount = edit.getDeleteCount() != null ? edit.getDeleteCount() : 0;
+            if (start < 0 || deleteCount < 0 || start > builder.length() - deleteCount) {
+                throw new IllegalArgumentException("Edit out of range: start " + start
+                        + ", delete " + deleteCount + ", length " + builder.length());
+            }
+            builder.replace(start, start + deleteCount, edit.getInsert() != null ? edit.getInsert() : "");
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.response.MoodForecastBacktestResponse;
+import com.serenmind.model.User;
+import com.serenmind.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backtest command: replays every user's mood history through the forecaster
+ * and logs one-step-ahead error. Run with {@code --app.forecast.backtest.enabled=true};
+ * add {@code --app.forecast.backtest.rebuild=true} to also reset persisted states.
+ */
+@Component
+@ConditionalOnProperty(name = "app.forecast.backtest.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class MoodForecastBacktestRunner implements ApplicationRunner {
+
+    private static final int PAGE_SIZE = 200;
+
+    private final UserRepository userRepository;
+    private final MoodForecastService moodForecastService;
+
+    @Value("${app.forecast.backtest.rebuild:false}")
+    private Boolean rebuild;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Starting mood forecast backtest (rebuild = {})", rebuild);
+
+        int users = 0;
+        long evaluated = 0;
+        double weightedAbsError = 0;
+        double weightedSquaredError = 0;
+        double weightedNaiveAbsError = 0;
+
+        Page<User> page;
+        int pageNumber = 0;
+        do {
+            page = userRepository.findAll(PageRequest.of(pageNumber++, PAGE_SIZE, Sort.by("id")));
+            for (User user : page.getContent()) {
+                MoodForecastBacktestResponse result = moodForecastService.backtest(user.getId());
+                if (rebuild) {
+                    moodForecastService.invalidate(user.getId());
+                }
+                if (result.getEvaluated() == 0) {
+                    continue;
+                }
+
+                users++;
+                evaluated += result.getEvaluated();
+                weightedAbsError += result.getMeanAbsoluteError() * result.getEvaluated();
+                weightedSquaredError += Math.pow(result.getRootMeanSquaredError(), 2) * result.getEvaluated();
+                weightedNaiveAbsError += result.getNaiveMeanAbsoluteError() * result.getEvaluated();
+                log.debug("Backtest user ID: {} -> {}", user.getId(), result);
+            }
+        } while (page.hasNext());
+
+        if (evaluated == 0) {
+            log.info("Mood forecast backtest finished: no users with enough history");
+            return;
+        }
+
+        log.info("Mood forecast backtest finished: users={}, evaluated={}, MAE={}, RMSE={}, naive MAE={}",
+                users, evaluated,
+                String.format("%.3f", weightedAbsError / evaluated),
+                String.format("%.3f", Math.sqrt(weightedSquaredError / evaluated)),
+                String.format("%.3f", weightedNaiveAbsError / evaluated));
+    }
+}
@@ -0,0 +1,32 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.response.MoodForecastBacktestResponse;
+import com.serenmind.dto.response.MoodForecastResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service interface for per-user mood forecasting.
+ */
+public interface MoodForecastService {
+
+    /**
+     * Fold a newly created mood entry into the user's forecast state.
+     */
+    void recordObservation(Long userId, LocalDateTime timestamp, int moodScore);
+
+    /**
+     * Drop the user's forecast state so it is rebuilt from history on next read.
+     */
+    void invalidate(Long userId);
+
+    /**
+     * Get the mood forecast for the next given number of days.
+     */
+    MoodForecastResponse getForecast(Long userId, int days);
+
+    /**
+     * Replay the user's mood history and report one-step-ahead forecast error.
+     */
+    MoodForecastBacktestResponse backtest(Long userId);
+}
@@ -0,0 +1,234 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.response.MoodForecastBacktestResponse;
+import com.serenmind.dto.response.MoodForecastResponse;
+import com.serenmind.model.MoodEntry;
+import com.serenmind.model.MoodForecastState;
+import com.serenmind.model.converter.DoubleArrayConverter;
+import com.serenmind.repository.MoodEntryRepository;
+import com.serenmind.repository.MoodForecastStateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of MoodForecastService backed by persisted Holt-Winters state.
+ * The state is built once from history on first read, then maintained in O(1)
+ * per new mood entry so forecasts never rescan the user's history.
+ */
+@Service
+@Slf4j
+public class MoodForecastServiceImpl implements MoodForecastService {
+
+    private static final double Z_80 = 1.2816;
+    private static final double Z_95 = 1.9600;
+    private static final double MIN_SCORE = 1.0;
+    private static final double MAX_SCORE = 10.0;
+    private static final DoubleArrayConverter SEASONALS = new DoubleArrayConverter();
+
+    private final MoodForecastStateRepository stateRepository;
+    private final MoodEntryRepository moodEntryRepository;
+    private final HoltWintersSmoother smoother;
+
+    @Value("${app.forecast.max-days:28}")
+    private Integer maxDays;
+
+    public MoodForecastServiceImpl(
+            MoodForecastStateRepository stateRepository,
+            MoodEntryRepository moodEntryRepository,
+            @Value("${app.forecast.alpha:0.3}") double alpha,
+            @Value("${app.forecast.beta:0.05}") double beta,
+            @Value("${app.forecast.gamma:0.2}") double gamma,
+            @Value("${app.forecast.error-smoothing:0.1}") double errorSmoothing) {
+        this.stateRepository = stateRepository;
+        this.moodEntryRepository = moodEntryRepository;
+        this.smoother = new HoltWintersSmoother(alpha, beta, gamma, errorSmoothing);
+    }
+
+    @Override
+    @Transactional
+    public void recordObservation(Long userId, LocalDateTime timestamp, int moodScore) {
+        Optional<MoodForecastState> existing = stateRepository.findByUserIdForUpdate(userId);
+        if (existing.isEmpty()) {
+            // State is created lazily from full history on first forecast read
+            return;
+        }
+
+        MoodForecastState state = existing.get();
+        LocalDate date = timestamp.toLocalDate();
+        if (date.isBefore(state.getLastObservedDate())) {
+            log.debug("Back-dated mood entry for user ID: {}, dropping forecast state for rebuild", userId);
+            stateRepository.delete(state);
+            return;
+        }
+
+        smoother.update(state, date, moodScore);
+        stateRepository.save(state);
+    }
+
+    @Override
+    @Transactional
+    public void invalidate(Long userId) {
+        stateRepository.findById(userId).ifPresent(stateRepository::delete);
+    }
+
+    @Override
+    @Transactional
+    public MoodForecastResponse getForecast(Long userId, int days) {
+        log.info("Fetching mood forecast for user ID: {} ({} days)", userId, days);
+        int horizon = Math.max(1, Math.min(days, maxDays));
+
+        MoodForecastState state = stateRepository.findById(userId)
+                .orElseGet(() -> rebuild(userId));
+
+        if (state == null) {
+            return MoodForecastResponse.builder()
+                    .points(List.of())
+                    .observations(0)
+                    .build();
+        }
+
+        List<MoodForecastResponse.ForecastPoint> points = new ArrayList<>();
+        LocalDate firstDay = LocalDate.now().isAfter(state.getLastObservedDate())
+                ? LocalDate.now()
+                : state.getLastObservedDate().plusDays(1);
+
+        for (int i = 0; i < horizon; i++) {
+            LocalDate date = firstDay.plusDays(i);
+            double predicted = smoother.forecast(state, date);
+            double stdError = smoother.standardError(state, date);
+            points.add(MoodForecastResponse.ForecastPoint.builder()
+                    .date(date)
+                    .predicted(round(clamp(predicted)))
+                    .lower80(round(clamp(predicted - Z_80 * stdError)))
+                    .upper80(round(clamp(predicted + Z_80 * stdError)))
+                    .lower95(round(clamp(predicted - Z_95 * stdError)))
+                    .upper95(round(clamp(predicted + Z_95 * stdError)))
+                    .build());
+        }
+
+        return MoodForecastResponse.builder()
+                .points(points)
+                .level(round(state.getLevel()))
+                .trend(round(state.getTrend()))
+                .observations(state.getObservations())
+                .lastObservedDate(state.getLastObservedDate())
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MoodForecastBacktestResponse backtest(Long userId) {
+        List<MoodEntry> history = moodEntryRepository.findByUserIdOrderByTimestampAsc(userId);
+
+        MoodForecastState state = null;
+        int evaluated = 0;
+        int covered = 0;
+        double absError = 0;
+        double squaredError = 0;
+        double naiveAbsError = 0;
+        double previous = 0;
+
+        for (MoodEntry entry : history) {
+            LocalDate date = entry.getTimestamp().toLocalDate();
+            double value = entry.getMoodScore();
+
+            if (state == null) {
+                state = smoother.initialize(userId, date, value);
+                previous = value;
+                continue;
+            }
+
+            boolean warmedUp = state.getObservations() >= HoltWintersSmoother.SEASON_LENGTH;
+            double stdError = smoother.standardError(state, date);
+            double error = smoother.update(state, date, value);
+
+            if (warmedUp) {
+                evaluated++;
+                absError += Math.abs(error);
+                squaredError += error * error;
+                naiveAbsError += Math.abs(value - previous);
+                if (Math.abs(error) <= Z_80 * stdError) {
+                    covered++;
+                }
+            }
+            previous = value;
+        }
+
+        return MoodForecastBacktestResponse.builder()
+                .userId(userId)
+                .observations(history.size())
+                .evaluated(evaluated)
+                .meanAbsoluteError(evaluated > 0 ? round(absError / evaluated) : null)
+                .rootMeanSquaredError(evaluated > 0 ? round(Math.sqrt(squaredError / evaluated)) : null)
+                .naiveMeanAbsoluteError(evaluated > 0 ? round(naiveAbsError / evaluated) : null)
+                .coverage80(evaluated > 0 ? round((double) covered / evaluated) : null)
+                .build();
+    }
+
+    /**
+     * Replay the full mood history once to seed the persisted state.
+     * <p>
+     * Concurrent first reads may both get here: the insert is ignored for all but one, and
+     * everyone continues with the stored row under its lock. An entry committed during the
+     * replay was skipped by {@link #recordObservation} (no state yet), so the history is read
+     * again as a locking read and replayed if the stored state is missing entries.
+     */
+    private MoodForecastState rebuild(Long userId) {
+        List<MoodEntry> history = moodEntryRepository.findByUserIdOrderByTimestampAsc(userId);
+        if (history.isEmpty()) {
+            return null;
+        }
+
+        log.info("Building mood forecast state for user ID: {} from {} entries", userId, history.size());
+        MoodForecastState replayed = replay(userId, history);
+        stateRepository.insertIfAbsent(userId, replayed.getLevel(), replayed.getTrend(),
+                SEASONALS.convertToDatabaseColumn(replayed.getSeasonals()), replayed.getResidualVariance(),
+                replayed.getObservations(), replayed.getLastObservedDate());
+
+        // Holding the row lock, later entries wait for this transaction and then update the state themselves
+        MoodForecastState state = stateRepository.findByUserIdForUpdate(userId)
+                .orElseThrow(() -> new IllegalStateException("Mood forecast state missing after insert"));
+        List<MoodEntry> latest = moodEntryRepository.findByUserIdForShare(userId);
+        if (!latest.isEmpty() && latest.size() != state.getObservations()) {
+            log.info("Mood forecast state for user ID: {} missed {} entries, replaying",
+                    userId, latest.size() - state.getObservations());
+            MoodForecastState current = replay(userId, latest);
+            state.setLevel(current.getLevel());
+            state.setTrend(current.getTrend());
+            state.setSeasonals(current.getSeasonals());
+            state.setResidualVariance(current.getResidualVariance());
+            state.setObservations(current.getObservations());
+            state.setLastObservedDate(current.getLastObservedDate());
+        }
+        return state;
+    }
+
+    private MoodForecastState replay(Long userId, List<MoodEntry> history) {
+        MoodForecastState state = null;
+        for (MoodEntry entry : history) {
+            LocalDate date = entry.getTimestamp().toLocalDate();
+            if (state == null) {
+                state = smoother.initialize(userId, date, entry.getMoodScore());
+            } else {
+                smoother.update(state, date, entry.getMoodScore());
+            }
+        }
+        return state;
+    }
+
+    private static double clamp(double score) {
+        return Math.max(MIN_SCORE, Math.min(MAX_SCORE, score));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+}
@@ -3,12 +3,14 @@ package com.serenmind.service;
 import com.serenmind.dto.request.MoodEntryRequest;
 import com.serenmind.dto.response.MoodEntryResponse;
 import com.serenmind.dto.response.MoodTrendsResponse;
+import com.serenmind.event.MoodEntryChangedEvent;
 import com.serenmind.model.MoodEntry;
 import com.serenmind.model.User;
 import com.serenmind.repository.MoodEntryRepository;
 import com.serenmind.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +31,8 @@ public class MoodServiceImpl implements MoodService {
 
     private final MoodEntryRepository moodEntryRepository;
     private final UserRepository userRepository;
+    private final MoodForecastService moodForecastService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -51,6 +55,10 @@ public class MoodServiceImpl implements MoodService {
         moodEntry = moodEntryRepository.save(moodEntry);
         log.info("Mood entry created with ID: {}", moodEntry.getId());
 
+        moodForecastService.recordObservation(userId, moodEntry.getTimestamp(), moodEntry.getMoodScore());
+        eventPublisher.publishEvent(new MoodEntryChangedEvent(
+                MoodEntryChangedEvent.ChangeType.CREATED, userId, moodEntry.getId(), moodEntry.getTimestamp()));
+
         return mapToMoodEntryResponse(moodEntry);
     }
 
@@ -138,6 +146,9 @@ public class MoodServiceImpl implements MoodService {
         }
 
         moodEntryRepository.delete(moodEntry);
+        moodForecastService.invalidate(userId);
+        eventPublisher.publishEvent(new MoodEntryChangedEvent(
+                MoodEntryChangedEvent.ChangeType.DELETED, userId, entryId, moodEntry.getTimestamp()));
         log.info("Mood entry deleted successfully");
     }
 
@@ -0,0 +1,75 @@
+package com.serenmind.service;
+
+import java.util.List;
+
+/**
+ * Builds prompt text up to a token limit. Required sections are always included; optional
+ * sections are added in the order offered until the next one would not fit, so callers
+ * offer the most important material first.
+ */
+final class PromptBudget {
+
+    private final PromptTokenCounter counter;
+    private final int limit;
+    private final StringBuilder text = new StringBuilder();
+    private int used;
+
+    PromptBudget(PromptTokenCounter counter, int limit) {
+        this.counter = counter;
+        this.limit = limit;
+    }
+
+    /**
+     * Count text that will be added by the caller later (e.g. closing instructions).
+     */
+    void reserve(String later) {
+        used += counter.count(later);
+    }
+
+    void appendRequired(String section) {
+        text.append(section);
+        used += counter.count(section);
+    }
+
+    /**
+     * Append the section if it fits in the remaining budget.
+     *
+     * @return false if it was left out
+     */
+    boolean append(String section) {
+        int tokens = counter.count(section);
+        if (used + tokens > limit) {
+            return false;
+        }
+        text.append(section);
+        used += tokens;
+        return true;
+    }
+
+    /**
+     * Append a heading followed by as many lines as fit, newest first as given. The heading is
+     * only added together with at least one line.
+     *
+     * @return number of lines included
+     */
+    int appendLines(String heading, List<String> lines, String trailer) {
+        if (lines.isEmpty() || !append(heading + lines.get(0))) {
+            return 0;
+        }
+        int included = 1;
+        while (included < lines.size() && append(lines.get(included))) {
+            included++;
+        }
+        appendRequired(trailer);
+        return included;
+    }
+
+    int used() {
+        return used;
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+}
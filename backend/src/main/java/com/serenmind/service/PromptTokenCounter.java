@@ -0,0 +1,93 @@
+package com.serenmind.service;
+
+import com.knuddels.jtokkit.Encodings;
+import com.knuddels.jtokkit.api.Encoding;
+import com.knuddels.jtokkit.api.EncodingRegistry;
+import com.knuddels.jtokkit.api.EncodingType;
+import com.serenmind.client.OpenAiRequest;
+import com.serenmind.client.OpenAiResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Counts prompt tokens locally with the BPE encoding of the configured OpenAI model, so
+ * prompts can be sized before they are sent. Estimates are compared with the usage OpenAI
+ * reports and published as the "ai.prompt.tokens" metrics.
+ */
+@Component
+@Slf4j
+public class PromptTokenCounter {
+
+    /**
+     * Chat format overhead: each message is wrapped in role/separator tokens and the reply is
+     * primed with a few more.
+     */
+    private static final int TOKENS_PER_MESSAGE = 3;
+    private static final int REPLY_PRIMING_TOKENS = 3;
+
+    private final Encoding encoding;
+    private final DistributionSummary estimatedTokens;
+    private final DistributionSummary actualTokens;
+    private final DistributionSummary estimateRatio;
+    private final DistributionSummary completionTokens;
+
+    public PromptTokenCounter(
+            MeterRegistry meterRegistry,
+            @Value("${app.openai.model:gpt-4}") String model) {
+        EncodingRegistry registry = Encodings.newLazyEncodingRegistry();
+        this.encoding = registry.getEncodingForModel(model)
+                .orElseGet(() -> registry.getEncoding(EncodingType.CL100K_BASE));
+        log.info("Counting prompt tokens with {} encoding for model {}", encoding.getName(), model);
+
+        this.estimatedTokens = DistributionSummary.builder("ai.prompt.tokens")
+                .tag("source", "estimated")
+                .description("Prompt tokens counted locally before sending")
+                .register(meterRegistry);
+        this.actualTokens = DistributionSummary.builder("ai.prompt.tokens")
+                .tag("source", "actual")
+                .description("Prompt tokens reported by OpenAI")
+                .register(meterRegistry);
+        this.estimateRatio = DistributionSummary.builder("ai.prompt.tokens.estimate.ratio")
+                .description("Reported prompt tokens divided by the local estimate")
+                .register(meterRegistry);
+        this.completionTokens = DistributionSummary.builder("ai.completion.tokens")
+                .description("Completion tokens reported by OpenAI")
+                .register(meterRegistry);
+    }
+
+    public int count(String text) {
+        return text == null || text.isEmpty() ? 0 : encoding.countTokensOrdinary(text);
+    }
+
+    /**
+     * Prompt tokens of a chat request, including per-message formatting overhead.
+     */
+    public int countMessages(List<OpenAiRequest.Message> messages) {
+        int total = REPLY_PRIMING_TOKENS;
+        for (OpenAiRequest.Message message : messages) {
+            total += TOKENS_PER_MESSAGE + count(message.getRole()) + count(message.getContent());
+        }
+        return total;
+    }
+
+    /**
+     * Record the local estimate against the usage OpenAI reported for the same request.
+     */
+    public void recordUsage(int estimatedPromptTokens, OpenAiResponse.Usage usage) {
+        if (usage == null || usage.getPromptTokens() == null || estimatedPromptTokens <= 0) {
+            return;
+        }
+        estimatedTokens.record(estimatedPromptTokens);
+        actualTokens.record(usage.getPromptTokens());
+        estimateRatio.record((double) usage.getPromptTokens() / estimatedPromptTokens);
+        if (usage.getCompletionTokens() != null) {
+            completionTokens.record(usage.getCompletionTokens());
+        }
+        log.debug("Prompt tokens estimated {}, reported {}", estimatedPromptTokens, usage.getPromptTokens());
+    }
+}
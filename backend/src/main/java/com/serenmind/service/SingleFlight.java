@@ -0,0 +1,71 @@
+package com.serenmind.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one piece of work per key at a time: a caller arriving while the work for its
+ * key is still pending gets the same future instead of starting another. The key is forgotten
+ * as soon as the work finishes, so later callers start fresh.
+ * <p>
+ * Meters {@code <name>.singleflight.calls{outcome=executed|coalesced}} and
+ * {@code <name>.singleflight.in_flight}.
+ */
+final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    SingleFlight(MeterRegistry meterRegistry, String name) {
+        this.executed = Counter.builder(name + ".singleflight.calls")
+                .tag("outcome", "executed")
+                .description("Calls that did the work themselves")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder(name + ".singleflight.calls")
+                .tag("outcome", "coalesced")
+                .description("Calls that shared the result of an identical call already in flight")
+                .register(meterRegistry);
+        Gauge.builder(name + ".singleflight.in_flight", inFlight, Map::size)
+                .description("Keys with work currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start {@code work} for {@code key}, or attach to the call already running for it.
+     * The work is started on the calling thread; if it throws, every attached caller sees
+     * the exception.
+     */
+    CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> work) {
+        CompletableFuture<V> shared = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        executed.increment();
+
+        CompletableFuture<V> result;
+        try {
+            result = work.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((value, error) -> {
+            // Forget the key first, so a caller woken by completion cannot attach to a finished call
+            inFlight.remove(key, shared);
+            if (error != null) {
+                shared.completeExceptionally(error);
+            } else {
+                shared.complete(value);
+            }
+        });
+        return shared;
+    }
+}
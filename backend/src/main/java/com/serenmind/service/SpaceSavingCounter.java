@@ -0,0 +1,93 @@
+package com.serenmind.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving top-K counter (Metwally et al.): tracks at most {@code capacity} terms. When full,
+ * a new term replaces the current minimum and inherits its count, recorded as the error bound.
+ * Counts for tracked terms are over-estimates by at most their error. Decrements are best
+ * effort, used when an entry is edited or deleted.
+ * Serialized as {@code term:count:error} pairs; terms are letters only.
+ */
+public class SpaceSavingCounter {
+
+    private final int capacity;
+    private final Map<String, long[]> counters = new LinkedHashMap<>(); // term -> {count, error}
+
+    public SpaceSavingCounter(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void increment(String term) {
+        long[] counter = counters.get(term);
+        if (counter != null) {
+            counter[0]++;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(term, new long[] {1, 0});
+            return;
+        }
+
+        String minTerm = null;
+        long min = Long.MAX_VALUE;
+        for (Map.Entry<String, long[]> e : counters.entrySet()) {
+            if (e.getValue()[0] < min) {
+                min = e.getValue()[0];
+                minTerm = e.getKey();
+            }
+        }
+        counters.remove(minTerm);
+        counters.put(term, new long[] {min + 1, min});
+    }
+
+    public void decrement(String term) {
+        long[] counter = counters.get(term);
+        if (counter == null) {
+            return;
+        }
+        counter[0]--;
+        counter[1] = Math.min(counter[1], counter[0]);
+        if (counter[0] <= 0) {
+            counters.remove(term);
+        }
+    }
+
+    /**
+     * Tracked terms with their estimated counts, highest first.
+     */
+    public List<Map.Entry<String, Long>> top(int limit) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        counters.forEach((term, counter) -> entries.add(Map.entry(term, counter[0])));
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        return entries.subList(0, Math.min(limit, entries.size()));
+    }
+
+    public String serialize() {
+        StringBuilder out = new StringBuilder();
+        counters.forEach((term, counter) -> {
+            if (!out.isEmpty()) {
+                out.append(',');
+            }
+            out.append(term).append(':').append(counter[0]).append(':').append(counter[1]);
+        });
+        return out.toString();
+    }
+
+    public static SpaceSavingCounter deserialize(String serialized, int capacity) {
+        SpaceSavingCounter counter = new SpaceSavingCounter(capacity);
+        if (serialized == null || serialized.isBlank()) {
+            return counter;
+        }
+        for (String item : serialized.split(",")) {
+            String[] parts = item.split(":");
+            if (parts.length == 3) {
+                counter.counters.put(parts[0], new long[] {Long.parseLong(parts[1]), Long.parseLong(parts[2])});
+            }
+        }
+        return counter;
+    }
+}
@@ -0,0 +1,166 @@
+package com.serenmind.service;
+
+import com.serenmind.client.OpenAiClient;
+import com.serenmind.dto.request.AiReportRequest;
+import com.serenmind.model.BatchCheckpoint;
+import com.serenmind.repository.AiReportRepository;
+import com.serenmind.repository.BatchCheckpointRepository;
+import com.serenmind.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Off-peak pre-generation of weekly summaries, so {@code GET /api/ai/weekly-summary} is
+ * usually a single read instead of an OpenAI call at peak time.
+ * <p>
+ * During the configured weekly window, users with recent mood or journal activity are taken
+ * in id-ordered chunks and a WEEKLY_SUMMARY job is queued for each one without a recent
+ * summary; AiReportJobWorker does the generation. Progress lives in a
+ * {@code batch_checkpoints} row locked while a chunk is taken, so a restart resumes where the
+ * run stopped and several instances share one position. The row's {@code next_run_at} spaces
+ * chunks so at most {@code per-minute} jobs are queued per minute across all instances.
+ */
+@Component
+@ConditionalOnProperty(name = "app.weekly-summary.pregeneration.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class WeeklySummaryPregenerator {
+
+    static final String CHECKPOINT = "weekly-summary-pregeneration";
+    private static final String REPORT_TYPE = "WEEKLY_SUMMARY";
+
+    private final BatchCheckpointRepository batchCheckpointRepository;
+    private final UserRepository userRepository;
+    private final AiReportRepository aiReportRepository;
+    private final AiReportJobService aiReportJobService;
+    private final TransactionTemplate writeTransaction;
+    private final DayOfWeek day;
+    private final LocalTime windowStart;
+    private final LocalTime windowEnd;
+    private final int activeDays;
+    private final int chunkSize;
+    private final int perMinute;
+    private final int skipRecentHours;
+
+    public WeeklySummaryPregenerator(
+            BatchCheckpointRepository batchCheckpointRepository,
+            UserRepository userRepository,
+            AiReportRepository aiReportRepository,
+            AiReportJobService aiReportJobService,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.weekly-summary.pregeneration.day:SUNDAY}") DayOfWeek day,
+            @Value("${app.weekly-summary.pregeneration.window-start:02:00}") LocalTime windowStart,
+            @Value("${app.weekly-summary.pregeneration.window-end:05:00}") LocalTime windowEnd,
+            @Value("${app.weekly-summary.pregeneration.active-days:14}") int activeDays,
+            @Value("${app.weekly-summary.pregeneration.chunk-size:50}") int chunkSize,
+            @Value("${app.weekly-summary.pregeneration.per-minute:30}") int perMinute,
+            @Value("${app.weekly-summary.pregeneration.skip-recent-hours:24}") int skipRecentHours) {
+        this.batchCheckpointRepository = batchCheckpointRepository;
+        this.userRepository = userRepository;
+        this.aiReportRepository = aiReportRepository;
+        this.aiReportJobService = aiReportJobService;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.day = day;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.activeDays = activeDays;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.perMinute = Math.max(1, perMinute);
+        this.skipRecentHours = skipRecentHours;
+    }
+
+    @Scheduled(initialDelayString = "${app.weekly-summary.pregeneration.initial-delay-ms:60000}",
+               fixedDelayString = "${app.weekly-summary.pregeneration.tick-ms:15000}")
+    public void tick() {
+        Optional<LocalDate> run = runDate(LocalDateTime.now());
+        if (run.isEmpty()) {
+            return;
+        }
+        try {
+            writeTransaction.execute(status -> processChunk(run.get().toString(), LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            // The checkpoint is unchanged; the next tick retries the same chunk
+            log.warn("Weekly summary pre-generation chunk failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The date the window containing {@code now} opened on, or empty outside the window.
+     * A window whose end is before its start runs past midnight into the next day.
+     */
+    Optional<LocalDate> runDate(LocalDateTime now) {
+        LocalTime time = now.toLocalTime();
+        LocalDate date = now.toLocalDate();
+        if (!windowEnd.isBefore(windowStart)) {
+            boolean inside = date.getDayOfWeek() == day && !time.isBefore(windowStart) && time.isBefore(windowEnd);
+            return inside ? Optional.of(date) : Optional.empty();
+        }
+        if (date.getDayOfWeek() == day && !time.isBefore(windowStart)) {
+            return Optional.of(date);
+        }
+        if (date.getDayOfWeek() == day.plus(1) && time.isBefore(windowEnd)) {
+            return Optional.of(date.minusDays(1));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Queue jobs for the next chunk of active users and move the checkpoint past it.
+     * Runs with the checkpoint row locked.
+     *
+     * @return number of jobs queued
+     */
+    int processChunk(String runKey, LocalDateTime now) {
+        BatchCheckpoint checkpoint = batchCheckpointRepository.findForUpdate(CHECKPOINT)
+                .orElseGet(() -> batchCheckpointRepository.save(BatchCheckpoint.builder().name(CHECKPOINT).build()));
+        if (!runKey.equals(checkpoint.getRunKey())) {
+            checkpoint.restart(runKey);
+            log.info("Weekly summary pre-generation started for {}", runKey);
+        }
+        if (checkpoint.getCompleted()
+                || (checkpoint.getNextRunAt() != null && now.isBefore(checkpoint.getNextRunAt()))) {
+            return 0;
+        }
+
+        List<Long> userIds = userRepository.findActiveUserIdsAfter(
+                checkpoint.getLastId(), now.minusDays(activeDays), PageRequest.of(0, chunkSize));
+        if (userIds.isEmpty()) {
+            checkpoint.setCompleted(true);
+            log.info("Weekly summary pre-generation for {} finished: {} active users", runKey, checkpoint.getProcessed());
+            return 0;
+        }
+
+        LocalDateTime recentSince = now.minusHours(skipRecentHours);
+        int queued = 0;
+        for (Long userId : userIds) {
+            boolean recent = aiReportRepository
+                    .findFirstByUserIdAndReportTypeAndModelUsedNotAndCreatedAtAfterOrderByCreatedAtDesc(
+                            userId, REPORT_TYPE, OpenAiClient.FALLBACK_MODEL, recentSince)
+                    .isPresent();
+            if (!recent) {
+                aiReportJobService.enqueue(userId, new AiReportRequest(REPORT_TYPE, 7));
+                queued++;
+            }
+        }
+
+        checkpoint.setLastId(userIds.get(userIds.size() - 1));
+        checkpoint.setProcessed(checkpoint.getProcessed() + userIds.size());
+        // Users skipped for a recent summary cost no OpenAI call, so only queued jobs count
+        checkpoint.setNextRunAt(now.plusNanos(60_000_000_000L * queued / perMinute));
+        log.debug("Weekly summary pre-generation queued {} of {} users (last ID: {})",
+                queued, userIds.size(), checkpoint.getLastId());
+        return queued;
+    }
+}
@@ -0,0 +1,281 @@
+package com.serenmind.stub;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.serenmind.client.CannedResponseEngine;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the OpenAI Chat Completions API, so the real client path (WebClient,
+ * JSON, streaming, timeouts, retries and the call guard) can be load-tested offline.
+ * <p>
+ * Serves {@code POST .../chat/completions} on the loopback interface, plain and
+ * {@code stream: true}. Replies come from {@link CannedResponseEngine}; latency, reported
+ * token usage, 429/503 rates and slow-drip writes follow {@link OpenAiStubSettings}. Every
+ * request gets its own thread, so slow responses do not queue behind each other.
+ */
+@Slf4j
+public class OpenAiStubServer {
+
+    private static final String PATH_SUFFIX = "/chat/completions";
+    private static final double Z_99 = 2.3263;
+
+    private final OpenAiStubSettings settings;
+    private final CannedResponseEngine cannedResponseEngine;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong requests = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public OpenAiStubServer(OpenAiStubSettings settings, CannedResponseEngine cannedResponseEngine,
+                            ObjectMapper objectMapper) {
+        this.settings = settings;
+        this.cannedResponseEngine = cannedResponseEngine;
+        this.objectMapper = objectMapper;
+    }
+
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), settings.getPort()), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "openai-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        log.info("OpenAI stub listening on {}", getBaseUrl());
+    }
+
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        log.info("OpenAI stub stopped after {} requests", requests.get());
+    }
+
+    /**
+     * Base URL to configure as {@code app.openai.base-url}.
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/v1";
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!exchange.getRequestURI().getPath().endsWith(PATH_SUFFIX)) {
+                sendError(exchange, 404, "Unknown endpoint", "invalid_request_error");
+                return;
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Use POST", "invalid_request_error");
+                return;
+            }
+            JsonNode request;
+            try (InputStream body = exchange.getRequestBody()) {
+                request = objectMapper.readTree(body);
+            }
+
+            long sequence = requests.incrementAndGet();
+            SplittableRandom random = new SplittableRandom(settings.getSeed() + sequence);
+            sleep(sampleLatency(random));
+
+            double roll = random.nextDouble();
+            if (roll < settings.getRateLimitRate()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendError(exchange, 429, "Rate limit reached for requests", "requests");
+                return;
+            }
+            if (roll < settings.getRateLimitRate() + settings.getServerErrorRate()) {
+                sendError(exchange, 503, "The server is overloaded or not ready yet.", "server_error");
+                return;
+            }
+
+            String model = request.path("model").asText("stub-model");
+            String content = cannedResponseEngine.respond(lastUserMessage(request));
+            if (request.path("stream").asBoolean(false)) {
+                stream(exchange, "stub-" + sequence, model, content);
+            } else {
+                respond(exchange, "stub-" + sequence, model, content, promptTokens(request));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Usually the client gave up (timeout) while the stub was still writing
+            log.debug("OpenAI stub response aborted: {}", e.getMessage());
+        }
+    }
+
+    private void respond(HttpExchange exchange, String id, String model, String content, int promptTokens)
+            throws IOException, InterruptedException {
+        int completionTokens = settings.getCompletionTokens() > 0 ? settings.getCompletionTokens() : estimateTokens(content);
+        ObjectNode response = objectMapper.createObjectNode()
+                .put("id", id)
+                .put("object", "chat.completion")
+                .put("created", System.currentTimeMillis() / 1000)
+                .put("model", model);
+        ObjectNode choice = response.putArray("choices").addObject().put("index", 0);
+        choice.putObject("message").put("role", "assistant").put("content", content);
+        choice.put("finish_reason", "stop");
+        response.putObject("usage")
+                .put("prompt_tokens", promptTokens)
+                .put("completion_tokens", completionTokens)
+                .put("total_tokens", promptTokens + completionTokens);
+
+        byte[] body = objectMapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        OutputStream out = exchange.getResponseBody();
+        int piece = settings.getDripBytes() > 0 ? settings.getDripBytes() : body.length;
+        for (int offset = 0; offset < body.length; offset += piece) {
+            if (offset > 0) {
+                sleep(settings.getDripDelayMs());
+            }
+            out.write(body, offset, Math.min(piece, body.length - offset));
+            out.flush();
+        }
+    }
+
+    private void stream(HttpExchange exchange, String id, String model, String content)
+            throws IOException, InterruptedException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        long created = System.currentTimeMillis() / 1000;
+
+        List<String> pieces = split(content, Math.max(1, settings.getWordsPerChunk()));
+        for (int i = 0; i < pieces.size(); i++) {
+            if (i > 0) {
+                sleep(settings.getDripDelayMs());
+            }
+            ObjectNode delta = objectMapper.createObjectNode();
+            if (i == 0) {
+                delta.put("role", "assistant");
+            }
+            delta.put("content", pieces.get(i));
+            writeEvent(out, chunk(id, model, created, delta, null));
+        }
+        writeEvent(out, chunk(id, model, created, objectMapper.createObjectNode(), "stop"));
+        writeEvent(out, "[DONE]");
+    }
+
+    private String chunk(String id, String model, long created, ObjectNode delta, String finishReason)
+            throws IOException {
+        ObjectNode chunk = objectMapper.createObjectNode()
+                .put("id", id)
+                .put("object", "chat.completion.chunk")
+                .put("created", created)
+                .put("model", model);
+        ObjectNode choice = chunk.putArray("choices").addObject().put("index", 0);
+        choice.set("delta", delta);
+        choice.put("finish_reason", finishReason);
+        return objectMapper.writeValueAsString(chunk);
+    }
+
+    private static void writeEvent(OutputStream out, String data) throws IOException {
+        out.write(("data: " + data + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message, String type) throws IOException {
+        ObjectNode error = objectMapper.createObjectNode();
+        error.putObject("error").put("message", message).put("type", type);
+        byte[] body = objectMapper.writeValueAsBytes(error);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+    }
+
+    private long sampleLatency(SplittableRandom random) {
+        long millis = switch (settings.getLatency()) {
+            case FIXED -> settings.getLatencyMedianMs();
+            case UNIFORM -> settings.getLatencyMaxMs() > settings.getLatencyMinMs()
+                    ? random.nextLong(settings.getLatencyMinMs(), settings.getLatencyMaxMs() + 1)
+                    : settings.getLatencyMinMs();
+            case LOG_NORMAL -> {
+                double median = Math.max(1, settings.getLatencyMedianMs());
+                double sigma = settings.getLatencyP99Ms() > median ? Math.log(settings.getLatencyP99Ms() / median) / Z_99 : 0;
+                yield Math.round(median * Math.exp(sigma * random.nextGaussian()));
+            }
+        };
+        return Math.max(settings.getLatencyMinMs(), Math.min(settings.getLatencyMaxMs(), millis));
+    }
+
+    private int promptTokens(JsonNode request) {
+        if (settings.getPromptTokens() > 0) {
+            return settings.getPromptTokens();
+        }
+        int tokens = 0;
+        for (JsonNode message : request.path("messages")) {
+            tokens += estimateTokens(message.path("content").asText("")) + 4;
+        }
+        return tokens;
+    }
+
+    private static int estimateTokens(String text) {
+        return (text.length() + 3) / 4;
+    }
+
+    private static String lastUserMessage(JsonNode request) {
+        String last = "";
+        for (JsonNode message : request.path("messages")) {
+            if ("user".equals(message.path("role").asText())) {
+                last = message.path("content").asText("");
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Split into pieces of {@code words} words, keeping the whitespace so the pieces join back
+     * into the original text.
+     */
+    private static List<String> split(String text, int words) {
+        List<String> pieces = new ArrayList<>();
+        int start = 0;
+        int count = 0;
+        for (int i = 1; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i - 1)) && !Character.isWhitespace(text.charAt(i)) && ++count == words) {
+                pieces.add(text.substring(start, i));
+                start = i;
+                count = 0;
+            }
+        }
+        pieces.add(text.substring(start));
+        return pieces;
+    }
+
+    private static void sleep(long millis) throws InterruptedException {
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.serenmind.stub;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Behaviour of {@link OpenAiStubServer}: how long it takes to answer, what it reports as
+ * token usage, how often it fails, and how slowly it writes the body. Random choices are
+ * drawn from {@code seed} and the request's sequence number, so a run is reproducible for
+ * the same order of requests.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class OpenAiStubSettings {
+
+    public enum LatencyDistribution {
+        /** always {@code latencyMedianMs} */
+        FIXED,
+        /** uniform between {@code latencyMinMs} and {@code latencyMaxMs} */
+        UNIFORM,
+        /** log-normal through {@code latencyMedianMs} and {@code latencyP99Ms}, within min and max */
+        LOG_NORMAL
+    }
+
+    /** 0 picks a free port */
+    @Builder.Default
+    private int port = 0;
+
+    @Builder.Default
+    private long seed = 42;
+
+    /** Delay before the response headers are sent */
+    @Builder.Default
+    private LatencyDistribution latency = LatencyDistribution.FIXED;
+
+    @Builder.Default
+    private long latencyMedianMs = 0;
+
+    @Builder.Default
+    private long latencyP99Ms = 0;
+
+    @Builder.Default
+    private long latencyMinMs = 0;
+
+    @Builder.Default
+    private long latencyMaxMs = 60_000;
+
+    /** Reported usage; 0 estimates about four characters per token */
+    @Builder.Default
+    private int promptTokens = 0;
+
+    @Builder.Default
+    private int completionTokens = 0;
+
+    /** Share of requests answered with 429 and a Retry-After header */
+    @Builder.Default
+    private double rateLimitRate = 0;
+
+    /** Share of requests answered with 503 */
+    @Builder.Default
+    private double serverErrorRate = 0;
+
+    /** Pause between streamed chunks, and between pieces of a non-streamed body when dripping */
+    @Builder.Default
+    private long dripDelayMs = 0;
+
+    /** Bytes per piece of a non-streamed body; 0 writes it at once */
+    @Builder.Default
+    private int dripBytes = 0;
+
+    /** Words per streamed chunk */
+    @Builder.Default
+    private int wordsPerChunk = 3;
+}
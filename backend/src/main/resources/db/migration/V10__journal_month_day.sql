@@ -0,0 +1,5 @@
+-- "On this day": month * 100 + day of created_at, maintained by MySQL, so entries written on the
+-- same calendar day in any year are one (user_id, month_day) index lookup.
+ALTER TABLE journal_entries
+    ADD COLUMN month_day SMALLINT AS (MONTH(created_at) * 100 + DAYOFMONTH(created_at)) STORED,
+    ADD INDEX idx_user_month_day (user_id, month_day);
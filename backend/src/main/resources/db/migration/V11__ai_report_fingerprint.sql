@@ -0,0 +1,5 @@
+-- SHA-256 of everything a report was generated from (type, window, model settings and the
+-- rendered mood/journal data), so an identical request can reuse the stored report.
+ALTER TABLE ai_reports
+    ADD COLUMN input_fingerprint CHAR(64) NULL,
+    ADD INDEX idx_user_fingerprint (user_id, input_fingerprint);
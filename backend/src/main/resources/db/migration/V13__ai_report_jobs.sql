@@ -0,0 +1,21 @@
+-- Queued AI report generation. Workers claim rows with SELECT ... FOR UPDATE SKIP LOCKED;
+-- available_at is when a QUEUED job may be claimed, or when a RUNNING job's lease expires
+-- and another worker may take it over. attempts fences out a worker whose lease expired.
+CREATE TABLE ai_report_jobs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    report_type VARCHAR(50) NOT NULL,
+    days_to_include INT NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    report_id BIGINT NULL,
+    error_message VARCHAR(500) NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (report_id) REFERENCES ai_reports(id) ON DELETE SET NULL,
+    INDEX idx_status_available (status, available_at),
+    INDEX idx_user_created (user_id, created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
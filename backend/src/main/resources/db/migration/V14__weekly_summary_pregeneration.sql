@@ -0,0 +1,19 @@
+-- Latest report of a type per user is a single index range read (fresh weekly summaries).
+-- Replaces the (user_id, report_type) prefix index.
+ALTER TABLE ai_reports
+    DROP INDEX idx_user_report_type,
+    ADD INDEX idx_user_type_created (user_id, report_type, created_at);
+
+-- Progress of resumable batch jobs. The row is locked while a chunk is taken, so instances
+-- share one position and one rate limit (next_run_at).
+CREATE TABLE batch_checkpoints (
+    name VARCHAR(64) PRIMARY KEY,
+    run_key VARCHAR(32) NULL,
+    last_id BIGINT NOT NULL DEFAULT 0,
+    processed INT NOT NULL DEFAULT 0,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    next_run_at TIMESTAMP NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO batch_checkpoints (name) VALUES ('weekly-summary-pregeneration');
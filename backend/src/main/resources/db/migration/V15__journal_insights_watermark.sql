@@ -0,0 +1,5 @@
+-- Time up to which journal changes are counted in a user's all-time insights row. Change
+-- events made before it are skipped, and rows built long ago are periodically rebuilt.
+ALTER TABLE journal_insights
+    ADD COLUMN changes_through TIMESTAMP NULL,
+    ADD INDEX idx_period_changes_through (period, changes_through);
@@ -0,0 +1,13 @@
+-- Per-user Holt-Winters state for mood forecasting (level / trend / weekly season).
+-- Rows are created lazily on first forecast read and updated incrementally on each new mood entry.
+CREATE TABLE mood_forecast_states (
+    user_id BIGINT PRIMARY KEY,
+    level DOUBLE NOT NULL,
+    trend DOUBLE NOT NULL,
+    seasonals VARCHAR(100) NOT NULL,
+    residual_variance DOUBLE NOT NULL,
+    observations INT NOT NULL,
+    last_observed_date DATE NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
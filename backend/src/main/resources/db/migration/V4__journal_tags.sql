@@ -0,0 +1,31 @@
+-- Normalized journal tags: one row per (entry, tag) so tag filters are exact, indexed lookups
+-- instead of LIKE scans over journal_entries.tags.
+CREATE TABLE journal_tags (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    journal_entry_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    -- Binary collation: tags are already lower-cased, and "cafe" and "café" must stay distinct
+    tag VARCHAR(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin NOT NULL,
+    FOREIGN KEY (journal_entry_id) REFERENCES journal_entries(id) ON DELETE CASCADE,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_journal_tag (journal_entry_id, tag),
+    INDEX idx_user_tag (user_id, tag)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Backfill from the comma-separated tags column, normalized like JournalTag.normalizeOne
+-- (inner whitespace collapsed, trimmed, lower-cased, max 50 chars)
+INSERT IGNORE INTO journal_tags (journal_entry_id, user_id, tag)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1
+    UNION ALL
+    SELECT n + 1 FROM seq WHERE n < 250
+)
+SELECT j.id,
+       j.user_id,
+       LEFT(LOWER(TRIM(REGEXP_REPLACE(
+           SUBSTRING_INDEX(SUBSTRING_INDEX(j.tags, ',', seq.n), ',', -1), '[[:space:]]+', ' '))), 50) AS tag
+FROM journal_entries j
+JOIN seq ON seq.n <= 1 + LENGTH(j.tags) - LENGTH(REPLACE(j.tags, ',', ''))
+WHERE j.tags IS NOT NULL
+  AND TRIM(REGEXP_REPLACE(
+      SUBSTRING_INDEX(SUBSTRING_INDEX(j.tags, ',', seq.n), ',', -1), '[[:space:]]+', ' ')) <> '';
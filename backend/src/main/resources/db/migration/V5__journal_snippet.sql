@@ -0,0 +1,5 @@
+-- Short stored preview so the journal list can be served without reading the TEXT body.
+ALTER TABLE journal_entries ADD COLUMN snippet VARCHAR(200) NULL AFTER content;
+
+UPDATE journal_entries
+SET snippet = LEFT(TRIM(REGEXP_REPLACE(content, '[[:space:]]+', ' ')), 200);
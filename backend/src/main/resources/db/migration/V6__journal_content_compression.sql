@@ -0,0 +1,6 @@
+-- Opt-in compressed storage for journal text (see CompressedTextConverter for the format).
+-- Exactly one of content / content_compressed is set per row. The FULLTEXT index only
+-- covers plain rows; the Lucene index is the search path for compressed ones.
+ALTER TABLE journal_entries
+    MODIFY content TEXT NULL,
+    ADD COLUMN content_compressed MEDIUMBLOB NULL AFTER content;
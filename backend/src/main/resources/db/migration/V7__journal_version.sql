@@ -0,0 +1,2 @@
+-- Optimistic locking for journal edits (JPA @Version); stale PUT/PATCH writes are rejected with 409.
+ALTER TABLE journal_entries ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
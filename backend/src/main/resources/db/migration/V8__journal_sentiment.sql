@@ -0,0 +1,7 @@
+-- Locally computed sentiment per journal entry. sentiment_content_hash is the SHA-256 of the
+-- text that was scored, so unchanged content is not re-analyzed.
+ALTER TABLE journal_entries
+    ADD COLUMN sentiment_score DOUBLE NULL,
+    ADD COLUMN emotion_tags VARCHAR(100) NULL,
+    ADD COLUMN sentiment_content_hash CHAR(64) NULL,
+    ADD COLUMN sentiment_analyzed_at TIMESTAMP NULL;
@@ -0,0 +1,14 @@
+-- Incrementally maintained journaling stats per user: one row per calendar month ('YYYY-MM')
+-- plus an all-time row ('ALL'). Rows are built from history on first read.
+CREATE TABLE journal_insights (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    period VARCHAR(7) NOT NULL,
+    entry_count INT NOT NULL,
+    word_count BIGINT NOT NULL,
+    hour_histogram VARCHAR(200) NOT NULL,
+    top_terms TEXT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    UNIQUE KEY uk_user_period (user_id, period)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
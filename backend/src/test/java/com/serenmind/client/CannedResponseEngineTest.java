@@ -0,0 +1,81 @@
+package com.serenmind.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serenmind.service.AiServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for intent matching of local canned replies.
+ */
+class CannedResponseEngineTest {
+
+    private final CannedResponseEngine engine = new CannedResponseEngine();
+
+    @Test
+    void testClassify_SingleIntent() {
+        assertEquals("anxiety", engine.classify("I've been so ANXIOUS about work"));
+        assertEquals("loneliness", engine.classify("I feel like no one gets me"));
+        assertEquals("confusion", engine.classify("I don’t know what to do anymore"));
+        assertEquals("greeting", engine.classify("Hello there"));
+    }
+
+    @Test
+    void testClassify_HighestWeightWins() {
+        // greeting (2) vs anxiety (3)
+        assertEquals("anxiety", engine.classify("hi, I'm feeling anxious"));
+        // positive "good" (1) vs fatigue "tired" + "sleep" (5)
+        assertEquals("fatigue", engine.classify("good day but so tired, could not sleep"));
+        // sadness and anger tie at 3: declared first wins
+        assertEquals("sadness", engine.classify("sad and angry"));
+    }
+
+    @Test
+    void testClassify_MatchesWholeWordsOnly() {
+        assertEquals(CannedResponseEngine.DEFAULT_INTENT, engine.classify("I made a sandwich"));
+        assertEquals(CannedResponseEngine.DEFAULT_INTENT, engine.classify("They said hi to me"));
+        assertEquals(CannedResponseEngine.DEFAULT_INTENT, engine.classify(""));
+        assertEquals(CannedResponseEngine.DEFAULT_INTENT, engine.classify(null));
+    }
+
+    @Test
+    void testClassify_ChatPromptUsesOnlyTheUsersMessage() {
+        String context = "## User's Recent Activity\n\n" +
+                "### Recent Mood Entries:\n" +
+                "- Mar 09: Mood 4/10, Energy 3/10, Stress 8/10. Stressed and tired after work\n" +
+                "- Mar 08: Mood 6/10, Energy 5/10, Stress 6/10. \n\n" +
+                "### Recent Journal Entries:\n" +
+                "- Mar 09: Overwhelmed - So much pressure this week, feeling anxious\n\n";
+
+        assertEquals("greeting", engine.classify(AiServiceImpl.chatUserPrompt(context, "Hello!")));
+        assertEquals("gratitude", engine.classify(AiServiceImpl.chatUserPrompt(context,
+                "I'm grateful my sister called.\n\nIt helped.")));
+        assertEquals(CannedResponseEngine.DEFAULT_INTENT,
+                engine.classify(AiServiceImpl.chatUserPrompt(context, "What is the capital of France?")));
+    }
+
+    @Test
+    void testRespond_ReturnsChatJson() throws Exception {
+        JsonNode json = new ObjectMapper().readTree(engine.respond("thankful for my friends"));
+
+        assertTrue(json.get("reply").asText().startsWith("Practicing gratitude"));
+        assertTrue(json.hasNonNull("summary"));
+        assertEquals(4, json.get("suggestions").size());
+        assertSame(engine.respond("grateful"), engine.respond("thankful"));
+    }
+
+    @Test
+    void testAutomaton_ReportsOverlappingKeywords() {
+        KeywordAutomaton automaton = new KeywordAutomaton(List.of("he", "she", "hers", "^his"));
+        StringBuilder found = new StringBuilder();
+
+        automaton.scan("his: she, he, hers", id -> found.append(id));
+
+        // "he" inside "she" and "hers" is not a whole word
+        assertEquals("3102", found.toString());
+    }
+}
@@ -0,0 +1,130 @@
+package com.serenmind.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the OpenAI concurrency limit and circuit breaker.
+ */
+class OpenAiCallGuardTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry registry;
+    private OpenAiCallGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        // initial 4, min 2, max 8, slow above 1s, halve on congestion, open after 3 failures for 30s
+        guard = new OpenAiCallGuard(registry, 4, 2, 8, 1000, 0.5, 3, 30, clock::get);
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Test
+    void testAcquire_RejectsOverLimit() {
+        for (int i = 0; i < 4; i++) {
+            guard.acquire();
+        }
+
+        OpenAiCallGuard.RejectedException e =
+                assertThrows(OpenAiCallGuard.RejectedException.class, guard::acquire);
+        assertEquals(OpenAiCallGuard.Rejection.LIMIT, e.getReason());
+        assertEquals(1.0, registry.get("ai.openai.rejected").tag("reason", "limit").counter().count());
+        assertEquals(4.0, registry.get("ai.openai.concurrency.in_flight").gauge().value());
+    }
+
+    @Test
+    void testLimit_GrowsWhenSaturatedAndFast() {
+        for (int round = 0; round < 8; round++) {
+            OpenAiCallGuard.Permit[] permits = new OpenAiCallGuard.Permit[guard.getLimit()];
+            for (int i = 0; i < permits.length; i++) {
+                permits[i] = guard.acquire();
+            }
+            advanceMillis(200);
+            for (OpenAiCallGuard.Permit permit : permits) {
+                permit.succeeded();
+            }
+        }
+
+        assertTrue(guard.getLimit() > 4);
+        assertEquals(0, guard.getInFlight());
+    }
+
+    @Test
+    void testLimit_ShrinksOnSlowResponseButNotBelowMin() {
+        OpenAiCallGuard.Permit permit = guard.acquire();
+        advanceMillis(5000);
+        permit.succeeded();
+        assertEquals(2, guard.getLimit());
+
+        permit = guard.acquire();
+        advanceMillis(5000);
+        permit.succeeded();
+        assertEquals(2, guard.getLimit());
+    }
+
+    @Test
+    void testLimit_StreamUsesTimeToFirstChunk() {
+        OpenAiCallGuard.Permit permit = guard.acquire();
+        advanceMillis(300);
+        permit.responded();
+        advanceMillis(20000);
+        permit.succeeded();
+
+        assertEquals(4, guard.getLimit());
+    }
+
+    @Test
+    void testCircuit_OpensAfterConsecutiveFailuresAndClosesAfterTrial() {
+        for (int i = 0; i < 3; i++) {
+            guard.acquire().failed();
+        }
+        assertEquals(OpenAiCallGuard.CircuitState.OPEN, guard.getState());
+        assertEquals(OpenAiCallGuard.Rejection.CIRCUIT_OPEN,
+                assertThrows(OpenAiCallGuard.RejectedException.class, guard::acquire).getReason());
+
+        advanceMillis(30_000);
+        OpenAiCallGuard.Permit trial = guard.acquire();
+        assertEquals(OpenAiCallGuard.CircuitState.HALF_OPEN, guard.getState());
+        // Only one trial at a time
+        assertThrows(OpenAiCallGuard.RejectedException.class, guard::acquire);
+
+        trial.succeeded();
+        assertEquals(OpenAiCallGuard.CircuitState.CLOSED, guard.getState());
+        assertNotNull(guard.acquire());
+    }
+
+    @Test
+    void testCircuit_FailedTrialReopens() {
+        for (int i = 0; i < 3; i++) {
+            guard.acquire().failed();
+        }
+        advanceMillis(30_000);
+
+        guard.acquire().failed();
+
+        assertEquals(OpenAiCallGuard.CircuitState.OPEN, guard.getState());
+        assertThrows(OpenAiCallGuard.RejectedException.class, guard::acquire);
+    }
+
+    @Test
+    void testPermit_FinishesOnlyOnce() {
+        OpenAiCallGuard.Permit permit = guard.acquire();
+        permit.released();
+        permit.failed();
+        permit.succeeded();
+
+        assertEquals(0, guard.getInFlight());
+        assertEquals(4, guard.getLimit());
+        assertEquals(OpenAiCallGuard.CircuitState.CLOSED, guard.getState());
+    }
+}
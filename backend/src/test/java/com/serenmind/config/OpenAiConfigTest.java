@@ -0,0 +1,90 @@
+package com.serenmind.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serenmind.client.CannedResponseEngine;
+import com.serenmind.profiling.ConnectionHoldProfiler;
+import com.serenmind.stub.OpenAiStubServer;
+import com.serenmind.stub.OpenAiStubSettings;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the OpenAI WebClient against the embedded stub: pooled connections are reused and
+ * pool meters are published.
+ */
+class OpenAiConfigTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private OpenAiStubServer server;
+    private ConnectionProvider connectionProvider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Metrics.globalRegistry.add(registry);
+        server = new OpenAiStubServer(OpenAiStubSettings.builder().build(), new CannedResponseEngine(),
+                new ObjectMapper());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+        server.stop();
+        Metrics.globalRegistry.remove(registry);
+    }
+
+    private WebClient webClient(int maxConnections) {
+        OpenAiConfig config = new OpenAiConfig();
+        ReflectionTestUtils.setField(config, "apiKey", "test");
+        ReflectionTestUtils.setField(config, "baseUrl", server.getBaseUrl());
+        ReflectionTestUtils.setField(config, "maxConnections", maxConnections);
+        ReflectionTestUtils.setField(config, "pendingAcquireMaxCount", 10);
+        ReflectionTestUtils.setField(config, "pendingAcquireTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(config, "maxIdleTimeSeconds", 30L);
+        ReflectionTestUtils.setField(config, "maxLifeTimeSeconds", 60L);
+        ReflectionTestUtils.setField(config, "evictIntervalSeconds", 10L);
+        ReflectionTestUtils.setField(config, "connectTimeoutMs", 1000);
+        ReflectionTestUtils.setField(config, "responseTimeoutSeconds", 5L);
+        ReflectionTestUtils.setField(config, "readTimeoutSeconds", 5);
+        ReflectionTestUtils.setField(config, "writeTimeoutSeconds", 5);
+        ReflectionTestUtils.setField(config, "maxResponseBytes", 1 << 20);
+        ReflectionTestUtils.setField(config, "metrics", true);
+        connectionProvider = config.openAiConnectionProvider();
+        return config.openAiWebClient(connectionProvider, new ConnectionHoldProfiler(new SimpleMeterRegistry(), 500));
+    }
+
+    @Test
+    void testWebClient_ReusesPooledConnectionAndPublishesMeters() {
+        WebClient client = webClient(1);
+
+        for (int i = 0; i < 3; i++) {
+            Map<?, ?> response = client.post().uri("/chat/completions")
+                    .bodyValue(Map.of("model", "gpt-3.5-turbo"))
+                    .retrieve()
+                    .bodyToMono(Map.class)
+                    .block();
+            assertNotNull(response);
+            assertEquals("chat.completion", response.get("object"));
+        }
+
+        assertEquals(3, server.getRequestCount());
+        assertEquals(1.0, registry.get("reactor.netty.connection.provider.max.connections")
+                .tag("name", OpenAiConfig.POOL_NAME).gauge().value());
+        assertEquals(1.0, registry.get("reactor.netty.connection.provider.total.connections")
+                .tag("name", OpenAiConfig.POOL_NAME).gauge().value());
+        assertEquals(0.0, registry.get("reactor.netty.connection.provider.active.connections")
+                .tag("name", OpenAiConfig.POOL_NAME).gauge().value());
+    }
+}
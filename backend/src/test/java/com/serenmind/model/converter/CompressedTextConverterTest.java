@@ -0,0 +1,62 @@
+package com.serenmind.model.converter;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for compressed journal text storage.
+ */
+class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    void testRoundTrip_CompressesTypicalEntry() {
+        String text = "Today I felt anxious before the meeting, but I went for a walk and felt calmer. "
+                .repeat(20);
+
+        byte[] column = converter.convertToDatabaseColumn(text);
+
+        assertEquals(CompressedTextConverter.CODEC_DEFLATE, column[2]);
+        assertTrue(column.length < text.length() / 4);
+        assertEquals(text, converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void testRoundTrip_StoresIncompressibleTextPlain() {
+        String text = "x";
+
+        byte[] column = converter.convertToDatabaseColumn(text);
+
+        assertEquals(CompressedTextConverter.CODEC_STORED, column[2]);
+        assertEquals(text, converter.convertToEntityAttribute(column));
+    }
+
+    @Test
+    void testRoundTrip_PreservesUnicodeAndEmpty() {
+        String text = "Feeling 😊 today — merci, grazie, धन्यवाद";
+
+        assertEquals(text, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(text)));
+        assertEquals("", converter.convertToEntityAttribute(converter.convertToDatabaseColumn("")));
+        assertNull(converter.convertToDatabaseColumn(null));
+    }
+
+    @Test
+    void testDecompress_ReadsUnheaderedBytesAsText() {
+        byte[] legacy = "plain text".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals("plain text", converter.convertToEntityAttribute(legacy));
+    }
+
+    @Test
+    void testDecompress_RejectsTruncatedPayload() {
+        byte[] column = converter.convertToDatabaseColumn("I'm grateful for today. ".repeat(50));
+        byte[] truncated = Arrays.copyOf(column, column.length / 2);
+
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute(truncated));
+    }
+}
@@ -0,0 +1,87 @@
+package com.serenmind.profiling;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for connection hold tracking.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConnectionHoldProfilerTest {
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectionHoldProfiler profiler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        profiler = new ConnectionHoldProfiler(meterRegistry, 500);
+    }
+
+    private Timer timer(String name, String transaction, boolean remote) {
+        return meterRegistry.find(name)
+                .tag("transaction", transaction)
+                .tag("remote_io", Boolean.toString(remote))
+                .timer();
+    }
+
+    @Test
+    void testTrack_RecordsHoldAttributedToTransaction() throws Exception {
+        when(connection.prepareStatement("select 1")).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+
+        Connection tracked = profiler.track(connection);
+        TransactionSynchronizationManager.setCurrentTransactionName("com.example.Service.read");
+        try {
+            PreparedStatement prepared = tracked.prepareStatement("select 1");
+            assertSame(resultSet, prepared.executeQuery());
+        } finally {
+            TransactionSynchronizationManager.setCurrentTransactionName(null);
+        }
+        tracked.close();
+        tracked.close();
+
+        verify(connection, times(2)).close();
+        Timer held = timer("db.connection.held", "com.example.Service.read", false);
+        assertNotNull(held);
+        assertEquals(1, held.count());
+        assertEquals(1, timer("db.connection.busy", "com.example.Service.read", false).count());
+    }
+
+    @Test
+    void testMarkRemoteCall_FlagsConnectionsHeldByThread() throws Exception {
+        Connection tracked = profiler.track(connection);
+        profiler.markRemoteCall();
+        tracked.close();
+
+        // Released connections are not flagged by later calls
+        profiler.markRemoteCall();
+        Connection next = profiler.track(connection);
+        next.close();
+
+        assertEquals(1, timer("db.connection.held", "none", true).count());
+        assertEquals(1, timer("db.connection.held", "none", false).count());
+    }
+}
@@ -0,0 +1,178 @@
+package com.serenmind.search;
+
+import com.serenmind.dto.response.JournalSearchResponse;
+import com.serenmind.event.JournalEntryChangedEvent;
+import com.serenmind.model.JournalEntry;
+import com.serenmind.model.User;
+import com.serenmind.repository.JournalEntryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the embedded journal search index.
+ */
+class JournalSearchIndexTest {
+
+    @TempDir
+    Path indexDir;
+
+    private JournalEntryRepository journalEntryRepository;
+    private JournalSearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User alice = User.builder().id(1L).build();
+        User bob = User.builder().id(2L).build();
+        List<JournalEntry> entries = List.of(
+                entry(10L, alice, "Evening walk", "Walked along the river and felt calmer about work."),
+                entry(11L, alice, "Rough day", "My anxiety was high before the presentation."),
+                entry(12L, bob, "Walking club", "Joined a walking group in the park.")
+        );
+
+        journalEntryRepository = mock(JournalEntryRepository.class);
+        when(journalEntryRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenReturn(entries);
+        when(journalEntryRepository.findByIdGreaterThanOrderByIdAsc(eq(12L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        index = new JournalSearchIndex(journalEntryRepository, new SyncTaskExecutor(),
+                true, indexDir.toString(), false, 100);
+        index.open();
+        index.rebuild();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void testRebuild_MarksIndexReady() {
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    void testSearch_StemsAndScopesToUser() throws Exception {
+        JournalSearchResponse response = index.search(1L, "walking", 0, 10);
+
+        assertEquals(1L, response.getTotalHits());
+        assertEquals(10L, response.getHits().get(0).getId());
+        assertTrue(response.getHits().get(0).getSnippet().contains("<mark>Walk</mark>ed"));
+    }
+
+    @Test
+    void testSearch_ToleratesTypos() throws Exception {
+        JournalSearchResponse response = index.search(1L, "anxeity", 0, 10);
+
+        assertEquals(1L, response.getTotalHits());
+        assertEquals(11L, response.getHits().get(0).getId());
+    }
+
+    @Test
+    void testSearch_Paginates() throws Exception {
+        JournalSearchResponse response = index.search(1L, "walk anxiety", 1, 1);
+
+        assertEquals(2L, response.getTotalHits());
+        assertEquals(1, response.getHits().size());
+    }
+
+    @Test
+    void testChangeEvents_UpdateAndDeleteDocuments() throws Exception {
+        index.onJournalEntryChanged(new JournalEntryChangedEvent(JournalEntryChangedEvent.ChangeType.UPDATED,
+                1L, 11L, "Better day", "The presentation went fine.", null, LocalDateTime.now()));
+        index.onJournalEntryChanged(new JournalEntryChangedEvent(JournalEntryChangedEvent.ChangeType.DELETED,
+                1L, 10L, null, null, null, null));
+        index.refresh();
+
+        assertEquals(0L, index.search(1L, "anxiety", 0, 10).getTotalHits());
+        assertEquals(0L, index.search(1L, "river", 0, 10).getTotalHits());
+        assertEquals(1L, index.search(1L, "presentation", 0, 10).getTotalHits());
+    }
+
+    @Test
+    void testReopen_KeepsCompletedIndexReady() throws Exception {
+        index.close();
+
+        index = new JournalSearchIndex(journalEntryRepository, new SyncTaskExecutor(),
+                true, indexDir.toString(), false, 100);
+        index.open();
+
+        assertTrue(index.isReady());
+        assertEquals(1L, index.search(2L, "park", 0, 10).getTotalHits());
+    }
+
+    @Test
+    void testCatchUp_RemovesEntriesDeletedWhileStopped() throws Exception {
+        index.close();
+        // Entry 10 was deleted after the last commit; nothing else changed
+        when(journalEntryRepository.findByIdGreaterThanAndUpdatedAtAfterOrderByIdAsc(
+                anyLong(), any(LocalDateTime.class), any(Pageable.class))).thenReturn(Collections.emptyList());
+        when(journalEntryRepository.findExistingIds(anyCollection())).thenReturn(List.of(11L, 12L));
+
+        index = new JournalSearchIndex(journalEntryRepository, new SyncTaskExecutor(),
+                true, indexDir.toString(), false, 100);
+        index.open();
+        index.onApplicationReady();
+        index.refresh();
+
+        assertEquals(0L, index.search(1L, "river", 0, 10).getTotalHits());
+        assertEquals(1L, index.search(1L, "anxiety", 0, 10).getTotalHits());
+    }
+
+    @Test
+    void testSearch_DeepPageIsEmpty() throws Exception {
+        JournalSearchResponse response = index.search(1L, "walk", Integer.MAX_VALUE, 50);
+
+        assertEquals(1L, response.getTotalHits());
+        assertTrue(response.getHits().isEmpty());
+    }
+
+    @Test
+    void testRebuild_ReindexesEntriesUpdatedWhileRunning() throws Exception {
+        User alice = User.builder().id(1L).build();
+        JournalEntry stale = entry(10L, alice, "Evening walk", "Walked along the river and felt calmer about work.");
+        JournalEntry fresh = entry(10L, alice, "Evening swim", "Swam laps at the lake instead.");
+        // The batch is read before the update commits, and the update's event lands before the batch is written
+        when(journalEntryRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            index.onJournalEntryChanged(new JournalEntryChangedEvent(JournalEntryChangedEvent.ChangeType.UPDATED,
+                    1L, 10L, fresh.getTitle(), fresh.getContent(), null, fresh.getCreatedAt()));
+            return List.of(stale);
+        });
+        when(journalEntryRepository.findByIdGreaterThanOrderByIdAsc(eq(10L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+        when(journalEntryRepository.findAllById(Set.of(10L))).thenReturn(List.of(fresh));
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(0L, index.search(1L, "river", 0, 10).getTotalHits());
+        assertEquals(1L, index.search(1L, "lake", 0, 10).getTotalHits());
+    }
+
+    private static JournalEntry entry(Long id, User user, String title, String content) {
+        return JournalEntry.builder()
+                .id(id)
+                .user(user)
+                .title(title)
+                .content(content)
+                .createdAt(LocalDateTime.now().minusDays(id))
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.serenmind.search;
+
+import com.serenmind.dto.response.JournalTagCountResponse;
+import com.serenmind.event.JournalEntryChangedEvent;
+import com.serenmind.repository.JournalTagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the per-user tag count cache.
+ */
+@ExtendWith(MockitoExtension.class)
+class JournalTagIndexTest {
+
+    @Mock
+    private JournalTagRepository journalTagRepository;
+
+    private JournalTagIndex tagIndex;
+
+    @BeforeEach
+    void setUp() {
+        tagIndex = new JournalTagIndex(journalTagRepository, 100, 30);
+        when(journalTagRepository.countTagsByUserId(1L)).thenReturn(List.of(
+                row("gratitude", 5L), row("gym", 2L), row("work", 7L), row("growth", 2L)));
+    }
+
+    @Test
+    void testGetTagCounts_OrdersByCountThenName() {
+        List<JournalTagCountResponse> tags = tagIndex.getTagCounts(1L, null, 3);
+
+        assertEquals(List.of("work", "gratitude", "growth"),
+                tags.stream().map(JournalTagCountResponse::getTag).toList());
+        assertEquals(7L, tags.get(0).getCount());
+    }
+
+    @Test
+    void testGetTagCounts_FiltersByNormalizedPrefix() {
+        List<JournalTagCountResponse> tags = tagIndex.getTagCounts(1L, " G", 10);
+
+        assertEquals(List.of("gratitude", "growth", "gym"),
+                tags.stream().map(JournalTagCountResponse::getTag).toList());
+    }
+
+    @Test
+    void testGetTagCounts_CachedUntilJournalChanges() {
+        tagIndex.getTagCounts(1L, null, 10);
+        tagIndex.getTagCounts(1L, "w", 10);
+        verify(journalTagRepository, times(1)).countTagsByUserId(1L);
+
+        tagIndex.onJournalEntryChanged(new JournalEntryChangedEvent(
+                JournalEntryChangedEvent.ChangeType.UPDATED, 1L, 9L, "t", "c", "work", LocalDateTime.now()));
+        tagIndex.getTagCounts(1L, null, 10);
+
+        verify(journalTagRepository, times(2)).countTagsByUserId(1L);
+    }
+
+    private JournalTagRepository.TagCountRow row(String tag, Long count) {
+        return new JournalTagRepository.TagCountRow() {
+            @Override
+            public String getTag() {
+                return tag;
+            }
+
+            @Override
+            public Long getCount() {
+                return count;
+            }
+        };
+    }
+}
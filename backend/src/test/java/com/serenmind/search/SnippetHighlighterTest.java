@@ -0,0 +1,67 @@
+package com.serenmind.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for search snippet highlighting.
+ */
+class SnippetHighlighterTest {
+
+    @Test
+    void testTerms_SplitsAndDeduplicates() {
+        assertEquals(List.of("morning", "walk"), SnippetHighlighter.terms("Morning walk, morning!"));
+        assertTrue(SnippetHighlighter.terms("  a ! ").isEmpty());
+    }
+
+    @Test
+    void testHighlight_MatchesWordPrefixOnly() {
+        List<String> terms = SnippetHighlighter.terms("walk");
+
+        assertEquals("<mark>Walk</mark>ing by the sidewalk",
+                SnippetHighlighter.highlight("Walking by the sidewalk", terms));
+    }
+
+    @Test
+    void testSnippet_EscapesHtml() {
+        List<String> terms = SnippetHighlighter.terms("calm");
+
+        String snippet = SnippetHighlighter.snippet("<b>I felt calm & rested</b>", terms, 200);
+
+        assertEquals("&lt;b&gt;I felt <mark>calm</mark> &amp; rested&lt;/b&gt;", snippet);
+    }
+
+    @Test
+    void testSnippet_CentersOnFirstMatch() {
+        String text = "Lorem ipsum dolor sit amet ".repeat(10) + "today I went for a long run by the river " +
+                "and it cleared my head. ".repeat(10);
+        List<String> terms = SnippetHighlighter.terms("river");
+
+        String snippet = SnippetHighlighter.snippet(text, terms, 100);
+
+        assertTrue(snippet.startsWith("…"));
+        assertTrue(snippet.endsWith("…"));
+        assertTrue(snippet.contains("<mark>river</mark>"));
+        assertTrue(snippet.length() <= 100 + "<mark></mark>".length() + 2);
+    }
+
+    @Test
+    void testHighlight_KeepsOffsetsWhenLowerCaseChangesLength() {
+        List<String> terms = SnippetHighlighter.terms("walk");
+
+        // "İ" lower-cases to two chars, which used to shift every later match
+        assertEquals("İİ <mark>walk</mark>", SnippetHighlighter.highlight("İİ walk", terms));
+        assertEquals("İstanbul <mark>Walk</mark>s", SnippetHighlighter.snippet("İstanbul Walks", terms, 200));
+    }
+
+    @Test
+    void testCountMatches() {
+        List<String> terms = SnippetHighlighter.terms("sleep tired");
+
+        assertEquals(3, SnippetHighlighter.countMatches("Tired. Slept badly, sleep is hard when tired", terms));
+        assertEquals(0, SnippetHighlighter.countMatches(null, terms));
+    }
+}
@@ -0,0 +1,56 @@
+package com.serenmind.sentiment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the local lexicon sentiment analyzer.
+ */
+class LexiconSentimentAnalyzerTest {
+
+    private final LexiconSentimentAnalyzer analyzer = new LexiconSentimentAnalyzer();
+
+    @Test
+    void testAnalyze_PositiveAndNegative() {
+        SentimentResult positive = analyzer.analyze("I feel really happy and grateful today.");
+        SentimentResult negative = analyzer.analyze("Everything was awful. I feel sad and lonely.");
+
+        assertEquals("POSITIVE", positive.label());
+        assertEquals("NEGATIVE", negative.label());
+        assertEquals(List.of("gratitude", "joy"), positive.emotions().stream().sorted().toList());
+        assertEquals("sadness", negative.emotions().get(0));
+    }
+
+    @Test
+    void testAnalyze_NegationFlipsValence() {
+        double plain = analyzer.analyze("I am happy.").score();
+        double negated = analyzer.analyze("I am not happy.").score();
+        double contracted = analyzer.analyze("I don't feel happy.").score();
+
+        assertTrue(plain > 0);
+        assertTrue(negated < 0);
+        assertTrue(contracted < 0);
+        assertTrue(analyzer.analyze("I am not happy.").emotions().isEmpty());
+    }
+
+    @Test
+    void testAnalyze_ClauseAfterButDominates() {
+        SentimentResult result = analyzer.analyze("The morning was stressful but the evening was wonderful.");
+
+        assertTrue(result.score() > 0);
+    }
+
+    @Test
+    void testAnalyze_ScoreIsBounded() {
+        String text = "amazing wonderful great love joy ".repeat(200);
+
+        double score = analyzer.analyze(text).score();
+
+        assertTrue(score > 0.99 && score <= 1.0);
+        assertEquals(0.0, analyzer.analyze("   ").score());
+        assertEquals("NEUTRAL", analyzer.analyze("I went to the shop.").label());
+    }
+}
@@ -0,0 +1,66 @@
+package com.serenmind.service;
+
+import com.serenmind.event.JournalEntryChangedEvent;
+import com.serenmind.event.MoodEntryChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-user AI chat context cache.
+ */
+class AiContextCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AiContextCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new AiContextCache(meterRegistry, 100, 10);
+        loads = new AtomicInteger();
+    }
+
+    private String load(Long userId, int contextSize) {
+        return cache.get(userId, contextSize, () -> "context-" + userId + "-" + contextSize + "-" + loads.incrementAndGet());
+    }
+
+    @Test
+    void testGet_LoadsOncePerUserAndSize() {
+        String first = load(1L, 5);
+
+        assertEquals(first, load(1L, 5));
+        assertNotEquals(first, load(1L, 3));
+        assertEquals(2, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "ai.context").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "ai.context").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testWriteEvents_EvictOnlyThatUser() {
+        load(1L, 5);
+        load(1L, 20);
+        load(2L, 5);
+
+        cache.onMoodEntryChanged(new MoodEntryChangedEvent(
+                MoodEntryChangedEvent.ChangeType.CREATED, 1L, 10L, LocalDateTime.now()));
+        load(1L, 5);
+        load(1L, 20);
+        load(2L, 5);
+        assertEquals(5, loads.get());
+
+        cache.onJournalEntryChanged(new JournalEntryChangedEvent(
+                JournalEntryChangedEvent.ChangeType.DELETED, 2L, 7L, "t", "c", null, LocalDateTime.now()));
+        load(1L, 5);
+        load(2L, 5);
+        assertEquals(6, loads.get());
+    }
+}
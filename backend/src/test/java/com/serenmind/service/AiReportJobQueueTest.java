@@ -0,0 +1,183 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.request.AiReportRequest;
+import com.serenmind.model.AiReportJob;
+import com.serenmind.model.BatchCheckpoint;
+import com.serenmind.repository.AiReportJobRepository;
+import com.serenmind.repository.AiReportRepository;
+import com.serenmind.repository.BatchCheckpointRepository;
+import com.serenmind.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Enqueues through the transactional callers and checks the after-commit dispatch starts
+ * jobs without waiting for the poller (scheduling is not enabled here).
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class AiReportJobQueueTest {
+
+    private AnnotationConfigApplicationContext context;
+    private AiReportJobRepository aiReportJobRepository;
+    private AiService aiService;
+    private final Map<Long, AiReportJob> jobs = new ConcurrentSkipListMap<>();
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new InMemoryTransactionManager();
+        }
+
+        @Bean
+        AiReportJobRepository aiReportJobRepository() {
+            return mock(AiReportJobRepository.class);
+        }
+
+        @Bean
+        UserRepository userRepository() {
+            return mock(UserRepository.class);
+        }
+
+        @Bean
+        AiReportRepository aiReportRepository() {
+            return mock(AiReportRepository.class);
+        }
+
+        @Bean
+        BatchCheckpointRepository batchCheckpointRepository() {
+            return mock(BatchCheckpointRepository.class);
+        }
+
+        @Bean
+        AiService aiService() {
+            return mock(AiService.class);
+        }
+
+        @Bean
+        AiReportJobService aiReportJobService(AiReportJobRepository aiReportJobRepository,
+                                              UserRepository userRepository,
+                                              ApplicationEventPublisher eventPublisher,
+                                              PlatformTransactionManager transactionManager) {
+            return new AiReportJobServiceImpl(aiReportJobRepository, userRepository, eventPublisher,
+                    new SyncTaskExecutor(), transactionManager);
+        }
+
+        @Bean
+        AiReportJobWorker aiReportJobWorker(AiReportJobRepository aiReportJobRepository, AiService aiService,
+                                            PlatformTransactionManager transactionManager) {
+            return new AiReportJobWorker(aiReportJobRepository, aiService, transactionManager, 2, 3, 300, 30);
+        }
+
+        @Bean
+        WeeklySummaryPregenerator weeklySummaryPregenerator(BatchCheckpointRepository batchCheckpointRepository,
+                                                            UserRepository userRepository,
+                                                            AiReportRepository aiReportRepository,
+                                                            AiReportJobService aiReportJobService,
+                                                            PlatformTransactionManager transactionManager) {
+            // Window open all day today
+            return new WeeklySummaryPregenerator(batchCheckpointRepository, userRepository, aiReportRepository,
+                    aiReportJobService, transactionManager, LocalDate.now().getDayOfWeek(), LocalTime.MIN,
+                    LocalTime.MAX, 14, 50, 600, 24);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(Config.class);
+        aiReportJobRepository = context.getBean(AiReportJobRepository.class);
+        aiService = context.getBean(AiService.class);
+
+        when(context.getBean(UserRepository.class).existsById(anyLong())).thenReturn(true);
+        when(aiReportJobRepository.save(any(AiReportJob.class))).thenAnswer(invocation -> {
+            AiReportJob job = invocation.getArgument(0);
+            job.setId(jobs.size() + 1L);
+            jobs.put(job.getId(), job);
+            return job;
+        });
+        when(aiReportJobRepository.lockClaimable(any(), anyInt())).thenAnswer(invocation -> jobs.values().stream()
+                .filter(job -> job.getStatus() == AiReportJob.Status.QUEUED)
+                .map(AiReportJob::getId)
+                .limit((int) invocation.getArgument(1))
+                .toList());
+        // Like a JPA bulk update, the claim needs a live transaction
+        when(aiReportJobRepository.claim(anyCollection(), any(), any())).thenAnswer(invocation -> {
+            if (!InMemoryTransactionManager.isWritable()) {
+                throw new InvalidDataAccessApiUsageException("Executing an update/delete query");
+            }
+            Collection<Long> ids = invocation.getArgument(0);
+            ids.forEach(id -> {
+                jobs.get(id).setStatus(AiReportJob.Status.RUNNING);
+                jobs.get(id).setAttempts(jobs.get(id).getAttempts() + 1);
+            });
+            return ids.size();
+        });
+        when(aiReportJobRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            List<AiReportJob> found = new ArrayList<>();
+            ids.forEach(id -> found.add(jobs.get(id)));
+            return found;
+        });
+        when(aiService.generateReportAsync(anyLong(), any(AiReportRequest.class))).thenReturn(new CompletableFuture<>());
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void testEnqueue_DispatchesAfterCommit() {
+        context.getBean(AiReportJobService.class).enqueue(1L, new AiReportRequest("WEEKLY_SUMMARY", 7));
+
+        AiReportJob job = jobs.get(1L);
+        assertEquals(AiReportJob.Status.RUNNING, job.getStatus());
+        assertEquals(1, job.getAttempts());
+        verify(aiService).generateReportAsync(eq(1L), any(AiReportRequest.class));
+    }
+
+    @Test
+    void testPregenerationChunk_DispatchesWithoutClaimErrors(CapturedOutput output) {
+        BatchCheckpoint checkpoint = BatchCheckpoint.builder().name(WeeklySummaryPregenerator.CHECKPOINT).build();
+        when(context.getBean(BatchCheckpointRepository.class).findForUpdate(WeeklySummaryPregenerator.CHECKPOINT))
+                .thenReturn(Optional.of(checkpoint));
+        when(context.getBean(UserRepository.class).findActiveUserIdsAfter(eq(0L), any(), any()))
+                .thenReturn(List.of(1L, 2L, 3L));
+
+        context.getBean(WeeklySummaryPregenerator.class).tick();
+
+        assertEquals(3, jobs.size());
+        // Two worker slots: two jobs start at once, the third waits for a free slot
+        assertEquals(2, jobs.values().stream().filter(job -> job.getStatus() == AiReportJob.Status.RUNNING).count());
+        assertEquals(3L, checkpoint.getLastId());
+        assertFalse(output.getAll().contains("Claiming AI report jobs failed"));
+    }
+}
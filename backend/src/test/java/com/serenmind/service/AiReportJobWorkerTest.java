@@ -0,0 +1,111 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.request.AiReportRequest;
+import com.serenmind.dto.response.AiReportResponse;
+import com.serenmind.model.AiReportJob;
+import com.serenmind.repository.AiReportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for claiming and finishing queued AI report jobs.
+ */
+@ExtendWith(MockitoExtension.class)
+class AiReportJobWorkerTest {
+
+    @Mock
+    private AiReportJobRepository aiReportJobRepository;
+
+    @Mock
+    private AiService aiService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AiReportJobWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new AiReportJobWorker(aiReportJobRepository, aiService, transactionManager, 2, 3, 300, 30);
+    }
+
+    private void claimable(int attempts) {
+        AiReportJob job = AiReportJob.builder().id(5L).userId(1L).reportType("WEEKLY_SUMMARY")
+                .daysToInclude(7).status(AiReportJob.Status.RUNNING).attempts(attempts)
+                .availableAt(LocalDateTime.now()).build();
+        when(aiReportJobRepository.lockClaimable(any(), eq(2))).thenReturn(List.of(5L));
+        when(aiReportJobRepository.findAllById(List.of(5L))).thenReturn(List.of(job));
+    }
+
+    @Test
+    void testDispatch_RecordsReportOnSuccess() {
+        claimable(1);
+        when(aiService.generateReportAsync(eq(1L), any(AiReportRequest.class))).thenReturn(
+                CompletableFuture.completedFuture(AiReportResponse.builder().id(42L).build()));
+        when(aiReportJobRepository.markSucceeded(eq(5L), eq(1), eq(42L), any())).thenReturn(1);
+
+        worker.dispatch();
+
+        verify(aiReportJobRepository).claim(eq(List.of(5L)), any(), any());
+        verify(aiReportJobRepository).markSucceeded(eq(5L), eq(1), eq(42L), any());
+    }
+
+    @Test
+    void testDispatch_RequeuesTransientFailure() {
+        claimable(1);
+        when(aiService.generateReportAsync(eq(1L), any(AiReportRequest.class))).thenReturn(
+                CompletableFuture.failedFuture(new RuntimeException("OpenAI service temporarily unavailable.")));
+
+        LocalDateTime before = LocalDateTime.now();
+        worker.dispatch();
+
+        verify(aiReportJobRepository).requeue(eq(5L), eq(1), eq("OpenAI service temporarily unavailable."),
+                argThat(at -> !at.isBefore(before.plusSeconds(30))));
+        verify(aiReportJobRepository, never()).markFailed(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void testDispatch_FailsOnLastAttempt() {
+        claimable(3);
+        when(aiService.generateReportAsync(eq(1L), any(AiReportRequest.class))).thenReturn(
+                CompletableFuture.failedFuture(new RuntimeException("timeout")));
+
+        worker.dispatch();
+
+        verify(aiReportJobRepository).markFailed(eq(5L), eq(3), eq("timeout"), any());
+        verify(aiReportJobRepository, never()).requeue(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void testDispatch_DoesNotRetryIllegalArgument() {
+        claimable(1);
+        when(aiService.generateReportAsync(eq(1L), any(AiReportRequest.class)))
+                .thenThrow(new IllegalArgumentException("User not found"));
+
+        worker.dispatch();
+
+        verify(aiReportJobRepository).markFailed(eq(5L), eq(1), eq("User not found"), any());
+    }
+
+    @Test
+    void testDispatch_NothingToClaim() {
+        when(aiReportJobRepository.lockClaimable(any(), eq(2))).thenReturn(List.of());
+
+        worker.dispatch();
+
+        verify(aiReportJobRepository, never()).claim(any(), any(), any());
+        verifyNoInteractions(aiService);
+    }
+}
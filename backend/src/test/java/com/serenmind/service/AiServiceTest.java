@@ -9,20 +9,23 @@ import com.serenmind.dto.request.AiReportRequest;
 import com.serenmind.dto.response.AiChatResponse;
 import com.serenmind.dto.response.AiReportResponse;
 import com.serenmind.model.AiReport;
-import com.serenmind.model.JournalEntry;
 import com.serenmind.model.MoodEntry;
 import com.serenmind.model.User;
 import com.serenmind.repository.AiReportRepository;
 import com.serenmind.repository.JournalEntryRepository;
+import com.serenmind.repository.JournalSummaryRow;
 import com.serenmind.repository.MoodEntryRepository;
 import com.serenmind.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -56,17 +59,26 @@ class AiServiceTest {
     private AiReportRepository aiReportRepository;
 
     @Mock
-    private ObjectMapper objectMapper;
+    private ChatSessionService chatSessionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
-    @InjectMocks
     private AiServiceImpl aiService;
 
     private User testUser;
     private List<MoodEntry> mockMoodEntries;
-    private List<JournalEntry> mockJournalEntries;
+    private List<JournalSummaryRow> mockJournalEntries;
 
     @BeforeEach
     void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        // Context loading and persistence run on the calling thread
+        aiService = new AiServiceImpl(openAiClient, userRepository, moodEntryRepository, journalEntryRepository,
+                aiReportRepository, new ObjectMapper(), new AiContextCache(meterRegistry, 100, 10),
+                new PromptTokenCounter(meterRegistry, "gpt-3.5-turbo"), chatSessionService, Runnable::run,
+                transactionManager, meterRegistry);
+
         testUser = User.builder()
                 .id(1L)
                 .fullName("Test User")
@@ -95,13 +107,9 @@ class AiServiceTest {
         );
 
         mockJournalEntries = Collections.singletonList(
-                JournalEntry.builder()
-                        .id(1L)
-                        .user(testUser)
-                        .title("Daily Reflection")
-                        .content("Today was productive. Completed my goals and felt accomplished.")
-                        .createdAt(LocalDateTime.now().minusDays(1))
-                        .build()
+                summaryRow(1L, "Daily Reflection",
+                        "Today was productive. Completed my goals and felt accomplished.",
+                        LocalDateTime.now().minusDays(1))
         );
 
         // Set default property values
@@ -109,6 +117,12 @@ class AiServiceTest {
         ReflectionTestUtils.setField(aiService, "mockMode", true);
         ReflectionTestUtils.setField(aiService, "temperature", 0.7);
         ReflectionTestUtils.setField(aiService, "maxTokens", 1000);
+        ReflectionTestUtils.setField(aiService, "reportReuseMinutes", 60);
+        ReflectionTestUtils.setField(aiService, "contextWindowTokens", 8192);
+        ReflectionTestUtils.setField(aiService, "reportMaxTokens", 2000);
+        ReflectionTestUtils.setField(aiService, "reportPromptTokens", 2500);
+        ReflectionTestUtils.setField(aiService, "chatContextTokens", 600);
+        ReflectionTestUtils.setField(aiService, "weeklySummaryFreshHours", 168);
     }
 
     @Test
@@ -118,9 +132,9 @@ class AiServiceTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(moodEntryRepository.findByUserIdAndTimestampBetweenOrderByTimestampDesc(
-                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(mockMoodEntries);
-        when(journalEntryRepository.findByUserIdOrderByCreatedAtDesc(anyLong()))
+        when(journalEntryRepository.findRecentSummaries(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(mockJournalEntries);
 
         // Create mock OpenAI response
@@ -132,8 +146,7 @@ class AiServiceTest {
                 "}"
         );
 
-        when(openAiClient.chatCompletion(any(OpenAiRequest.class))).thenReturn(mockOpenAiResponse);
-        when(objectMapper.readTree(anyString())).thenCallRealMethod();
+        when(openAiClient.chatCompletionAsync(any(OpenAiRequest.class))).thenReturn(Mono.just(mockOpenAiResponse));
 
         // Act
         AiChatResponse response = aiService.chat(1L, request);
@@ -147,10 +160,12 @@ class AiServiceTest {
         assertTrue(response.getMetadata().getIsMockResponse());
         assertEquals("mock-model", response.getMetadata().getModel());
 
-        verify(openAiClient, times(1)).chatCompletion(any(OpenAiRequest.class));
+        verify(openAiClient, times(1)).chatCompletionAsync(any(OpenAiRequest.class));
         verify(userRepository, times(1)).findById(1L);
         verify(moodEntryRepository, times(1)).findByUserIdAndTimestampBetweenOrderByTimestampDesc(
-                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class));
+                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
+        verify(chatSessionService, times(1)).recordExchange(eq(1L), isNull(), eq(request.getMessage()),
+                eq(response.getReply()));
     }
 
     @Test
@@ -161,7 +176,7 @@ class AiServiceTest {
 
         // Act & Assert
         assertThrows(IllegalArgumentException.class, () -> aiService.chat(1L, request));
-        verify(openAiClient, never()).chatCompletion(any());
+        verify(openAiClient, never()).chatCompletionAsync(any());
     }
 
     @Test
@@ -171,16 +186,16 @@ class AiServiceTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(moodEntryRepository.findByUserIdAndTimestampBetweenOrderByTimestampDesc(
-                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(mockMoodEntries);
-        when(journalEntryRepository.findByUserIdOrderByCreatedAtDesc(anyLong()))
+        when(journalEntryRepository.findRecentSummaries(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(mockJournalEntries);
 
         OpenAiResponse mockOpenAiResponse = createMockOpenAiResponse(
                 "{\"reply\":\"You're doing well!\",\"summary\":\"Positive trend\",\"suggestions\":[]}"
         );
 
-        when(openAiClient.chatCompletion(any(OpenAiRequest.class))).thenReturn(mockOpenAiResponse);
+        when(openAiClient.chatCompletionAsync(any(OpenAiRequest.class))).thenReturn(Mono.just(mockOpenAiResponse));
 
         // Act
         AiChatResponse response = aiService.chat(1L, request);
@@ -188,8 +203,9 @@ class AiServiceTest {
         // Assert
         assertNotNull(response);
         verify(moodEntryRepository, times(1)).findByUserIdAndTimestampBetweenOrderByTimestampDesc(
-                eq(1L), any(LocalDateTime.class), any(LocalDateTime.class));
-        verify(journalEntryRepository, times(1)).findByUserIdOrderByCreatedAtDesc(1L);
+                eq(1L), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
+        verify(journalEntryRepository, times(1)).findRecentSummaries(
+                eq(1L), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
@@ -201,14 +217,14 @@ class AiServiceTest {
         when(moodEntryRepository.findByUserIdAndTimestampBetweenOrderByTimestampDesc(
                 anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(mockMoodEntries);
-        when(journalEntryRepository.findByUserIdOrderByCreatedAtDesc(anyLong()))
+        when(journalEntryRepository.findRecentSummaries(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(mockJournalEntries);
 
         OpenAiResponse mockOpenAiResponse = createMockOpenAiResponse(
                 "## Weekly Summary\n\nYou've had a great week with consistent mood scores averaging 7.5/10..."
         );
 
-        when(openAiClient.chatCompletion(any(OpenAiRequest.class))).thenReturn(mockOpenAiResponse);
+        when(openAiClient.chatCompletionAsync(any(OpenAiRequest.class))).thenReturn(Mono.just(mockOpenAiResponse));
 
         AiReport savedReport = AiReport.builder()
                 .id(1L)
@@ -246,11 +262,11 @@ class AiServiceTest {
         when(moodEntryRepository.findByUserIdAndTimestampBetweenOrderByTimestampDesc(
                 anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(mockMoodEntries);
-        when(journalEntryRepository.findByUserIdOrderByCreatedAtDesc(anyLong()))
+        when(journalEntryRepository.findRecentSummaries(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(mockJournalEntries);
 
         OpenAiResponse mockOpenAiResponse = createMockOpenAiResponse("Report content");
-        when(openAiClient.chatCompletion(any(OpenAiRequest.class))).thenReturn(mockOpenAiResponse);
+        when(openAiClient.chatCompletionAsync(any(OpenAiRequest.class))).thenReturn(Mono.just(mockOpenAiResponse));
 
         AiReport savedReport = AiReport.builder()
                 .id(2L)
@@ -283,14 +299,14 @@ class AiServiceTest {
         when(moodEntryRepository.findByUserIdAndTimestampBetweenOrderByTimestampDesc(
                 anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
                 .thenReturn(Collections.emptyList());
-        when(journalEntryRepository.findByUserIdOrderByCreatedAtDesc(anyLong()))
+        when(journalEntryRepository.findRecentSummaries(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(Collections.emptyList());
 
         OpenAiResponse mockOpenAiResponse = createMockOpenAiResponse(
                 "No recent data available. Start tracking your mood to get insights!"
         );
 
-        when(openAiClient.chatCompletion(any(OpenAiRequest.class))).thenReturn(mockOpenAiResponse);
+        when(openAiClient.chatCompletionAsync(any(OpenAiRequest.class))).thenReturn(Mono.just(mockOpenAiResponse));
 
         AiReport savedReport = AiReport.builder()
                 .id(3L)
@@ -318,9 +334,9 @@ class AiServiceTest {
         // Arrange
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
         when(moodEntryRepository.findByUserIdAndTimestampBetweenOrderByTimestampDesc(
-                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(mockMoodEntries);
-        when(journalEntryRepository.findByUserIdOrderByCreatedAtDesc(anyLong()))
+        when(journalEntryRepository.findRecentSummaries(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
                 .thenReturn(mockJournalEntries);
 
         OpenAiResponse mockOpenAiResponse = createMockOpenAiResponse(
@@ -337,6 +353,18 @@ class AiServiceTest {
         verify(openAiClient, times(1)).chatCompletion(any(OpenAiRequest.class));
     }
 
+    private JournalSummaryRow summaryRow(Long id, String title, String snippet, LocalDateTime createdAt) {
+        return new JournalSummaryRow() {
+            public Long getId() { return id; }
+            public String getTitle() { return title; }
+            public String getSnippet() { return snippet; }
+            public String getTags() { return null; }
+            public Boolean getIsFavorite() { return false; }
+            public Boolean getIsPrivate() { return true; }
+            public LocalDateTime getCreatedAt() { return createdAt; }
+        };
+    }
+
     /**
      * Helper method to create mock OpenAI response.
      */
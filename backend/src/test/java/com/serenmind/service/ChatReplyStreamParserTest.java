@@ -0,0 +1,62 @@
+package com.serenmind.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for extracting the reply from a streamed chat completion.
+ */
+class ChatReplyStreamParserTest {
+
+    private static String feedOneCharAtATime(ChatReplyStreamParser parser, String output) {
+        StringBuilder reply = new StringBuilder();
+        for (int i = 0; i < output.length(); i++) {
+            reply.append(parser.accept(output.substring(i, i + 1)));
+        }
+        return reply.toString();
+    }
+
+    @Test
+    void testAccept_StreamsReplyAcrossArbitrarySplits() {
+        String output = "{\"summary\": \"Calm, {braces} and \\\"quotes\\\"\", \"tags\": [1, {\"reply\": 2}], "
+                + "\"reply\": \"Line one\\nSay \\\"hi\\\" \\u00e9\", \"suggestions\": [\"a\"]}";
+        ChatReplyStreamParser parser = new ChatReplyStreamParser();
+
+        assertEquals("Line one\nSay \"hi\" \u00e9", feedOneCharAtATime(parser, output));
+        assertEquals(output, parser.raw());
+    }
+
+    @Test
+    void testAccept_EmitsReplyBeforeObjectIsComplete() {
+        ChatReplyStreamParser parser = new ChatReplyStreamParser();
+
+        assertEquals("", parser.accept("```json\n{\n  \"re"));
+        assertEquals("I hear", parser.accept("ply\": \"I hear"));
+        assertEquals(" you", parser.accept(" you\", \"sugg"));
+        assertEquals("", parser.accept("estions\": [\"breathe\"]}\n```"));
+    }
+
+    @Test
+    void testAccept_HoldsBackSplitSurrogatePair() {
+        ChatReplyStreamParser parser = new ChatReplyStreamParser();
+
+        assertEquals("ok ", parser.accept("{\"reply\": \"ok \uD83C"));
+        assertEquals("\uD83C\uDF38", parser.accept("\uDF38\"}"));
+    }
+
+    @Test
+    void testAccept_PassesThroughPlainText() {
+        ChatReplyStreamParser parser = new ChatReplyStreamParser();
+
+        assertEquals("Sure, here", parser.accept("  Sure, here"));
+        assertEquals(" you go.", parser.accept(" you go."));
+    }
+
+    @Test
+    void testAccept_NoReplyKeyYieldsNothing() {
+        ChatReplyStreamParser parser = new ChatReplyStreamParser();
+
+        assertEquals("", feedOneCharAtATime(parser, "{\"summary\": \"x\", \"suggestions\": []}"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.serenmind.service;
+
+import com.serenmind.client.OpenAiRequest;
+import com.serenmind.event.ChatSessionTurnsAddedEvent;
+import com.serenmind.model.ChatSession;
+import com.serenmind.model.ChatTurn;
+import com.serenmind.repository.ChatSessionRepository;
+import com.serenmind.repository.ChatTurnRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for chat session history and summarization triggers.
+ */
+@ExtendWith(MockitoExtension.class)
+class ChatSessionServiceTest {
+
+    @Mock
+    private ChatSessionRepository chatSessionRepository;
+
+    @Mock
+    private ChatTurnRepository chatTurnRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ChatSessionServiceImpl chatSessionService;
+
+    @BeforeEach
+    void setUp() {
+        PromptTokenCounter counter = new PromptTokenCounter(new SimpleMeterRegistry(), "gpt-3.5-turbo");
+        chatSessionService = new ChatSessionServiceImpl(
+                chatSessionRepository, chatTurnRepository, counter, eventPublisher, 4, 8, 1000);
+    }
+
+    private static ChatTurn turn(long id, String role, String content) {
+        return ChatTurn.builder().id(id).sessionId(7L).role(role).content(content).build();
+    }
+
+    @Test
+    void testGetHistoryMessages_SummaryThenUnsummarizedTurnsInOrder() {
+        ChatSession session = ChatSession.builder().id(7L).userId(1L).title("t")
+                .summary("User has been stressed about exams.").summarizedThroughTurnId(10L).build();
+        when(chatSessionRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(session));
+        when(chatTurnRepository.findBySessionIdOrderByIdDesc(eq(7L), any(Pageable.class))).thenReturn(List.of(
+                turn(13L, ChatTurn.ASSISTANT, "Try a short walk."),
+                turn(12L, ChatTurn.USER, "I can't focus."),
+                turn(11L, ChatTurn.ASSISTANT, "That sounds hard."),
+                turn(10L, ChatTurn.USER, "already summarized")));
+
+        List<OpenAiRequest.Message> history = chatSessionService.getHistoryMessages(1L, 7L);
+
+        assertEquals(List.of("system", "assistant", "user", "assistant"),
+                history.stream().map(OpenAiRequest.Message::getRole).toList());
+        assertTrue(history.get(0).getContent().endsWith("User has been stressed about exams."));
+        assertEquals("That sounds hard.", history.get(1).getContent());
+        assertEquals("Try a short walk.", history.get(3).getContent());
+    }
+
+    @Test
+    void testGetHistoryMessages_StopsAtTokenBudget() {
+        chatSessionService = new ChatSessionServiceImpl(chatSessionRepository, chatTurnRepository,
+                new PromptTokenCounter(new SimpleMeterRegistry(), "gpt-3.5-turbo"), eventPublisher, 4, 8, 10);
+        ChatSession session = ChatSession.builder().id(7L).userId(1L).title("t").build();
+        when(chatSessionRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(session));
+        when(chatTurnRepository.findBySessionIdOrderByIdDesc(eq(7L), any(Pageable.class))).thenReturn(List.of(
+                turn(3L, ChatTurn.ASSISTANT, "ok"),
+                turn(2L, ChatTurn.USER, "a much longer message that does not fit in the remaining history budget"),
+                turn(1L, ChatTurn.ASSISTANT, "hi")));
+
+        List<OpenAiRequest.Message> history = chatSessionService.getHistoryMessages(1L, 7L);
+
+        assertEquals(1, history.size());
+        assertEquals("ok", history.get(0).getContent());
+    }
+
+    @Test
+    void testGetHistoryMessages_RejectsOtherUsersSession() {
+        when(chatSessionRepository.findByIdAndUserId(7L, 2L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> chatSessionService.getHistoryMessages(2L, 7L));
+        assertTrue(chatSessionService.getHistoryMessages(2L, null).isEmpty());
+    }
+
+    @Test
+    void testRecordExchange_NewSessionTitledFromMessage() {
+        when(chatSessionRepository.save(any(ChatSession.class))).thenAnswer(invocation -> {
+            ChatSession saved = invocation.getArgument(0);
+            saved.setId(9L);
+            return saved;
+        });
+        when(chatTurnRepository.countBySessionIdAndIdGreaterThan(9L, 0L)).thenReturn(2L);
+
+        Long sessionId = chatSessionService.recordExchange(1L, null, "  Feeling   anxious today ", "I hear you.");
+
+        assertEquals(9L, sessionId);
+        verify(chatSessionRepository).save(argThat(s -> "Feeling anxious today".equals(s.getTitle())));
+        verify(chatTurnRepository, times(2)).save(any(ChatTurn.class));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void testRecordExchange_RequestsSummaryPastThreshold() {
+        ChatSession session = ChatSession.builder().id(7L).userId(1L).title("t").summarizedThroughTurnId(20L).build();
+        when(chatSessionRepository.findByIdAndUserId(7L, 1L)).thenReturn(Optional.of(session));
+        when(chatTurnRepository.countBySessionIdAndIdGreaterThan(7L, 20L)).thenReturn(8L);
+
+        chatSessionService.recordExchange(1L, 7L, "again", "reply");
+
+        verify(chatSessionRepository).addTurns(eq(7L), eq(2), any());
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(7L, ((ChatSessionTurnsAddedEvent) event.getValue()).getSessionId());
+    }
+}
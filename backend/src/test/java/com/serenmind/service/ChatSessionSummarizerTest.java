@@ -0,0 +1,93 @@
+package com.serenmind.service;
+
+import com.serenmind.client.OpenAiClient;
+import com.serenmind.client.OpenAiRequest;
+import com.serenmind.client.OpenAiResponse;
+import com.serenmind.model.ChatSession;
+import com.serenmind.model.ChatTurn;
+import com.serenmind.repository.ChatSessionRepository;
+import com.serenmind.repository.ChatTurnRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for folding older chat turns into the running summary.
+ */
+@ExtendWith(MockitoExtension.class)
+class ChatSessionSummarizerTest {
+
+    @Mock
+    private ChatSessionRepository chatSessionRepository;
+
+    @Mock
+    private ChatTurnRepository chatTurnRepository;
+
+    @Mock
+    private OpenAiClient openAiClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ChatSessionSummarizer summarizer;
+
+    @BeforeEach
+    void setUp() {
+        summarizer = new ChatSessionSummarizer(chatSessionRepository, chatTurnRepository, openAiClient,
+                transactionManager);
+        ReflectionTestUtils.setField(summarizer, "model", "gpt-3.5-turbo");
+        ReflectionTestUtils.setField(summarizer, "recentTurns", 2);
+        ReflectionTestUtils.setField(summarizer, "summaryMaxTokens", 300);
+
+        List<ChatTurn> turns = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            turns.add(ChatTurn.builder().id(id).sessionId(9L)
+                    .role(id % 2 == 1 ? ChatTurn.USER : ChatTurn.ASSISTANT).content("turn " + id).build());
+        }
+        when(chatSessionRepository.findById(9L)).thenReturn(Optional.of(ChatSession.builder().id(9L).build()));
+        when(chatTurnRepository.findBySessionIdAndIdGreaterThanOrderByIdAsc(9L, 0L)).thenReturn(turns);
+    }
+
+    private static OpenAiResponse response(String model, String content) {
+        OpenAiResponse.Message message = new OpenAiResponse.Message();
+        message.setRole("assistant");
+        message.setContent(content);
+        OpenAiResponse.Choice choice = new OpenAiResponse.Choice();
+        choice.setMessage(message);
+        OpenAiResponse response = new OpenAiResponse();
+        response.setModel(model);
+        response.setChoices(List.of(choice));
+        return response;
+    }
+
+    @Test
+    void testSummarize_StoresModelSummaryOfOlderTurns() {
+        when(openAiClient.chatCompletion(any(OpenAiRequest.class)))
+                .thenReturn(response("gpt-3.5-turbo", "The user talked about work stress."));
+        when(chatSessionRepository.updateSummary(9L, 0L, 3L, "The user talked about work stress.")).thenReturn(1);
+
+        assertTrue(summarizer.summarize(9L));
+    }
+
+    @Test
+    void testSummarize_SkipsCannedReplyInMockMode() {
+        when(openAiClient.chatCompletion(any(OpenAiRequest.class)))
+                .thenReturn(response(OpenAiClient.MOCK_MODEL, "{\"reply\": \"Hello!\", \"suggestions\": []}"));
+
+        assertFalse(summarizer.summarize(9L));
+
+        verify(chatSessionRepository, never()).updateSummary(anyLong(), anyLong(), anyLong(), anyString());
+    }
+}
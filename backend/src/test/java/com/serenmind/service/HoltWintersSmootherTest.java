@@ -0,0 +1,91 @@
+package com.serenmind.service;
+
+import com.serenmind.model.MoodForecastState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the incremental Holt-Winters smoother.
+ */
+class HoltWintersSmootherTest {
+
+    private HoltWintersSmoother smoother;
+    private LocalDate monday;
+
+    @BeforeEach
+    void setUp() {
+        smoother = new HoltWintersSmoother(0.3, 0.05, 0.2, 0.1);
+        monday = LocalDate.of(2025, 10, 6);
+    }
+
+    @Test
+    void testForecast_ConstantSeries_PredictsSameValue() {
+        MoodForecastState state = smoother.initialize(1L, monday, 6);
+        for (int day = 1; day < 28; day++) {
+            smoother.update(state, monday.plusDays(day), 6);
+        }
+
+        assertEquals(6.0, smoother.forecast(state, monday.plusDays(28)), 0.01);
+        assertEquals(0.0, state.getTrend(), 0.01);
+        assertEquals(28, state.getObservations());
+    }
+
+    @Test
+    void testForecast_WeekendPattern_LearnsWeeklySeason() {
+        MoodForecastState state = smoother.initialize(1L, monday, 5);
+        for (int day = 1; day < 70; day++) {
+            LocalDate date = monday.plusDays(day);
+            int score = date.getDayOfWeek().getValue() >= 6 ? 8 : 5;
+            smoother.update(state, date, score);
+        }
+
+        LocalDate nextSaturday = monday.plusDays(75);
+        LocalDate nextWednesday = monday.plusDays(72);
+        assertTrue(smoother.forecast(state, nextSaturday) > smoother.forecast(state, nextWednesday) + 1.5);
+    }
+
+    @Test
+    void testForecast_RisingSeries_HasPositiveTrend() {
+        MoodForecastState state = smoother.initialize(1L, monday, 3);
+        for (int day = 1; day < 30; day++) {
+            smoother.update(state, monday.plusDays(day), 3 + day * 0.2);
+        }
+
+        assertTrue(state.getTrend() > 0.1);
+        assertTrue(smoother.forecast(state, monday.plusDays(35)) > state.getLevel());
+    }
+
+    @Test
+    void testUpdate_SameDay_DoesNotAdvanceTrend() {
+        MoodForecastState state = smoother.initialize(1L, monday, 5);
+        smoother.update(state, monday, 9);
+
+        assertEquals(0.0, state.getTrend());
+        assertTrue(state.getLevel() > 5);
+        assertEquals(monday, state.getLastObservedDate());
+    }
+
+    @Test
+    void testUpdate_BackDatedObservation_Throws() {
+        MoodForecastState state = smoother.initialize(1L, monday, 5);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> smoother.update(state, monday.minusDays(1), 5));
+    }
+
+    @Test
+    void testStandardError_WidensWithHorizon() {
+        MoodForecastState state = smoother.initialize(1L, monday, 5);
+        for (int day = 1; day < 14; day++) {
+            smoother.update(state, monday.plusDays(day), day % 2 == 0 ? 4 : 7);
+        }
+
+        double nearTerm = smoother.standardError(state, monday.plusDays(14));
+        double farTerm = smoother.standardError(state, monday.plusDays(20));
+        assertTrue(farTerm > nearTerm);
+    }
+}
@@ -0,0 +1,84 @@
+package com.serenmind.service;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Transaction manager without a database that tracks, like JPA, whether the transaction bound
+ * to the current thread can still run statements. After commit the transaction stays bound
+ * until cleanup, so after-commit callbacks that join it see it as completed.
+ */
+class InMemoryTransactionManager extends AbstractPlatformTransactionManager {
+
+    private static final Object KEY = InMemoryTransactionManager.class;
+
+    /**
+     * Whether a write issued now would run in a live transaction.
+     */
+    static boolean isWritable() {
+        State state = (State) TransactionSynchronizationManager.getResource(KEY);
+        return state != null && !state.completed;
+    }
+
+    @Override
+    protected Object doGetTransaction() {
+        return new Handle((State) TransactionSynchronizationManager.getResource(KEY));
+    }
+
+    @Override
+    protected boolean isExistingTransaction(Object transaction) {
+        return ((Handle) transaction).state != null;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        Handle handle = (Handle) transaction;
+        handle.state = new State();
+        TransactionSynchronizationManager.bindResource(KEY, handle.state);
+    }
+
+    @Override
+    protected Object doSuspend(Object transaction) {
+        ((Handle) transaction).state = null;
+        return TransactionSynchronizationManager.unbindResource(KEY);
+    }
+
+    @Override
+    protected void doResume(Object transaction, Object suspendedResources) {
+        TransactionSynchronizationManager.bindResource(KEY, suspendedResources);
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        ((Handle) status.getTransaction()).state.completed = true;
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+        ((Handle) status.getTransaction()).state.completed = true;
+    }
+
+    @Override
+    protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        // Nothing to mark; the outermost transaction decides
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        TransactionSynchronizationManager.unbindResource(KEY);
+    }
+
+    private static final class State {
+        private boolean completed;
+    }
+
+    private static final class Handle {
+        private State state;
+
+        private Handle(State state) {
+            this.state = state;
+        }
+    }
+}
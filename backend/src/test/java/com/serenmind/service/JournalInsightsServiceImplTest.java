@@ -0,0 +1,158 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.response.JournalInsightsResponse;
+import com.serenmind.event.JournalEntryChangedEvent;
+import com.serenmind.model.JournalEntry;
+import com.serenmind.model.JournalInsight;
+import com.serenmind.repository.JournalEntryRepository;
+import com.serenmind.repository.JournalInsightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for building, updating and reconciling journal insights.
+ */
+@ExtendWith(MockitoExtension.class)
+class JournalInsightsServiceImplTest {
+
+    @Mock
+    private JournalInsightRepository insightRepository;
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JournalInsightsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new JournalInsightsServiceImpl(insightRepository, journalEntryRepository, transactionManager);
+    }
+
+    @Test
+    void testGetInsights_LostClaim_ReturnsRowBuiltByOtherRead() {
+        when(insightRepository.findByUserIdAndPeriod(eq(1L), anyString())).thenReturn(Optional.empty());
+        JournalInsight built = insight(3, 120L);
+        when(insightRepository.insertEmptyIfAbsent(eq(1L), eq(JournalInsight.ALL_TIME), anyString())).thenReturn(0);
+        when(insightRepository.findByUserIdAndPeriodForUpdate(1L, JournalInsight.ALL_TIME))
+                .thenReturn(Optional.of(built));
+
+        JournalInsightsResponse response = service.getInsights(1L);
+
+        assertEquals(3, response.getTotalEntries());
+        assertEquals(120L, response.getTotalWords());
+        verifyNoInteractions(journalEntryRepository);
+        verify(insightRepository, never()).deleteByUserIdAndPeriodNot(anyLong(), anyString());
+    }
+
+    @Test
+    void testGetInsights_ClaimedRow_IsBuiltFromHistory() {
+        when(insightRepository.findByUserIdAndPeriod(eq(1L), anyString())).thenReturn(Optional.empty());
+        JournalInsight claimed = insight(0, 0L);
+        when(insightRepository.insertEmptyIfAbsent(eq(1L), eq(JournalInsight.ALL_TIME), anyString())).thenReturn(1);
+        when(insightRepository.findByUserIdAndPeriodForUpdate(1L, JournalInsight.ALL_TIME))
+                .thenReturn(Optional.of(claimed));
+        when(journalEntryRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(List.of(
+                entry("Long walk by the river", LocalDateTime.of(2025, 3, 2, 21, 0)),
+                entry("River again", LocalDateTime.of(2025, 2, 10, 21, 30))));
+        when(insightRepository.save(claimed)).thenReturn(claimed);
+
+        JournalInsightsResponse response = service.getInsights(1L);
+
+        assertEquals(2, response.getTotalEntries());
+        assertEquals(7L, response.getTotalWords());
+        assertEquals(21, response.getPeakHour());
+        assertEquals("river", response.getAllTimeThemes().get(0).getTerm());
+        verify(insightRepository).deleteByUserIdAndPeriodNot(1L, JournalInsight.ALL_TIME);
+        verify(insightRepository, never()).deleteByUserId(anyLong());
+    }
+
+    @Test
+    void testApplyChange_SkipsChangeMadeBeforeBuild() {
+        LocalDateTime builtAt = LocalDateTime.of(2025, 3, 2, 22, 0);
+        JournalInsight allTime = insight(2, 7L);
+        allTime.setChangesThrough(builtAt);
+        when(insightRepository.findByUserIdAndPeriodForUpdate(1L, JournalInsight.ALL_TIME))
+                .thenReturn(Optional.of(allTime));
+
+        service.applyChange(created("Counted by the build", builtAt.minusSeconds(1)));
+
+        assertEquals(2, allTime.getEntryCount());
+        assertEquals(7L, allTime.getWordCount());
+        verify(insightRepository, never()).save(any());
+    }
+
+    @Test
+    void testApplyChange_AppliesChangeMadeAfterBuild() {
+        LocalDateTime builtAt = LocalDateTime.of(2025, 3, 2, 22, 0);
+        JournalInsight allTime = insight(2, 7L);
+        allTime.setChangesThrough(builtAt);
+        when(insightRepository.findByUserIdAndPeriodForUpdate(eq(1L), anyString()))
+                .thenAnswer(invocation -> JournalInsight.ALL_TIME.equals(invocation.getArgument(1))
+                        ? Optional.of(allTime) : Optional.empty());
+
+        service.applyChange(created("Written after the build", builtAt.plusSeconds(1)));
+
+        assertEquals(3, allTime.getEntryCount());
+        assertEquals(11L, allTime.getWordCount());
+        verify(insightRepository).save(allTime);
+    }
+
+    @Test
+    void testReconcile_ReplacesDriftedTotals() {
+        // A dropped delete event left one entry too many
+        JournalInsight drifted = insight(3, 12L);
+        when(insightRepository.findByUserIdAndPeriodForUpdate(1L, JournalInsight.ALL_TIME))
+                .thenReturn(Optional.of(drifted));
+        when(journalEntryRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(List.of(
+                entry("Long walk by the river", LocalDateTime.of(2025, 3, 2, 21, 0)),
+                entry("River again", LocalDateTime.of(2025, 2, 10, 21, 30))));
+
+        service.reconcile(1L);
+
+        assertEquals(2, drifted.getEntryCount());
+        assertEquals(7L, drifted.getWordCount());
+        assertEquals(2, drifted.getHourHistogram()[21]);
+        assertNotNull(drifted.getChangesThrough());
+        verify(insightRepository).deleteByUserIdAndPeriodNot(1L, JournalInsight.ALL_TIME);
+        verify(insightRepository).save(drifted);
+        verify(insightRepository, never()).deleteByUserId(anyLong());
+    }
+
+    private static JournalEntryChangedEvent created(String content, LocalDateTime changedAt) {
+        return new JournalEntryChangedEvent(JournalEntryChangedEvent.ChangeType.CREATED, 1L, 5L, null,
+                content, null, changedAt, null, changedAt);
+    }
+
+    private static JournalInsight insight(int entries, long words) {
+        return JournalInsight.builder()
+                .userId(1L)
+                .period(JournalInsight.ALL_TIME)
+                .entryCount(entries)
+                .wordCount(words)
+                .hourHistogram(new int[24])
+                .topTerms("")
+                .build();
+    }
+
+    private static JournalEntry entry(String content, LocalDateTime createdAt) {
+        return JournalEntry.builder()
+                .content(content)
+                .createdAt(createdAt)
+                .build();
+    }
+}
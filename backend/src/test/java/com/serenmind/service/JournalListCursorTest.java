@@ -0,0 +1,29 @@
+package com.serenmind.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the opaque journal list cursor.
+ */
+class JournalListCursorTest {
+
+    @Test
+    void testEncodeDecode_RoundTrips() {
+        JournalListCursor cursor = new JournalListCursor(LocalDateTime.of(2024, 3, 9, 21, 15, 4), 42L);
+
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("|"));
+        assertEquals(cursor, JournalListCursor.decode(encoded));
+    }
+
+    @Test
+    void testDecode_RejectsGarbage() {
+        assertThrows(IllegalArgumentException.class, () -> JournalListCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> JournalListCursor.decode("bm9wZQ"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.response.JournalSearchResponse;
+import com.serenmind.model.JournalEntry;
+import com.serenmind.repository.JournalEntryRepository;
+import com.serenmind.search.JournalSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the database fallback of journal search.
+ */
+@ExtendWith(MockitoExtension.class)
+class JournalSearchServiceImplTest {
+
+    @Mock
+    private JournalEntryRepository journalEntryRepository;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private JournalSearchIndex journalSearchIndex;
+
+    private JournalSearchServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new JournalSearchServiceImpl(journalEntryRepository, dataSource, journalSearchIndex);
+        when(journalSearchIndex.isReady()).thenReturn(false);
+    }
+
+    @Test
+    void testSearch_CompressedEntryBodyStillMatchesBeforeIndexIsReady() {
+        ReflectionTestUtils.setField(service, "compressionEnabled", true);
+        JournalEntry entry = JournalEntry.builder()
+                .id(7L)
+                .title("Sunday")
+                .content("Long walk along the river with my sister.")
+                .createdAt(LocalDateTime.now())
+                .build();
+        entry.compressContent();
+        when(journalEntryRepository.findByUserIdOrderByCreatedAtDesc(1L)).thenReturn(List.of(entry));
+
+        JournalSearchResponse response = service.search(1L, "river", 0, 10);
+
+        assertEquals(1L, response.getTotalHits());
+        assertEquals(7L, response.getHits().get(0).getId());
+        assertTrue(response.getHits().get(0).getSnippet().contains("<mark>river</mark>"));
+        // FULLTEXT covers only the plain content column
+        verify(journalEntryRepository, never()).searchFullText(anyLong(), anyString(), anyInt(), anyInt());
+        verifyNoInteractions(dataSource);
+    }
+}
@@ -0,0 +1,40 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.request.JournalPatchRequest.Edit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for applying autosave edits.
+ */
+class JournalTextPatcherTest {
+
+    @Test
+    void testApply_InsertReplaceDelete() {
+        String base = "Today was hard.";
+
+        String patched = JournalTextPatcher.apply(base, List.of(
+                new Edit(10, 4, "better"),   // "Today was better."
+                new Edit(0, 0, "Honestly, "), // sequential: offsets refer to the previous result
+                new Edit(26, 1, "!")));
+
+        assertEquals("Honestly, Today was better!", patched);
+    }
+
+    @Test
+    void testApply_NoEditsKeepsText() {
+        assertEquals("same", JournalTextPatcher.apply("same", List.of()));
+        assertEquals("same", JournalTextPatcher.apply("same", null));
+    }
+
+    @Test
+    void testApply_RejectsOutOfRangeEdit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> JournalTextPatcher.apply("short", List.of(new Edit(3, 5, ""))));
+        assertThrows(IllegalArgumentException.class,
+                () -> JournalTextPatcher.apply("short", List.of(new Edit(6, 0, "x"))));
+    }
+}
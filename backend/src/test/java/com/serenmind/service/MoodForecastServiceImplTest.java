@@ -0,0 +1,99 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.response.MoodForecastResponse;
+import com.serenmind.model.MoodEntry;
+import com.serenmind.model.MoodForecastState;
+import com.serenmind.repository.MoodEntryRepository;
+import com.serenmind.repository.MoodForecastStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the lazy first-read rebuild of mood forecast state.
+ */
+@ExtendWith(MockitoExtension.class)
+class MoodForecastServiceImplTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 10, 6, 9, 0);
+
+    @Mock
+    private MoodForecastStateRepository stateRepository;
+
+    @Mock
+    private MoodEntryRepository moodEntryRepository;
+
+    private MoodForecastServiceImpl service;
+    private HoltWintersSmoother smoother;
+
+    @BeforeEach
+    void setUp() {
+        service = new MoodForecastServiceImpl(stateRepository, moodEntryRepository, 0.3, 0.05, 0.2, 0.1);
+        ReflectionTestUtils.setField(service, "maxDays", 28);
+        smoother = new HoltWintersSmoother(0.3, 0.05, 0.2, 0.1);
+        when(stateRepository.findById(1L)).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void testGetForecast_LostInsertRace_UsesStoredState() {
+        List<MoodEntry> history = List.of(entry(0, 6), entry(1, 7));
+        MoodForecastState winner = replay(history);
+        when(moodEntryRepository.findByUserIdOrderByTimestampAsc(1L)).thenReturn(history);
+        when(stateRepository.insertIfAbsent(eq(1L), anyDouble(), anyDouble(), anyString(), anyDouble(), anyInt(),
+                any(LocalDate.class))).thenReturn(0);
+        when(stateRepository.findByUserIdForUpdate(1L)).thenReturn(Optional.of(winner));
+        when(moodEntryRepository.findByUserIdForShare(1L)).thenReturn(history);
+
+        MoodForecastResponse response = service.getForecast(1L, 7);
+
+        assertEquals(2, response.getObservations());
+        assertEquals(7, response.getPoints().size());
+        verify(stateRepository, never()).save(any());
+    }
+
+    @Test
+    void testGetForecast_EntryCommittedDuringReplay_IsReplayed() {
+        List<MoodEntry> snapshot = List.of(entry(0, 6), entry(1, 7));
+        List<MoodEntry> latest = List.of(entry(0, 6), entry(1, 7), entry(2, 3));
+        MoodForecastState stored = replay(snapshot);
+        when(moodEntryRepository.findByUserIdOrderByTimestampAsc(1L)).thenReturn(snapshot);
+        when(stateRepository.insertIfAbsent(eq(1L), anyDouble(), anyDouble(), anyString(), anyDouble(), anyInt(),
+                any(LocalDate.class))).thenReturn(1);
+        when(stateRepository.findByUserIdForUpdate(1L)).thenReturn(Optional.of(stored));
+        when(moodEntryRepository.findByUserIdForShare(1L)).thenReturn(latest);
+
+        MoodForecastResponse response = service.getForecast(1L, 7);
+
+        MoodForecastState expected = replay(latest);
+        assertEquals(3, stored.getObservations());
+        assertEquals(MONDAY.toLocalDate().plusDays(2), response.getLastObservedDate());
+        assertEquals(expected.getLevel(), stored.getLevel(), 1e-9);
+    }
+
+    private MoodForecastState replay(List<MoodEntry> history) {
+        MoodForecastState state = smoother.initialize(1L, history.get(0).getTimestamp().toLocalDate(),
+                history.get(0).getMoodScore());
+        history.stream().skip(1).forEach(entry ->
+                smoother.update(state, entry.getTimestamp().toLocalDate(), entry.getMoodScore()));
+        return state;
+    }
+
+    private static MoodEntry entry(int day, int moodScore) {
+        return MoodEntry.builder()
+                .moodScore(moodScore)
+                .timestamp(MONDAY.plusDays(day))
+                .build();
+    }
+}
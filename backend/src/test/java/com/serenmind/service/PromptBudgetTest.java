@@ -0,0 +1,75 @@
+package com.serenmind.service;
+
+import com.serenmind.client.OpenAiRequest;
+import com.serenmind.client.OpenAiResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for local token counting and prompt budgeting.
+ */
+class PromptBudgetTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PromptTokenCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        counter = new PromptTokenCounter(meterRegistry, "gpt-3.5-turbo");
+    }
+
+    @Test
+    void testCount_UsesModelEncoding() {
+        assertEquals(2, counter.count("hello world"));
+        assertEquals(0, counter.count(""));
+        // Special-token text from users is counted as ordinary text rather than rejected
+        assertTrue(counter.count("<|endoftext|>") > 1);
+    }
+
+    @Test
+    void testCountMessages_AddsChatFormatOverhead() {
+        List<OpenAiRequest.Message> messages = List.of(
+                new OpenAiRequest.Message("system", "hello world"),
+                new OpenAiRequest.Message("user", "hello world"));
+
+        // 3 priming + per message (3 overhead + 1 role + 2 content)
+        assertEquals(3 + 2 * (3 + 1 + 2), counter.countMessages(messages));
+    }
+
+    @Test
+    void testAppendLines_StopsAtBudgetInPriorityOrder() {
+        PromptBudget budget = new PromptBudget(counter, 12);
+        budget.reserve("closing words");
+        budget.appendRequired("Header\n");
+
+        int included = budget.appendLines("## Items:\n", List.of("- one\n", "- two\n", "- three\n", "- four\n"), "\n");
+
+        assertTrue(included > 0 && included < 4, "included " + included);
+        assertTrue(budget.toString().startsWith("Header\n## Items:\n- one\n"));
+        assertFalse(budget.toString().contains("- four"));
+        assertFalse(budget.append("- more lines that no longer fit in the remaining budget\n"));
+    }
+
+    @Test
+    void testAppendLines_OmitsHeadingWhenNothingFits() {
+        PromptBudget budget = new PromptBudget(counter, 3);
+
+        assertEquals(0, budget.appendLines("## Journal Entries:\n", List.of("- a long journal excerpt line\n"), "\n"));
+        assertEquals("", budget.toString());
+    }
+
+    @Test
+    void testRecordUsage_ComparesEstimateWithReportedTokens() {
+        counter.recordUsage(100, new OpenAiResponse.Usage(110, 40, 150));
+
+        assertEquals(1.1, meterRegistry.get("ai.prompt.tokens.estimate.ratio").summary().mean(), 1e-9);
+        assertEquals(110.0, meterRegistry.get("ai.prompt.tokens").tag("source", "actual").summary().totalAmount());
+        assertEquals(40.0, meterRegistry.get("ai.completion.tokens").summary().totalAmount());
+    }
+}
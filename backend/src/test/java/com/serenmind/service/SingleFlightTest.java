@@ -0,0 +1,83 @@
+package com.serenmind.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for coalescing identical in-flight calls.
+ */
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>(meterRegistry, "test");
+    }
+
+    private double calls(String outcome) {
+        return meterRegistry.get("test.singleflight.calls").tag("outcome", outcome).counter().count();
+    }
+
+    @Test
+    void testExecute_SharesPendingResultForSameKey() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+
+        CompletableFuture<String> first = singleFlight.execute("a", () -> {
+            started.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<String> second = singleFlight.execute("a", () -> {
+            started.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        assertFalse(second.isDone());
+
+        pending.complete("report");
+
+        assertEquals("report", first.join());
+        assertEquals("report", second.join());
+        assertEquals(1, started.get());
+        assertEquals(1.0, calls("executed"));
+        assertEquals(1.0, calls("coalesced"));
+    }
+
+    @Test
+    void testExecute_DifferentKeysRunSeparately() {
+        CompletableFuture<String> a = singleFlight.execute("a", CompletableFuture::new);
+        CompletableFuture<String> b = singleFlight.execute("b", () -> CompletableFuture.completedFuture("b"));
+
+        assertNotSame(a, b);
+        assertEquals("b", b.join());
+        assertEquals(1.0, meterRegistry.get("test.singleflight.in_flight").gauge().value());
+        assertEquals(0.0, calls("coalesced"));
+    }
+
+    @Test
+    void testExecute_StartsFreshAfterCompletion() {
+        assertEquals("one", singleFlight.execute("a", () -> CompletableFuture.completedFuture("one")).join());
+        assertEquals("two", singleFlight.execute("a", () -> CompletableFuture.completedFuture("two")).join());
+        assertEquals(2.0, calls("executed"));
+    }
+
+    @Test
+    void testExecute_FailurePropagatesAndIsForgotten() {
+        CompletableFuture<String> failed = singleFlight.execute("a", () -> {
+            throw new IllegalArgumentException("User not found");
+        });
+
+        CompletionException e = assertThrows(CompletionException.class, failed::join);
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        assertEquals("ok", singleFlight.execute("a", () -> CompletableFuture.completedFuture("ok")).join());
+    }
+}
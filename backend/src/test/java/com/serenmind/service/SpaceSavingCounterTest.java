@@ -0,0 +1,71 @@
+package com.serenmind.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Space-Saving top-K counter.
+ */
+class SpaceSavingCounterTest {
+
+    @Test
+    void testTop_ExactWhileUnderCapacity() {
+        SpaceSavingCounter counter = new SpaceSavingCounter(10);
+        List.of("work", "sleep", "work", "family", "work", "sleep").forEach(counter::increment);
+
+        assertEquals(List.of(Map.entry("work", 3L), Map.entry("sleep", 2L)), counter.top(2));
+    }
+
+    @Test
+    void testIncrement_HeavyHitterSurvivesEviction() {
+        SpaceSavingCounter counter = new SpaceSavingCounter(3);
+        for (int i = 0; i < 50; i++) {
+            counter.increment("anxiety");
+            counter.increment("noise" + i);
+        }
+
+        Map.Entry<String, Long> top = counter.top(1).get(0);
+        assertEquals("anxiety", top.getKey());
+        assertEquals(50L, top.getValue());
+    }
+
+    @Test
+    void testDecrement_RemovesExhaustedTerms() {
+        SpaceSavingCounter counter = new SpaceSavingCounter(5);
+        counter.increment("gym");
+        counter.increment("gym");
+        counter.increment("run");
+
+        counter.decrement("run");
+        counter.decrement("gym");
+        counter.decrement("unknown");
+
+        assertEquals(List.of(Map.entry("gym", 1L)), counter.top(5));
+    }
+
+    @Test
+    void testSerialize_RoundTrips() {
+        SpaceSavingCounter counter = new SpaceSavingCounter(2);
+        List.of("a", "b", "c", "c").forEach(counter::increment);
+
+        SpaceSavingCounter copy = SpaceSavingCounter.deserialize(counter.serialize(), 2);
+
+        assertEquals(counter.serialize(), copy.serialize());
+        assertEquals(counter.top(2), copy.top(2));
+        assertTrue(SpaceSavingCounter.deserialize("", 2).top(5).isEmpty());
+    }
+
+    @Test
+    void testTextStats_CountsWordsAndDistinctThemes() {
+        JournalInsightsServiceImpl.TextStats stats = JournalInsightsServiceImpl.TextStats.of(
+                "Work was stressful. I didn't sleep; work again tomorrow!");
+
+        assertEquals(9, stats.words());
+        assertEquals(Set.of("work", "stressful", "sleep"), stats.terms());
+    }
+}
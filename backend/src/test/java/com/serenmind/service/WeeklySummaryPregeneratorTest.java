@@ -0,0 +1,129 @@
+package com.serenmind.service;
+
+import com.serenmind.dto.request.AiReportRequest;
+import com.serenmind.model.AiReport;
+import com.serenmind.model.BatchCheckpoint;
+import com.serenmind.repository.AiReportRepository;
+import com.serenmind.repository.BatchCheckpointRepository;
+import com.serenmind.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the off-peak weekly summary batch.
+ */
+@ExtendWith(MockitoExtension.class)
+class WeeklySummaryPregeneratorTest {
+
+    // A Sunday
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 10, 3, 0);
+
+    @Mock
+    private BatchCheckpointRepository batchCheckpointRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AiReportRepository aiReportRepository;
+
+    @Mock
+    private AiReportJobService aiReportJobService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WeeklySummaryPregenerator pregenerator;
+    private BatchCheckpoint checkpoint;
+
+    @BeforeEach
+    void setUp() {
+        // Sunday 02:00-05:00, users active in 14 days, chunks of 3, 6 jobs a minute
+        pregenerator = new WeeklySummaryPregenerator(batchCheckpointRepository, userRepository, aiReportRepository,
+                aiReportJobService, transactionManager, DayOfWeek.SUNDAY, LocalTime.of(2, 0), LocalTime.of(5, 0),
+                14, 3, 6, 24);
+        checkpoint = BatchCheckpoint.builder().name(WeeklySummaryPregenerator.CHECKPOINT).build();
+    }
+
+    @Test
+    void testRunDate_OnlyInsideWindow() {
+        assertEquals(Optional.of(NOW.toLocalDate()), pregenerator.runDate(NOW));
+        assertTrue(pregenerator.runDate(NOW.withHour(5)).isEmpty());
+        assertTrue(pregenerator.runDate(NOW.plusDays(1)).isEmpty());
+
+        WeeklySummaryPregenerator overnight = new WeeklySummaryPregenerator(batchCheckpointRepository,
+                userRepository, aiReportRepository, aiReportJobService, transactionManager, DayOfWeek.SUNDAY,
+                LocalTime.of(23, 0), LocalTime.of(4, 0), 14, 3, 6, 24);
+        assertEquals(Optional.of(LocalDate.of(2024, 3, 10)), overnight.runDate(NOW.plusDays(1).withHour(1)));
+        assertTrue(overnight.runDate(NOW).isEmpty());
+    }
+
+    @Test
+    void testProcessChunk_QueuesUsersWithoutRecentSummaryAndAdvances() {
+        checkpoint.restart("2024-03-10");
+        checkpoint.setLastId(10L);
+        when(batchCheckpointRepository.findForUpdate(WeeklySummaryPregenerator.CHECKPOINT))
+                .thenReturn(Optional.of(checkpoint));
+        when(userRepository.findActiveUserIdsAfter(eq(10L), any(), any(Pageable.class)))
+                .thenReturn(List.of(11L, 12L, 15L));
+        when(aiReportRepository.findFirstByUserIdAndReportTypeAndModelUsedNotAndCreatedAtAfterOrderByCreatedAtDesc(
+                anyLong(), eq("WEEKLY_SUMMARY"), anyString(), any())).thenReturn(Optional.empty());
+        when(aiReportRepository.findFirstByUserIdAndReportTypeAndModelUsedNotAndCreatedAtAfterOrderByCreatedAtDesc(
+                eq(12L), eq("WEEKLY_SUMMARY"), anyString(), any())).thenReturn(Optional.of(new AiReport()));
+
+        int queued = pregenerator.processChunk("2024-03-10", NOW);
+
+        assertEquals(2, queued);
+        verify(aiReportJobService).enqueue(eq(11L), any(AiReportRequest.class));
+        verify(aiReportJobService).enqueue(eq(15L), any(AiReportRequest.class));
+        verify(aiReportJobService, never()).enqueue(eq(12L), any(AiReportRequest.class));
+        assertEquals(15L, checkpoint.getLastId());
+        assertEquals(3, checkpoint.getProcessed());
+        // Two jobs at six a minute
+        assertEquals(NOW.plusSeconds(20), checkpoint.getNextRunAt());
+    }
+
+    @Test
+    void testProcessChunk_WaitsForRateLimit() {
+        checkpoint.restart("2024-03-10");
+        checkpoint.setNextRunAt(NOW.plusSeconds(5));
+        when(batchCheckpointRepository.findForUpdate(WeeklySummaryPregenerator.CHECKPOINT))
+                .thenReturn(Optional.of(checkpoint));
+
+        assertEquals(0, pregenerator.processChunk("2024-03-10", NOW));
+
+        verifyNoInteractions(userRepository, aiReportJobService);
+    }
+
+    @Test
+    void testProcessChunk_NewRunRestartsAndEmptyChunkCompletes() {
+        checkpoint.setRunKey("2024-03-03");
+        checkpoint.setLastId(99L);
+        checkpoint.setCompleted(true);
+        when(batchCheckpointRepository.findForUpdate(WeeklySummaryPregenerator.CHECKPOINT))
+                .thenReturn(Optional.of(checkpoint));
+        when(userRepository.findActiveUserIdsAfter(eq(0L), any(), any(Pageable.class))).thenReturn(List.of());
+
+        pregenerator.processChunk("2024-03-10", NOW);
+
+        assertEquals("2024-03-10", checkpoint.getRunKey());
+        assertTrue(checkpoint.getCompleted());
+        assertEquals(0L, checkpoint.getLastId());
+    }
+}
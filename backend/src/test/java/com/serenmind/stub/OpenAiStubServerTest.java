@@ -0,0 +1,107 @@
+package com.serenmind.stub;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.serenmind.client.CannedResponseEngine;
+import com.serenmind.client.OpenAiCallGuard;
+import com.serenmind.client.OpenAiClient;
+import com.serenmind.client.OpenAiRequest;
+import com.serenmind.client.OpenAiResponse;
+import com.serenmind.client.OpenAiStreamChunk;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Exceptions;
+
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the real OpenAI client (WebClient, JSON, retries, timeouts) against the embedded stub.
+ */
+class OpenAiStubServerTest {
+
+    private static final String MESSAGE = "I feel anxious about tomorrow";
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final CannedResponseEngine cannedResponseEngine = new CannedResponseEngine();
+    private OpenAiStubServer server;
+
+    @AfterEach
+    void tearDown() {
+        server.stop();
+    }
+
+    private OpenAiClient start(OpenAiStubSettings settings, int maxRetries, int timeoutSeconds) throws Exception {
+        server = new OpenAiStubServer(settings, cannedResponseEngine, objectMapper);
+        server.start();
+        OpenAiCallGuard guard = new OpenAiCallGuard(new SimpleMeterRegistry(), 10, 2, 50, 10_000, 0.75, 5, 30);
+        OpenAiClient client = new OpenAiClient(WebClient.builder().baseUrl(server.getBaseUrl()).build(),
+                objectMapper, guard, cannedResponseEngine);
+        ReflectionTestUtils.setField(client, "mockMode", false);
+        ReflectionTestUtils.setField(client, "maxRetries", maxRetries);
+        ReflectionTestUtils.setField(client, "timeoutSeconds", timeoutSeconds);
+        return client;
+    }
+
+    private static OpenAiRequest request() {
+        return OpenAiRequest.builder()
+                .model("gpt-3.5-turbo")
+                .messages(List.of(new OpenAiRequest.Message("system", "Be kind."),
+                        new OpenAiRequest.Message("user", MESSAGE)))
+                .build();
+    }
+
+    @Test
+    void testChatCompletion_ReturnsCannedReplyAndUsage() throws Exception {
+        OpenAiClient client = start(OpenAiStubSettings.builder().completionTokens(120).build(), 0, 5);
+
+        OpenAiResponse response = client.chatCompletion(request());
+
+        assertEquals(cannedResponseEngine.respond(MESSAGE), response.getChoices().get(0).getMessage().getContent());
+        assertEquals("gpt-3.5-turbo", response.getModel());
+        assertEquals(120, response.getUsage().getCompletionTokens());
+        assertTrue(response.getUsage().getPromptTokens() > 0);
+    }
+
+    @Test
+    void testChatCompletionStream_DripsChunksUntilDone() throws Exception {
+        OpenAiClient client = start(OpenAiStubSettings.builder().dripDelayMs(1).wordsPerChunk(4).build(), 0, 5);
+
+        List<OpenAiStreamChunk> chunks = client.chatCompletionStream(request()).collectList().block();
+
+        assertNotNull(chunks);
+        assertTrue(chunks.size() > 2);
+        StringBuilder content = new StringBuilder();
+        chunks.stream()
+                .map(chunk -> chunk.getChoices().get(0).getDelta().getContent())
+                .filter(piece -> piece != null)
+                .forEach(content::append);
+        assertEquals(cannedResponseEngine.respond(MESSAGE), content.toString());
+        assertEquals("stop", chunks.get(chunks.size() - 1).getChoices().get(0).getFinishReason());
+    }
+
+    @Test
+    void testChatCompletion_RetriesServerErrorsThenFails() throws Exception {
+        OpenAiClient client = start(OpenAiStubSettings.builder().serverErrorRate(1.0).build(), 1, 5);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> client.chatCompletion(request()));
+
+        assertTrue(e.getMessage().contains("temporarily unavailable"), e.getMessage());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void testChatCompletion_TimesOutOnSlowResponse() throws Exception {
+        OpenAiClient client = start(OpenAiStubSettings.builder().latencyMedianMs(2500).build(), 0, 1);
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> client.chatCompletion(request()));
+
+        assertInstanceOf(TimeoutException.class, Exceptions.unwrap(e.getCause()));
+    }
+}
@@ -11,6 +11,7 @@ import type {
   AiChatRequest,
   AiChatResponse,
   AiReport,
+  AiReportJob,
   AiReportRequest,
   Goal,
   GoalRequest,
@@ -199,8 +200,17 @@ export const aiApi = {
     return response.data;
   },
 
+  // Reports are generated by a background job; poll it until the report is ready
   generateReport: async (data: AiReportRequest): Promise<AiReport> => {
-    const response = await api.post<AiReport>('/ai/reports', data);
+    let { data: job } = await api.post<AiReportJob>('/ai/reports', data);
+    while (job.status === 'QUEUED' || job.status === 'RUNNING') {
+      await new Promise((resolve) => setTimeout(resolve, 1500));
+      job = (await api.get<AiReportJob>(`/ai/reports/jobs/${job.id}`)).data;
+    }
+    if (job.status !== 'SUCCEEDED' || job.reportId == null) {
+      throw new Error(job.errorMessage || 'Report generation failed');
+    }
+    const response = await api.get<AiReport>(`/reports/${job.reportId}`);
     return response.data;
   },
 };
@@ -158,6 +158,19 @@ export interface AiReport {
   createdAt: string;
 }
 
+export interface AiReportJob {
+  id: number;
+  status: 'QUEUED' | 'RUNNING' | 'SUCCEEDED' | 'FAILED';
+  reportType: string;
+  daysToInclude: number;
+  attempts: number;
+  reportId?: number;
+  errorMessage?: string;
+  createdAt: string;
+  startedAt?: string;
+  finishedAt?: string;
+}
+
 export interface AiReportRequest {
   reportType: 'WEEKLY_SUMMARY' | 'MOOD_ANALYSIS' | 'JOURNAL_INSIGHTS' | 'MONTHLY_REPORT';
   startDate?: string;